@@ -26,6 +26,7 @@ package calculator;
  * @version 4.05	2019-03-05	Implemented the Double to UNumber Calculator
  * @version 4.06	2019-03-07	Implemented the Units in the UNumber Calculator
  * @version 4.07	2019-03-08	I added Hohmann Transfer Equation in the test cases.	
+ * @version 4.08	2026-10-17	Each session has a UNumberContext that its operations run under
  */
 /**
  * Class for business logic.
@@ -50,6 +51,7 @@ public class BusinessLogic {
 	private String operand2ErrorMessageET = "";
 	private boolean operand2Defined = false;
 	private String resultErrorMessage = "";
+	private UNumberContext context = UNumberContext.UNLIMITED;	// The precision of the session
 
 	/**********************************************************************************************
 	 * 
@@ -344,6 +346,25 @@ public class BusinessLogic {
 		return operand2Defined;
 	}
 
+	/**********
+	 * This public setter sets the context the operations of this session run under, so every 
+	 * step of a computation is rounded to its precision (see UNumberContext).
+	 * 
+	 * @param context	The context, or null for UNLIMITED
+	 */
+	public void setContext(UNumberContext context) {
+		this.context = context == null ? UNumberContext.UNLIMITED : context;
+	}
+
+	/**********
+	 * This public getter fetches the context the operations of this session run under.
+	 * 
+	 * @return the context
+	 */
+	public UNumberContext getContext() {
+		return context;
+	}
+
 	/**********************************************************************************************
 	 * 
 	 * The toString() Method
@@ -386,6 +407,22 @@ public class BusinessLogic {
 	 * 
 	 **********************************************************************************************/
 
+	/**********
+	 * Run an operation with this session's context as the thread's context, and then put back 
+	 * the context the thread had before, so sessions on the same thread do not disturb each other.
+	 * 
+	 * @param operation	The operation
+	 */
+	private void compute(Runnable operation) {
+		UNumberContext previous = UNumberContext.getThreadContext();
+		UNumberContext.setThreadContext(context);
+		try {
+			operation.run();
+		} finally {
+			UNumberContext.setThreadContext(previous);
+		}
+	}
+
 	/**********
 	 * This public method computes the sum of the two operands using the
 	 * CalculatorValue class method for addition. The goal of this class is to
@@ -405,7 +442,7 @@ public class BusinessLogic {
 	public String addition() {
 //		System.out.println(Arrays.toString(units));
 		result = new CalculatorValue(operand1);
-		result.add(operand2);
+		compute(() -> result.add(operand2));
 		resultErrorMessage = result.getErrorMessage();
 		return result.toString();
 	}
@@ -428,7 +465,7 @@ public class BusinessLogic {
 	 */
 	public String subtraction() {
 		result = new CalculatorValue(operand1);
-		result.sub(operand2);
+		compute(() -> result.sub(operand2));
 		resultErrorMessage = result.getErrorMessage();
 		return result.toString();
 	}
@@ -451,7 +488,7 @@ public class BusinessLogic {
 	 */
 	public String multiplication() {
 		result = new CalculatorValue(operand1);
-		result.mpy(operand2);
+		compute(() -> result.mpy(operand2));
 		resultErrorMessage = result.getErrorMessage();
 		return result.toString();
 	}
@@ -475,7 +512,7 @@ public class BusinessLogic {
 
 	public String root() {
 		result = new CalculatorValue(operand1);
-		result.root();
+		compute(() -> result.root());
 		resultErrorMessage = result.getErrorMessage();
 		if (resultErrorMessage.equals("__0")) {
 			return result.toString();
@@ -503,7 +540,7 @@ public class BusinessLogic {
 	 */
 	public String division() {
 		result = new CalculatorValue(operand1);
-		result.div(operand2);
+		compute(() -> result.div(operand2));
 		resultErrorMessage = result.getErrorMessage();
 		if (resultErrorMessage.equals("__0")) {
 			return result.toString();
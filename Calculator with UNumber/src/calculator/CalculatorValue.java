@@ -20,6 +20,13 @@ package calculator;
  * @version 4.05	2019-03-06	Implemented the UNumber in arithmetic operations
  * @version 4.06	2019-03-07	Implemented the Units in UNumber
  * @version 4.07	2019-03-08	Implemented the precision button
+ * @version 4.08	2026-10-17	Measured values are converted with the shortest digits of the double
+ * @version 4.09	2026-10-17	Measured values and error terms are converted from the input string 
+ * 							directly, and bad input no longer exits the application
+ * @version 4.10	2026-10-17	Uses the reentrant recognizers, so values can be made on any thread
+ * @version 4.11	2026-10-17	The square root is computed natively to the precision of the value
+ * @version 4.12	2026-10-17	Halves the error term of a square root with divInt
+ * @version 4.13	2026-10-18	mpy and div divide both error terms by one prepared UNumberDivisor
  * 
  */
 public class CalculatorValue {
@@ -30,12 +37,19 @@ public class CalculatorValue {
 	
 	**********************************************************************************************/
 	int x = 0;
+	
+	/**
+	 * A measured value keeps every digit that was typed, but its mantissa is never smaller than 
+	 * this, the most digits the shortest form of a double needs.  The result of a UNumber mpy or 
+	 * div has the size of the multiplicand, so this is the least precision of the computations.
+	 */
+	static final int WORKING_DIGITS = 17;
+	
 	UNumber measuredValue = new UNumber(x);
 	UNumber errorTerm = new UNumber(x);
 	String unit = "";
 	String errorMessage = "";
 	String errorMessageET = "";
-	String signIndicator="";
 	String inputFromConsole = "";
 	String inputETFromConsole = "";
 	int inputETIndexofError = 0;
@@ -81,34 +95,16 @@ public class CalculatorValue {
 	 */	
 	public CalculatorValue(String s) {
 		measuredValue = new UNumber(x);
-		signIndicator = s.substring(0,1);
-		System.out.println(signIndicator+" __one");
-		if(signIndicator.equals("+")||signIndicator.equals("-")) {
-			s=s.substring(1,s.length());
-			System.out.println(s+" __onebfkj");
-		}
-		String string = MeasuredValueRecognizer.checkMeasureValue(s);
-		if (string.equals("")) {
-			if(signIndicator.equals("-")) {
-				s = "-" +s;
-			}
-			if(s.contentEquals("-"))return;
-			System.out.println("reached");
-//			System.out.println(s+" __this one");
-//			double x1 = Double.parseDouble(s);
-//			if(s.charAt(0) == '+'  || s.charAt(0) == '-') {
-//				s = s.substring(1,s.length());
-//			}
-//			System.out.println(s+" __this two");
-//			measuredValue = convertToUNum(s);
-			measuredValue = new UNumber(Double.parseDouble(s));
+		RecognizerResult result = MeasuredValueRecognizer.convert(s, 0, s.length(), WORKING_DIGITS);
+		if (result.isAccepted()) {
+			measuredValue = result.getValue();
 			inputIndexofError = 0;
 			inputFromConsole = "";
 			errorMessage = "";
 		} else {
-			errorMessage = MeasuredValueRecognizer.measuredValueErrorMessage;
-			inputFromConsole = MeasuredValueRecognizer.measuredValueInput;
-			inputIndexofError = MeasuredValueRecognizer.measuredValueIndexofError; 	
+			errorMessage = result.getErrorMessage();
+			inputFromConsole = s;
+			inputIndexofError = result.getErrorIndex(); 	
 		}
 	}
 
@@ -154,8 +150,8 @@ public class CalculatorValue {
 	public void setErrorTerm(String v){
 //		System.out.println(v);
 		errorTerm = new UNumber(x);
-		String string = ErrorTermRecognizer.checkErrorTerm(v);
-		if (string.equals("")) {
+		RecognizerResult result = ErrorTermRecognizer.recognize(v, 0, v.length());
+		if (v.length() <= 0 || result.isAccepted()) {
 //			System.out.println("reached");
 //			Double x2 = Double.parseDouble(v);
 //			System.out.println(x2);
@@ -168,75 +164,25 @@ public class CalculatorValue {
 			inputETFromConsole = "";
 			errorMessageET = "";
 		} else {
-//			System.out.println(ErrorTermRecognizer.errorTermErrorMessage);
-			errorMessageET = ErrorTermRecognizer.errorTermErrorMessage;
-			inputETFromConsole = ErrorTermRecognizer.errorTermInput;
-			System.out.println(inputETFromConsole + "-->" + errorMessageET);
-			inputETIndexofError = ErrorTermRecognizer.errorTermIndexofError; 	
+			errorMessageET = result.getErrorMessage();
+			inputETFromConsole = v;
+			inputETIndexofError = result.getErrorIndex(); 	
 		}	
 	}
 	
 	/*****
-	* Given an string as input, this method converts the representation into UNumber.
+	* Given an string as input, this method converts the representation into UNumber, keeping 
+	* every digit of the input.  The input is expected to have been checked already, so if it is 
+	* not a number this is a programming error and a NumberFormatException is thrown.
 	*/
 	public UNumber convertToUNum(String str) {
-		
-			String inputValue = str;
-			String[] tokens = new String[2];
-			if (inputValue.contains("e")) {
-				tokens = inputValue.split("e");
-				inputValue = tokens[0];
-			} else if (inputValue.contains("E")){
-				tokens = inputValue.split("E");
-				inputValue = tokens[0];
-			}
-			
-			String digits = "";
-			int ndx = 0;
-			int exp = 0;
-			
-			if (tokens[1] != null) {
-				if (tokens[1].charAt(0) == '+' || tokens[1].charAt(0) == '-') {
-					exp = Integer.parseInt(tokens[1]);
-				} else {
-					exp = Integer.parseInt(tokens[1]);
-				}
-			}
-//			System.out.println(exp);
-			boolean decimalPointFound = false;
-			while (ndx < inputValue.length()) {
-				if (decimalPointFound) {
-					if (inputValue.charAt(ndx) >= '0' && inputValue.charAt(ndx) <= '9') {
-						digits += inputValue.charAt(ndx++);
-					}
-					else {
-						System.out.println("*** ERROR *** A non-digit found after a decimal point was found.");
-						System.exit(0);
-					}
-				}
-				else {
-					if (inputValue.charAt(ndx) == '.') {
-						decimalPointFound = true;
-						ndx++;
-					} 
-					else if (inputValue.charAt(ndx) >= '0' && inputValue.charAt(ndx) <= '9') {
-						digits += inputValue.charAt(ndx++);
-						exp++;
-					}
-					
-					else {
-						System.out.println("*** ERROR *** A non-digit that is also not a decimal point was found.");
-						System.exit(0);
-					}
-						
-				}
-			}
-			
-			UNumber inputUNumber = new UNumber(digits, exp, true);
-			
-//			System.out.println(inputUNumber.toDecimalString());
-			return inputUNumber;
+		RecognizerResult result = MeasuredValueRecognizer.convert(str, 0, str.length(), 0);
+		if (!result.isAccepted())
+			throw new NumberFormatException(result.getErrorMessage().trim() 
+					+ " (\"" + str + "\" at index " + result.getErrorIndex() + ")");
+		return result.getValue();
 	}
+	
 	/*****
 	 * Set the current value of a calculator error message to a specific string
 	 */
@@ -406,7 +352,7 @@ public class CalculatorValue {
 		if ((errorTerm.getDouble() == 0.0 && v.errorTerm.getDouble() == 0.0)) {
 			errorTerm = new UNumber(0);
 		} else {
-			UNumber absolute =  obj.abs1(measuredValue);
+			UNumberDivisor absolute = new UNumberDivisor(obj.abs1(measuredValue));
 			errorTerm.div(absolute);
 			v.errorTerm.div(absolute);
 			UNumber value1ErrorTerm = errorTerm;
@@ -455,7 +401,7 @@ public class CalculatorValue {
 			if ((errorTerm.getDouble() == 0.0 && v.errorTerm.getDouble() == 0.0)) {
 				errorTerm = new UNumber(0);
 			} else {
-				UNumber absolute =  obj.abs1(measuredValue);
+				UNumberDivisor absolute = new UNumberDivisor(obj.abs1(measuredValue));
 				errorTerm.div(absolute);
 				v.errorTerm.div(absolute);
 				UNumber value1ErrorTerm = errorTerm;
@@ -487,13 +433,10 @@ public class CalculatorValue {
 		UNumber zero = new UNumber(x);
 //		unit = unit_obj.sq_displayunits(unit);
 		UNumberSquareRoot sq = new UNumberSquareRoot();
-		System.out.println(measuredValue+" 11111");
-		System.out.println(measuredValue.getDouble());
 		if (!measuredValue.lessThan(convertToUNum("0"))) {     //here <= we require	
 			UNumber absolute = new UNumber(0);
 			measuredValue = absolute.abs1(measuredValue);
 			if(errorTerm.getDouble() == 0) {
-				System.out.println("abc");
 				errorTerm = new UNumber(0);
 				measuredValue = sq.sqrt(measuredValue);
 				errorMessage = "";
@@ -503,7 +446,7 @@ public class CalculatorValue {
 				}
 				measuredValue = sq.sqrt(measuredValue);
 				errorTerm.mpy(measuredValue);
-				errorTerm.div(new UNumber(2));
+				errorTerm.divInt(2);
 				errorMessage = "";
 			}
 						
@@ -1,5 +1,7 @@
 package calculator;
 
+import calculator.RecognizerResult.ErrorCode;
+
 public class ErrorTermRecognizer {
 	/**
 	 * <p>
@@ -9,8 +11,8 @@ public class ErrorTermRecognizer {
 	 * <p>
 	 * Description: A demonstration of the mechanical translation of Finite State
 	 * Machine diagram into an executable Java program using the Error Term
-	 * Recognizer. The code detailed design is based on a while loop with a select
-	 * list
+	 * Recognizer. The code detailed design is based on a transition table indexed
+	 * by state and character class (see RecognizerTable)
 	 * </p>
 	 * 
 	 * <p>
@@ -22,26 +24,79 @@ public class ErrorTermRecognizer {
 	 * 
 	 * @version 0.00 2018-01-28 Initial baseline
 	 * @version 0.01 2019-02-12	Implemented the FSM diagram in the Error Term Recognizer
+	 * @version 0.02 2026-10-17	Reentrant, table driven recognition with immutable results
 	 */
 
 	/**********************************************************************************************
 	 * 
 	 * Result attributes to be used for GUI applications where the returned string
 	 * error message and pointer to the character of the error are not adequate for
-	 * the required output.
+	 * the required output.  Only checkErrorTerm sets these, so they are only meaningful to a 
+	 * single thread.  Code that may run on more than one thread uses recognize, whose results 
+	 * are its own.
 	 * 
 	 */
 
 	public static String errorTermErrorMessage = "Error Term recognition has not been implemented";
 	public static String errorTermInput = ""; // The input being processed
 	public static int errorTermIndexofError = -1; // The index where the error was located
-	private static int state = 0; // The current state value
-	private static int nextState = 0; // The next state value
-	private static boolean finalState = false; // Is this state a final state
-	private static String inputLine = ""; // The input line
-	private static char currentChar; // The current character in the line
-	private static int currentCharNdx; // The index of the current character
-	private static boolean running; // The flag that specifies if it is running
+
+	/**
+	 * The Finite State Machine diagram as a table.  The state numbers are those of the diagram.
+	 * An error term has one significant digit, so after the first non-zero digit only zeros, 
+	 * which hold its place, may follow.
+	 */
+	private static final RecognizerTable TABLE = new RecognizerTable(9);
+	static {
+		int [] zero = {RecognizerTable.ZERO};
+		int [] nonZero = {RecognizerTable.NON_ZERO};
+		int [] digit = {RecognizerTable.ZERO, RecognizerTable.NON_ZERO};
+		int [] point = {RecognizerTable.POINT};
+		int [] exponent = {RecognizerTable.EXPONENT};
+		int [] sign = {RecognizerTable.SIGN};
+
+		// State 0: a non-zero digit goes to state 1, a decimal point to state 3, and a 0 to 8
+		TABLE.on(0, nonZero, 1);
+		TABLE.on(0, point, 3);
+		TABLE.on(0, zero, 8);
+		TABLE.halt(0, false, ErrorCode.FIRST_CHARACTER);
+
+		// State 1: the zeros after the significant digit
+		TABLE.on(1, zero, 1);
+		TABLE.on(1, point, 2);
+		TABLE.on(1, exponent, 5);
+		TABLE.halt(1, true, ErrorCode.ZERO_POINT_OR_EXPONENT);
+
+		// State 2: a decimal point after the digits may only be followed by the exponent
+		TABLE.on(2, exponent, 5);
+		TABLE.halt(2, true, ErrorCode.EXPONENT_OR_END);
+
+		// State 3: the zeros after a decimal point, up to the significant digit
+		TABLE.on(3, nonZero, 4);
+		TABLE.on(3, zero, 3);
+		TABLE.halt(3, false, ErrorCode.DIGIT);
+
+		// State 4: the significant digit after a decimal point may only be followed by the exponent
+		TABLE.on(4, exponent, 5);
+		TABLE.halt(4, true, ErrorCode.EXPONENT_OR_END);
+
+		// State 5: the E must be followed by a digit or the sign of the exponent
+		TABLE.on(5, digit, 7);
+		TABLE.on(5, sign, 6);
+		TABLE.halt(5, false, ErrorCode.DIGIT_OR_SIGN);
+
+		// State 6: the sign of the exponent must be followed by a digit
+		TABLE.on(6, digit, 7);
+		TABLE.halt(6, false, ErrorCode.DIGIT);
+
+		// State 7: the digits of the exponent
+		TABLE.on(7, digit, 7);
+		TABLE.halt(7, true, ErrorCode.DIGIT);
+
+		// State 8: a leading 0 must be followed by a decimal point
+		TABLE.on(8, point, 3);
+		TABLE.halt(8, false, ErrorCode.DECIMAL_POINT);
+	}
 
 	/**********
 	 * This private method display the input line and then on a line under it
@@ -65,28 +120,22 @@ public class ErrorTermRecognizer {
 		return result + "\u21EB"; // A Unicode up arrow with a base
 	}
 
-	private static void displayDebuggingInfo() {
-		if (currentCharNdx >= inputLine.length())
-			System.out.println(
-					((state < 10) ? "  " : " ") + state + ((finalState) ? "       F   " : "           ") + "None");
-		else
-			System.out.println(((state < 10) ? "  " : " ") + state + ((finalState) ? "       F   " : "           ")
-					+ "  " + currentChar + " " + ((nextState < 10) && (nextState != -1) ? "    " : "   ") + nextState);
-	}
-
-	private static void moveToNextCharacter() {
-		currentCharNdx++;
-		if (currentCharNdx < inputLine.length())
-			currentChar = inputLine.charAt(currentCharNdx);
-		else {
-			currentChar = ' ';
-			running = false;
-		}
+	/**********
+	 * This method recognizes an error term in part of a larger text.  It keeps no state of its 
+	 * own, so it may be called from any number of threads at the same time.
+	 * 
+	 * @param input		The text
+	 * @param offset	The index of the first character of the error term
+	 * @param length	The number of characters in the error term
+	 * @return The result, whose error index is counted from the offset
+	 */
+	public static RecognizerResult recognize(CharSequence input, int offset, int length) {
+		return TABLE.run(input, offset, length);
 	}
 
 	/**********
-	 * This method is a mechanical transformation of a Finite State Machine diagram
-	 * into a Java method.
+	 * This method is the String form of recognize, kept for the GUI.  It sets the result 
+	 * attributes.
 	 * 
 	 * @param input The input string for the Finite State Machine
 	 * @return An output string that is empty if every things is okay or it will be
@@ -97,296 +146,12 @@ public class ErrorTermRecognizer {
 	public static String checkErrorTerm(String input) {
 		if (input.length() <= 0)
 			return "";
-		// The following are the local variable used to perform the Finite State Machine
-		// simulation
-		state = 0; // This is the FSM state number
-		inputLine = input; // Save the reference to the input line as a global
-		currentCharNdx = 0; // The index of the current character
-		currentChar = input.charAt(0); // The current character from the above indexed position
-
-		// The Finite State Machines continues until the end of the input is reached or
-		// at some
-		// state the current character does not match any valid transition to a next
-		// state
-
 		errorTermInput = input; // Set up the alternate result copy of the input
-		running = true; // Start the loop
-//		System.out.println("\nCurrent Final Input  Next\nState   State Char  State");
-
-		// The Finite State Machines continues until the end of the input is reached or
-		// at some
-		// state the current character does not match any valid transition to a next
-		// state
-		while (running) {
-			// The Finite State Machines continues until the end of the input is reached or
-			// at some
-			// state the current character does not match any valid transition to a next
-			// state
-			switch (state) {
-			case 0:
-				// State 0 has three valid transitions. Each is addressed by an if statement.
-
-				// This is not a final state
-				finalState = false;
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 1
-				if (currentChar >= '1' && currentChar <= '9') {
-					nextState = 1;
-					break;
-				}
-				// If the current character is a decimal point, it transitions to state 3
-				else if (currentChar == '.') {
-					nextState = 3;
-					break;
-				}
-				// If the current character is equal to 0, it transitions to state 8
-
-				else if (currentChar == '0') {
-					nextState = 8;
-					break;
-				}
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-			case 1:
-				// State 1 has three valid transitions. Each is addressed by an if statement.
-
-				// This is a final state
-				finalState = true;
-
-				// If the current character is equal to 0, it transitions to state 1
-				if (currentChar == '0') {
-					nextState = 1;
-					break;
-				}
-				// If the current character is a decimal point, it transitions to state 2
-				else if (currentChar == '.') {
-					nextState = 2;
-					break;
-				}
-				// If the current character is an E or an e, it transitions to state 5
-				else if (currentChar == 'E' || currentChar == 'e') {
-					nextState = 5;
-					break;
-				}
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				break;
-
-			case 2:
-				// State 2 has one valid transition. Each is addressed by an if statement.
-
-				// This is a final state
-				finalState = true;
-				// If the current character is an 'E' or 'e", it transitions to state 5
-
-				if (currentChar == 'E' || currentChar == 'e') {
-					nextState = 5;
-					break;
-				}
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-			case 3:
-			case 9:
-				// As case 3 and 9 have same operations we can have same block of code for
-				// both cases
-
-				// State 2 has only one valid transitions. It is addressed by an if statement.
-
-				// This is not a final state
-				finalState = false;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 4
-
-				if (currentChar >= '1' && currentChar <= '9') {
-					nextState = 4;
-					break;
-				} else if (currentChar == '0') {
-					nextState = 3;
-					break;
-				} else {
-					running = false;
-				}
-				break;
-			case 4:
-				// State 1 has only one valid transition. It is addressed by an if statement.
-				// This is a final state
-				finalState = true;
-
-				// If the current character is an 'E' or 'e", it transitions to state 5
-
-				if (currentChar == 'E' || currentChar == 'e') {
-					nextState = 5;
-					break;
-				}
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-			case 5:
-				// State 5 has two valid transitions. Each is addressed by an if statement.
-				finalState = false;
-
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 7;
-					break;
-				} else if (currentChar == '+' || currentChar == '-') {
-					nextState = 6;
-					break;
-				} else {
-					running = false;
-				}
-
-				// The execution of this state is finished
-				break;
-			case 6:
-
-				// State 6 has one valid transitions. Each is addressed by an if statement.
-				finalState = false;
-
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 7;
-					break;
-				} else {
-					running = false;
-				}
-				// The execution of this state is finished
-				break;
-			case 7:
-				// State 7 has one valid transitions. Each is addressed by an if statement.
-				finalState = true;
-
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 7;
-					break;
-				} else {
-					running = false;
-				}
-
-				// The execution of this state is finished
-				break;
-			case 8:
-				// State 8 has one valid transitions. Each is addressed by an if statement.
-				finalState = false;
-				// If the current character is a decimal point, it transitions to state 2
-				if (currentChar == '.') {
-					nextState = 3;
-					break;
-				} else {
-					running = false;
-				}
-
-			} // Switch ends here
-
-			if (running) {
-				displayDebuggingInfo();
-				// When the processing of a state has finished, the FSM proceeds to the next
-				// character
-				// in the input and if there is one, it fetches that character and updates the
-				// currentChar. If there is no next character the currentChar is set to a blank.
-				moveToNextCharacter();
-
-				// Move to the next state
-				state = nextState;
-
-			}
-			// Should the FSM get here, the loop starts again
-		}
-		System.out.println("The loop has ended.");
-		errorTermIndexofError = currentCharNdx; // Copy the index of the current character;
-
-		// When the FSM halts, we must determine if the situation is an error or not.
-		// That depends
-		// of the current state of the FSM and whether or not the whole string has been
-		// consumed.
-		// This switch directs the execution to separate code for each of the FSM
-		// states.
-
-		switch (state) {
-		case 0:
-			// State 0 is not a final state, so we can return a very specific error message
-			errorTermIndexofError = currentCharNdx; // Copy the index of the current character;
-			errorTermErrorMessage = "The first character must be a digit or a decimal point.";
-			return "The first character must be a digit or a decimal point.";
-		case 1:
-			// State 1 is a final state, so we must see if the whole string has been
-			// consumed.
-			if (currentCharNdx < input.length()) {
-				// If not all of the string has been consumed, we point to the current character
-				// in the input line and specify what that character must be in order to move
-				// forward.
-				errorTermErrorMessage = "This character may only be an \"E\", an \"e\", 0, "
-						+ "a \".\", or it must be the end of the input.\n";
-				return errorTermErrorMessage + displayInput(input, currentCharNdx);
-			} else {
-				errorTermIndexofError = -1;
-				errorTermErrorMessage = "";
-				return errorTermErrorMessage;
-			}
-		case 2:
-		case 4:
-			// States 2 and 4 are the same. They are both final states with only one
-			// possible
-			// transition forward, if the next character is an E or an e.
-			if (currentCharNdx < input.length()) {
-				errorTermErrorMessage = "This character may only be an \"E\", an \"e\", or it must"
-						+ " be the end of the input.\n";
-				return errorTermErrorMessage + displayInput(input, currentCharNdx);
-			}
-			// If there is no more input, the input was recognized.
-			else {
-				errorTermIndexofError = -1;
-				errorTermErrorMessage = "";
-				return errorTermErrorMessage;
-			}
-		case 3:
-		case 6:
-		case 9:
-			// States 3, 6, and 9 are the same. None of them are final states and in order
-			// to
-			// move forward, the next character must be a digit.
-			errorTermErrorMessage = "This character may only be a digit.\n";
-			return errorTermErrorMessage + displayInput(input, currentCharNdx);
-		case 5:
-			// State 5 is not a final state. In order to move forward, the next character
-			// must be
-			// a digit or a plus or a minus character.
-			errorTermErrorMessage = "This character may only be a digit, a plus, or minus " + "character.\n";
-			return errorTermErrorMessage + displayInput(input, currentCharNdx);
-		case 7:
-			// States 7 is similar to states 3 and 6, but it is a final state, so it must be
-			// processed differently. If the next character is not a digit, the FSM stops
-			// with an
-			// error. We must see here if there are no more characters. If there are no more
-			// characters, we accept the input, otherwise we return an error
-			if (currentCharNdx < input.length()) {
-				errorTermErrorMessage = "This character may only be a digit.\n";
-				return errorTermErrorMessage + displayInput(input, currentCharNdx);
-			} else {
-				errorTermIndexofError = -1;
-				errorTermErrorMessage = "";
-				return errorTermErrorMessage;
-			}
-		case 8:
-			// State 8 is not a final state and in order to move forward
-			// the next character must be a digit
-			errorTermErrorMessage = "This character may only be a decimal.\n";
-			return errorTermErrorMessage + displayInput(input, currentCharNdx);
-		default:
-			return "";
-		} // End of Error messages Switch
+		RecognizerResult result = recognize(input, 0, input.length());
+		errorTermIndexofError = result.getErrorIndex();
+		errorTermErrorMessage = result.getErrorMessage();
+		if (result.isAccepted() || result.getErrorCode() == ErrorCode.FIRST_CHARACTER)
+			return errorTermErrorMessage;
+		return errorTermErrorMessage + displayInput(input, errorTermIndexofError);
 	}
-
 }
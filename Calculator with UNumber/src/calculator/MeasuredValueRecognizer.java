@@ -1,12 +1,15 @@
 package calculator;
 
+import calculator.RecognizerResult.ErrorCode;
+
 public class MeasuredValueRecognizer {
 	/**
 	 * <p> Title: FSM-translated ErrorTermRecognizer. </p>
 	 * 
 	 * <p> Description: A demonstration of the mechanical translation of Finite State Machine 
 	 * diagram into an executable Java program using the Measured Value Recognizer. The code 
-	 * detailed design is based on a while loop with a select list</p>
+	 * detailed design is based on a transition table indexed by state and character class (see 
+	 * RecognizerTable)</p>
 	 * 
 	 * <p> Copyright: Lynn Robert Carter © 2018 </p>
 	 * 
@@ -15,6 +18,8 @@ public class MeasuredValueRecognizer {
 	 * 
 	 * @version 0.00		2018-02-04	Initial baseline
 	 * @version 0.01    	2019-02-11 	Implemented the FSM diagram in the Measured Value Recognizer. 
+	 * @version 0.02		2026-10-17	Recognize and convert a measured value to a UNumber in one pass
+	 * @version 0.03		2026-10-17	Reentrant, table driven recognition with immutable results
 	 * 
 	 */
 
@@ -22,20 +27,66 @@ public class MeasuredValueRecognizer {
 	 * 
 	 * Result attributes to be used for GUI applications where the returned string
 	 * error message and pointer to the character of the error are not adequate for
-	 * the required output.
+	 * the required output.  Only the String methods, checkMeasureValue and 
+	 * recognizeMeasuredValue, set these, so they are only meaningful to a single thread.  Code 
+	 * that may run on more than one thread uses recognize and convert, whose results are 
+	 * their own.
 	 * 
 	 */
 
 	public static String measuredValueErrorMessage = "";// The alternate error message text
 	public static String measuredValueInput = ""; // The input being processed
 	public static int measuredValueIndexofError = -1; // The index where the error was located
-	private static int state = 0; // The current state value
-	private static int nextState = 0; // The next state value
-	private static boolean finalState = false; // Is this state a final state
-	private static String inputLine = ""; // The input line
-	private static char currentChar; // The current character in the line
-	private static int currentCharNdx; // The index of the current character
-	private static boolean running; // The flag that specifies if it is running
+	private static final int MAX_EXPONENT = 99999999; // The largest exponent convert takes
+
+	/**
+	 * The Finite State Machine diagram as a table.  The state numbers are those of the diagram.
+	 */
+	private static final RecognizerTable TABLE = new RecognizerTable(8);
+	static {
+		int [] digit = {RecognizerTable.ZERO, RecognizerTable.NON_ZERO};
+		int [] point = {RecognizerTable.POINT};
+		int [] exponent = {RecognizerTable.EXPONENT};
+		int [] sign = {RecognizerTable.SIGN};
+
+		// State 0: a digit goes to state 1 and a decimal point to state 3
+		TABLE.on(0, digit, 1);
+		TABLE.on(0, point, 3);
+		TABLE.halt(0, false, ErrorCode.FIRST_CHARACTER);
+
+		// State 1: the digits before the decimal point
+		TABLE.on(1, digit, 1);
+		TABLE.on(1, point, 2);
+		TABLE.on(1, exponent, 5);
+		TABLE.halt(1, true, ErrorCode.DIGIT_POINT_OR_EXPONENT);
+
+		// State 2: the digits after a decimal point that follows a digit
+		TABLE.on(2, digit, 2);
+		TABLE.on(2, exponent, 5);
+		TABLE.halt(2, true, ErrorCode.EXPONENT_OR_END);
+
+		// State 3: a leading decimal point must be followed by a digit
+		TABLE.on(3, digit, 4);
+		TABLE.halt(3, false, ErrorCode.DIGIT);
+
+		// State 4: the digits after a leading decimal point
+		TABLE.on(4, digit, 4);
+		TABLE.on(4, exponent, 5);
+		TABLE.halt(4, true, ErrorCode.EXPONENT_OR_END);
+
+		// State 5: the E must be followed by a digit or the sign of the exponent
+		TABLE.on(5, digit, 7);
+		TABLE.on(5, sign, 6);
+		TABLE.halt(5, false, ErrorCode.DIGIT_OR_SIGN);
+
+		// State 6: the sign of the exponent must be followed by a digit
+		TABLE.on(6, digit, 7);
+		TABLE.halt(6, false, ErrorCode.DIGIT);
+
+		// State 7: the digits of the exponent
+		TABLE.on(7, digit, 7);
+		TABLE.halt(7, true, ErrorCode.DIGIT);
+	}
 
 	/**********
 	 * This private method display the input line and then on a line under it
@@ -59,30 +110,23 @@ public class MeasuredValueRecognizer {
 		return result + "\u21EB"; // A Unicode up arrow with a base
 	}
 
-	private static void displayDebuggingInfo() {
-		if (currentCharNdx >= inputLine.length())
-			System.out.println(
-					((state < 10) ? "  " : " ") + state + ((finalState) ? "       F   " : "           ") + "None");
-		else
-			System.out.println(((state < 10) ? "  " : " ") + state + ((finalState) ? "       F   " : "           ")
-					+ "  " + currentChar + " " + ((nextState < 10) && (nextState != -1) ? "    " : "   ") + nextState);
-	}
-
-	private static void moveToNextCharacter() {
-		currentCharNdx++;
-		if (currentCharNdx < inputLine.length())
-			currentChar = inputLine.charAt(currentCharNdx);
-		else {
-			currentChar = ' ';
-			running = false;
-		}
+	/**********
+	 * This method recognizes a measured value in part of a larger text, such as one field of a 
+	 * line of a measurement file.  It keeps no state of its own, so it may be called from any 
+	 * number of threads at the same time.
+	 * 
+	 * @param input		The text
+	 * @param offset	The index of the first character of the measured value
+	 * @param length	The number of characters in the measured value
+	 * @return The result, whose error index is counted from the offset
+	 */
+	public static RecognizerResult recognize(CharSequence input, int offset, int length) {
+		return TABLE.run(input, offset, length);
 	}
 
-	
-	
 	/**********
-	 * This method is a mechanical transformation of a Finite State Machine diagram
-	 * into a Java method.
+	 * This method is the String form of recognize, kept for the GUI.  It sets the result 
+	 * attributes.
 	 * 
 	 * @param input The input string for the Finite State Machine
 	 * @return An output string that is empty if every things is okay or it will be
@@ -93,319 +137,117 @@ public class MeasuredValueRecognizer {
 	public static String checkMeasureValue(String input) {
 		if (input.length() <= 0)
 			return "";
-		// The following are the local variable used to perform the Finite State Machine
-		// simulation
-		state = 0; // This is the FSM state number
-		inputLine = input; // Save the reference to the input line as a global
-		currentCharNdx = 0; // The index of the current character
-		currentChar = input.charAt(0); // The current character from the above indexed position
-
-		// The Finite State Machines continues until the end of the input is reached or
-		// at some
-		// state the current character does not match any valid transition to a next
-		// state
-
 		measuredValueInput = input; // Set up the alternate result copy of the input
-		running = true; // Start the loop
-		System.out.println("\nCurrent Final Input  Next\nState   State Char  State");
-
-		// The Finite State Machines continues until the end of the input is reached or
-		// at some
-		// state the current character does not match any valid transition to a next
-		// state
-		while (running) {
-			// The switch statement takes the execution to the code for the current state,
-			// where
-			// that code sees whether or not the current character is valid to transition to
-			// a
-			// next state
-			switch (state) {
-			case 0:
-				// State 0 has two valid transitions. Each is addressed by an if statement.
-
-				// This is not a final state
-				finalState = false;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 1
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 1;
-					break;
-				}
-				// If the current character is a decimal point, it transitions to state 3
-				else if (currentChar == '.') {
-					nextState = 3;
-					break;
-				}
-
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 1:
-				// State 1 has three valid transitions. Each is addressed by an if statement.
-
-				// This is a final state
-				finalState = true;
-
-				// In state 1, if the character is 0 through 9, it is accepted and we stay in
-				// this
-				// state
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 1;
-					break;
-				}
-
-				// If the current character is a decimal point, it transitions to state 2
-				else if (currentChar == '.') {
-					nextState = 2;
-					break;
-				}
-				// If the current character is an E or an e, it transitions to state 5
-				else if (currentChar == 'E' || currentChar == 'e') {
-					nextState = 5;
-					break;
-				}
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 2:
-				// State 2 has two valid transitions. Each is addressed by an if statement.
-
-				// This is a final state
-				finalState = true;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 1
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 2;
-					break;
-				}
-				// If the current character is an 'E' or 'e", it transitions to state 5
-				else if (currentChar == 'E' || currentChar == 'e') {
-					nextState = 5;
-					break;
-				}
-
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 3:
-				// State 3 has only one valid transition. It is addressed by an if statement.
-
-				// This is not a final state
-				finalState = false;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 1
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 4;
-					break;
-				}
-
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 4:
-				// State 4 has two valid transitions. Each is addressed by an if statement.
-
-				// This is a final state
-				finalState = true;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 4
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 4;
-					break;
-				}
-				// If the current character is an 'E' or 'e", it transitions to state 5
-				else if (currentChar == 'E' || currentChar == 'e') {
-					nextState = 5;
-					break;
-				}
-
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 5:
-				// State 5 has two valid transitions. Each is addressed by an if statement.
-
-				// This is not a final state
-				finalState = false;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 7
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 7;
-					break;
-				}
-				// If the current character is an '+' or '-", it transitions to state 6
-				else if (currentChar == '+' || currentChar == '-') {
-					nextState = 6;
-					break;
-				}
-
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 6:
-				// State 6 has one valid transition. Each is addressed by an if statement.
-
-				// This is not a final state
-				finalState = false;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 7
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 7;
-					break;
-				}
-
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-
-			case 7:
-				// State 7 has one valid transition. Each is addressed by an if statement.
-
-				// This is a final state
-				finalState = true;
-
-				// If the current character is in the range from 1 to 9, it transitions to state
-				// 7
-				if (currentChar >= '0' && currentChar <= '9') {
-					nextState = 7;
-					break;
-				}
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-
-				// The execution of this state is finished
-				break;
-			}
-
-			if (running) {
-				displayDebuggingInfo();
-				// When the processing of a state has finished, the FSM proceeds to the next
-				// character
-				// in the input and if there is one, it fetches that character and updates the
-				// currentChar. If there is no next character the currentChar is set to a blank.
-				moveToNextCharacter();
-
-				// Move to the next state
-				state = nextState;
-
-			}
-			// Should the FSM get here, the loop starts again
+		RecognizerResult result = recognize(input, 0, input.length());
+		measuredValueIndexofError = result.getErrorIndex();
+		measuredValueErrorMessage = result.getErrorMessage();
+		if (result.isAccepted() || result.getErrorCode() == ErrorCode.FIRST_CHARACTER)
+			return measuredValueErrorMessage;
+		return measuredValueErrorMessage + displayInput(input, measuredValueIndexofError);
+	}
 
+	/**********
+	 * This method recognizes a measured value and converts it to a UNumber in the same pass, 
+	 * without going through a double, so every digit of the input is kept.  It steps through the 
+	 * same table as recognize, with an optional sign in front.  As the characters go by, it 
+	 * notes where the first significant digit is, how many digits there are, how many of them 
+	 * come before the decimal point, and the value of the exponent, which is all it takes to size 
+	 * and place the mantissa.  The only things allocated are the mantissa and the result.  Like 
+	 * recognize, it keeps no state of its own.
+	 * 
+	 * An empty input, or one with just a sign, is a zero.
+	 * 
+	 * @param input		The text
+	 * @param offset	The index of the first character of the measured value
+	 * @param length	The number of characters in the measured value
+	 * @param size		The smallest number of significant digits for the value.  If the input 
+	 * 					has fewer, the mantissa is padded with zeros.
+	 * @return The result, holding the value if the input was accepted
+	 */
+	public static RecognizerResult convert(CharSequence input, int offset, int length, int size) {
+		int ndx = 0;
+		boolean sign = true;
+		if (length > 0 && (input.charAt(offset) == '+' || input.charAt(offset) == '-')) {
+			sign = input.charAt(offset) == '+';
+			ndx++;
 		}
 
-		System.out.println("The loop has ended.");
-
-		measuredValueIndexofError = currentCharNdx; // Copy the index of the current character;
-
-		// When the FSM halts, we must determine if the situation is an error or not.
-		// That depends
-		// of the current state of the FSM and whether or not the whole string has been
-		// consumed.
-		// This switch directs the execution to separate code for each of the FSM
-		// states.
-		switch (state) {
-		case 0:
-			// State 0 is not a final state, so we can return a very specific error message
-			measuredValueIndexofError = currentCharNdx; // Copy the index of the current character;
-			measuredValueErrorMessage = "The first character must be a digit or a decimal point.";
-			return "The first character must be a digit or a decimal point.";
-
-		case 1:
-			// State 1 is a final state, so we must see if the whole string has been
-			// consumed.
-			if (currentCharNdx < input.length()) {
-				// If not all of the string has been consumed, we point to the current character
-				// in the input line and specify what that character must be in order to move
-				// forward.
-				measuredValueErrorMessage = "This character may only be an \"E\", an \"e\", a digit, "
-						+ "a \".\", or it must be the end of the input.\n";
-				return measuredValueErrorMessage + displayInput(input, currentCharNdx);
-			} else {
-				measuredValueIndexofError = -1;
-				measuredValueErrorMessage = "";
-				return measuredValueErrorMessage;
+		// An empty input, or just a sign, is a zero
+		if (ndx == length)
+			return zeroResult(size);
+
+		int state = 0;				// The FSM state
+		int numDigits = 0;			// The number of digits in the mantissa part of the input
+		int leadingZeros = -1;		// How many of those come before the first significant digit
+		int firstDigitNdx = -1;		// The index of the first significant digit
+		int pointDigits = -1;		// The number of digits before the decimal point, once found
+		int exponent = 0;
+		boolean negativeExponent = false;
+		while (ndx < length) {
+			char c = input.charAt(offset + ndx);
+			int nextState = TABLE.step(state, c);
+			if (nextState < 0) break;		// No valid transition, so the FSM halts
+
+			if (nextState == 7) {
+				exponent = exponent * 10 + (c - '0');
+				if (exponent > MAX_EXPONENT) 
+					return new RecognizerResult(ndx, ErrorCode.EXPONENT_TOO_LARGE, null);
 			}
-
-		case 2:
-		case 4:
-			// States 2 and 4 are the same. They are both final states with only one
-			// possible
-			// transition forward, if the next character is an E or an e.
-			if (currentCharNdx < input.length()) {
-				measuredValueErrorMessage = "This character may only be an \"E\", an \"e\", or it must"
-						+ " be the end of the input.\n";
-				return measuredValueErrorMessage + displayInput(input, currentCharNdx);
+			else if (nextState == 6) negativeExponent = c == '-';
+			else if (nextState == 5) {
+				if (pointDigits < 0) pointDigits = numDigits;
 			}
-			// If there is no more input, the input was recognized.
+			else if (c == '.') pointDigits = numDigits;
 			else {
-				measuredValueIndexofError = -1;
-				measuredValueErrorMessage = "";
-				return measuredValueErrorMessage;
+				// A digit of the mantissa
+				if (leadingZeros < 0 && c != '0') {
+					leadingZeros = numDigits;
+					firstDigitNdx = offset + ndx;
+				}
+				numDigits++;
 			}
-		case 3:
-		case 6:
-			// States 3, and 6 are the same. None of them are final states and in order to
-			// move forward, the next character must be a digit.
-			measuredValueErrorMessage = "This character may only be a digit.\n";
-			return measuredValueErrorMessage + displayInput(input, currentCharNdx);
+			state = nextState;
+			ndx++;
+		}
+		RecognizerResult halted = TABLE.result(state, ndx, length, null);
+		if (!halted.isAccepted()) return halted;
+
+		// A value with no significant digits is a zero
+		if (leadingZeros < 0)
+			return zeroResult(size);
+
+		// Copy the significant digits into the mantissa, stepping over the decimal point
+		int n = numDigits - leadingZeros;
+		byte [] mantissa = new byte[Math.max(size, n)];
+		for (int i = 0, j = firstDigitNdx; i < n; j++)
+			if (input.charAt(j) != '.') mantissa[i++] = (byte)(input.charAt(j) - '0');
+		if (pointDigits < 0) pointDigits = numDigits;
+		int dP = pointDigits - leadingZeros + (negativeExponent ? -exponent : exponent);
+		return new RecognizerResult(-1, ErrorCode.NONE, new UNumber(mantissa, dP, sign));
+	}
 
-		case 7:
-			// States 7 is similar to states 3 and 6, but it is a final state, so it must be
-			// processed differently. If the next character is not a digit, the FSM stops
-			// with an
-			// error. We must see here if there are no more characters. If there are no more
-			// characters, we accept the input, otherwise we return an error
-			if (currentCharNdx < input.length()) {
-				measuredValueErrorMessage = "This character may only be a digit.\n";
-				return measuredValueErrorMessage + displayInput(input, currentCharNdx);
-			} else {
-				measuredValueIndexofError = -1;
-				measuredValueErrorMessage = "";
-				return measuredValueErrorMessage;
-			}
+	/**
+	 * The result for an input that is zero: a zero mantissa of the requested size, with at least
+	 * one digit
+	 */
+	private static RecognizerResult zeroResult(int size) {
+		UNumber zero = new UNumber(new byte[Math.max(size, 1)], 0, true);
+		return new RecognizerResult(-1, ErrorCode.NONE, zero);
+	}
 
-		case 5:
-			// State 5 is not a final state. In order to move forward, the next character
-			// must be
-			// a digit or a plus or a minus character.
-			measuredValueErrorMessage = "This character may only be a digit, a plus, or minus " + "character.\n";
-			return measuredValueErrorMessage + displayInput(input, currentCharNdx);
-		default:
-			return "";
-		}
+	/**********
+	 * This method is the String form of convert.  It sets the result attributes.
+	 * 
+	 * @param input The input string
+	 * @param size	The smallest number of significant digits for the result.  If the input has 
+	 * 				fewer, the mantissa is padded with zeros.
+	 * @return The value, or null if the input is not a measured value
+	 */
+	public static UNumber recognizeMeasuredValue(String input, int size) {
+		measuredValueInput = input; // Set up the alternate result copy of the input
+		RecognizerResult result = convert(input, 0, input.length(), size);
+		measuredValueIndexofError = result.getErrorIndex();
+		measuredValueErrorMessage = result.getErrorMessage();
+		return result.getValue();
 	}
 }
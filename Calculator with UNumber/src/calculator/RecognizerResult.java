@@ -0,0 +1,122 @@
+package calculator;
+
+/**
+ * <p> Title: RecognizerResult Class. </p>
+ *
+ * <p> Description: The outcome of running one of the Finite State Machine recognizers over an
+ * input.  A result is never changed once it is made, so any number of threads can recognize
+ * input at the same time, each with its own results. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2018 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.00	2026-10-17	Immutable results for the reentrant recognizers
+ *
+ */
+public final class RecognizerResult {
+
+	/**
+	 * Why the recognizer halted.  Each code carries the help message the recognizers have always
+	 * displayed for it.
+	 */
+	public enum ErrorCode {
+		NONE(""),
+		FIRST_CHARACTER("The first character must be a digit or a decimal point."),
+		DIGIT_POINT_OR_EXPONENT("This character may only be an \"E\", an \"e\", a digit, "
+				+ "a \".\", or it must be the end of the input.\n"),
+		ZERO_POINT_OR_EXPONENT("This character may only be an \"E\", an \"e\", 0, "
+				+ "a \".\", or it must be the end of the input.\n"),
+		EXPONENT_OR_END("This character may only be an \"E\", an \"e\", or it must"
+				+ " be the end of the input.\n"),
+		DIGIT("This character may only be a digit.\n"),
+		DIGIT_OR_SIGN("This character may only be a digit, a plus, or minus " + "character.\n"),
+		DECIMAL_POINT("This character may only be a decimal.\n"),
+		EXPONENT_TOO_LARGE("The exponent is too large.\n");
+
+		private final String message;
+
+		ErrorCode(String message) {
+			this.message = message;
+		}
+
+		/**********
+		 * The help message for this code
+		 *
+		 * @return the message, which is empty for NONE
+		 */
+		public String getMessage() {
+			return message;
+		}
+	}
+
+	/**
+	 * Every accepted input without a value has the same result, so one is shared
+	 */
+	static final RecognizerResult ACCEPTED = new RecognizerResult(-1, ErrorCode.NONE, null);
+
+	private final int errorIndex;			// Where the error was found, or -1
+	private final ErrorCode errorCode;		// Why the recognizer halted
+	private final UNumber value;			// The value recognized, if one was asked for
+
+	/**********
+	 * This constructor makes a result
+	 *
+	 * @param errorIndex	The index of the character where the error was found, counted from the
+	 * 						start of the recognized text, or -1 if the input was accepted
+	 * @param errorCode		Why the recognizer halted
+	 * @param value			The value recognized, or null
+	 */
+	RecognizerResult(int errorIndex, ErrorCode errorCode, UNumber value) {
+		this.errorIndex = errorIndex;
+		this.errorCode = errorCode;
+		this.value = value;
+	}
+
+	/**********
+	 * Was the input accepted?
+	 *
+	 * @return true if the whole input was recognized
+	 */
+	public boolean isAccepted() {
+		return errorCode == ErrorCode.NONE;
+	}
+
+	/**********
+	 * Get the index of the character where the error was found, counted from the start of the
+	 * recognized text (the offset), so it is -1 if the input was accepted
+	 *
+	 * @return the index
+	 */
+	public int getErrorIndex() {
+		return errorIndex;
+	}
+
+	/**********
+	 * Get the reason the recognizer halted
+	 *
+	 * @return the code, which is NONE if the input was accepted
+	 */
+	public ErrorCode getErrorCode() {
+		return errorCode;
+	}
+
+	/**********
+	 * Get the help message for the error
+	 *
+	 * @return the message, which is empty if the input was accepted
+	 */
+	public String getErrorMessage() {
+		return errorCode.getMessage();
+	}
+
+	/**********
+	 * Get the value the input was converted to, for the recognizers that convert
+	 *
+	 * @return the value, or null if there was an error or no conversion was asked for
+	 */
+	public UNumber getValue() {
+		return value;
+	}
+}
@@ -0,0 +1,145 @@
+package calculator;
+
+import calculator.RecognizerResult.ErrorCode;
+
+/**
+ * <p> Title: RecognizerTable Class. </p>
+ *
+ * <p> Description: A Finite State Machine held as tables rather than as a switch.  Every input
+ * character is first mapped to one of a few character classes, and the next state is then a
+ * single lookup by state and class.  The tables are filled in once, when the recognizer class
+ * is loaded, and never change after that, so one table can be run by any number of threads at
+ * the same time.  All of the state of a run is in local variables. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2018 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.00	2026-10-17	Table driven recognizers
+ *
+ */
+final class RecognizerTable {
+
+	// The character classes
+	static final int ZERO = 0;			// The digit 0
+	static final int NON_ZERO = 1;		// The digits 1 through 9
+	static final int POINT = 2;			// A decimal point
+	static final int EXPONENT = 3;		// An E or an e
+	static final int SIGN = 4;			// A plus or a minus
+	static final int OTHER = 5;			// Anything else
+	private static final int CLASSES = 6;
+
+	/**
+	 * The class of each ASCII character.  Every other character is OTHER.
+	 */
+	private static final byte [] CHARACTER_CLASS = new byte[128];
+	static {
+		java.util.Arrays.fill(CHARACTER_CLASS, (byte)OTHER);
+		CHARACTER_CLASS['0'] = ZERO;
+		for (char c = '1'; c <= '9'; c++) CHARACTER_CLASS[c] = NON_ZERO;
+		CHARACTER_CLASS['.'] = POINT;
+		CHARACTER_CLASS['E'] = EXPONENT;
+		CHARACTER_CLASS['e'] = EXPONENT;
+		CHARACTER_CLASS['+'] = SIGN;
+		CHARACTER_CLASS['-'] = SIGN;
+	}
+
+	private final byte [] next;				// The next state by state and class, -1 to halt
+	private final boolean [] finalState;	// Is the state a final state
+	private final ErrorCode [] haltCode;	// The error when the FSM halts in the state
+
+	/**********
+	 * This constructor makes a table where every transition halts.  The recognizer then adds the
+	 * transitions and halt codes of its diagram.
+	 *
+	 * @param states	The number of states
+	 */
+	RecognizerTable(int states) {
+		next = new byte[states * CLASSES];
+		java.util.Arrays.fill(next, (byte)-1);
+		finalState = new boolean[states];
+		haltCode = new ErrorCode[states];
+	}
+
+	/**********
+	 * Add a transition
+	 *
+	 * @param state			The state
+	 * @param classes		The character classes that take the transition
+	 * @param nextState		The state they lead to
+	 */
+	void on(int state, int [] classes, int nextState) {
+		for (int c : classes) next[state * CLASSES + c] = (byte)nextState;
+	}
+
+	/**********
+	 * Say what happens when the FSM halts in a state.  For a final state, the code is only an
+	 * error if there is input left.
+	 *
+	 * @param state		The state
+	 * @param isFinal	True if the input may end in this state
+	 * @param code		The error to report
+	 */
+	void halt(int state, boolean isFinal, ErrorCode code) {
+		finalState[state] = isFinal;
+		haltCode[state] = code;
+	}
+
+	/**********
+	 * The class of a character
+	 *
+	 * @param c	The character
+	 * @return the class
+	 */
+	static int classOf(char c) {
+		return c < 128 ? CHARACTER_CLASS[c] : OTHER;
+	}
+
+	/**********
+	 * One step of the FSM
+	 *
+	 * @param state	The current state
+	 * @param c		The current character
+	 * @return the next state, or -1 if the FSM halts
+	 */
+	int step(int state, char c) {
+		return next[state * CLASSES + classOf(c)];
+	}
+
+	/**********
+	 * Run the FSM over the text from offset for length characters
+	 *
+	 * @param input		The text
+	 * @param offset	The index of the first character to recognize
+	 * @param length	The number of characters to recognize
+	 * @return the result, with the error index counted from the offset
+	 */
+	RecognizerResult run(CharSequence input, int offset, int length) {
+		int state = 0;
+		int ndx = 0;
+		while (ndx < length) {
+			int nextState = next[state * CLASSES + classOf(input.charAt(offset + ndx))];
+			if (nextState < 0) break;
+			state = nextState;
+			ndx++;
+		}
+		return result(state, ndx, length, null);
+	}
+
+	/**********
+	 * The result when the FSM halts
+	 *
+	 * @param state		The state the FSM halted in
+	 * @param ndx		The index of the character it halted on, counted from the offset
+	 * @param length	The number of characters there were to recognize
+	 * @param value		The value to return if the input was accepted
+	 * @return the result
+	 */
+	RecognizerResult result(int state, int ndx, int length, UNumber value) {
+		if (ndx == length && finalState[state])
+			return value == null ? RecognizerResult.ACCEPTED :
+				new RecognizerResult(-1, ErrorCode.NONE, value);
+		return new RecognizerResult(ndx, haltCode[state], null);
+	}
+}
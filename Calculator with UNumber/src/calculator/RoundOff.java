@@ -9,6 +9,7 @@ package calculator;
  * 
  * @version 1.00	2019-02-03 SETTING DEFAULT ERROR_TERM BASED ON MEASURE_TERM USING ROUNDOFF CLASS.
  * @version 1.01    2019-02-07 UNumber data type implementation into the Calculator.
+ * @version 1.02    2026-10-17 The power of ten is a change of the characteristic, not a loop of mpy.
  * 
  */
 import java.math.*;
@@ -45,21 +46,9 @@ class RoundOff{
 			i++;
 		}
 //		UNumber power = Math.pow(10, -i)*5;   change
-		//since the UNumber doesn't support built in math methods we must add
-		//new set of code to get the value for the variable.
-		int y = 1;
-		int xy = 5;
-		int z1 =10;
-		UNumber mul = new UNumber(xy);
-		UNumber z = new UNumber(z1);
-		UNumber power1 = new UNumber(y);
-		// multiplying the value in a loop instead of using the math.pow() built in method.
-		for (int j = 0; j < i; j++) {
-			 power1.mpy(z);
-		}
-		UNumber power = new UNumber(y);
-		power.div(power1);
-		mul.mpy(power);
+		// 5 x 10^-i only needs the characteristic of 5 to be adjusted
+		UNumber mul = new UNumber(5);
+		mul.scaleByPowerOfTen(-i);
 		return mul;
 	}
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ package calculator;
  * @author K V MURALI KRISHNA
  * 
  * @version 4.00	2017-10-18	Initial baseline
+ * @version 4.01	2026-10-17	A session with a five digit context
  * 
  */
 
@@ -121,7 +122,7 @@ public class TestBusinessLogic {
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.123456789012346602429832069901749491691589355468750000000000000000000000000000000000000000000000000000E+16 +0.E+0 \n" + 
+				"operand1 = +0.12345678901234560E+16 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
 				"operand2 = +0.E+0 +0.E+0 \n" + 
@@ -158,7 +159,7 @@ public class TestBusinessLogic {
 				"operand1 = +0.E+0 +0.E+0 \n" + 
 				"     operand1ErrorMessage = \n" + 
 				"     operand1Defined = false\n" + 
-				"operand2 = +0.123456012345679911579227587935747578740119934082031250000000000000000000000000000000000000000000000000E+16 +0.E+0 \n" + 
+				"operand2 = +0.12345601234567890E+16 +0.E+0 \n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
 				"result = +0.E+0 +0.E+0 \n" +
@@ -195,7 +196,7 @@ public class TestBusinessLogic {
 				"operand2 = +0.E+0 +0.E+0 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = false\n" + 
-				"result = +0.123456012345679911579227587935747578740119934082031250000000000000000000000000000000000000000000000000E+16 +0.E+0 \n" +
+				"result = +0.12345601234567890E+16 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned boolean = " + flag + test.debugToString())) {
 			numPassed++;
@@ -386,18 +387,18 @@ public class TestBusinessLogic {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.999999990000001994161328231712104752659797668457031250000000000000000000000000000000000000000000000000E+8 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.99999999000000000E+8 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.123456780000000999297699559974716976284980773925781250000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand1 = +0.12345678000000000E+8 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.876543210000000994863628671737387776374816894531250000000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand2 = +0.87654321000000000E+8 +0.E+0 \n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.999999990000001994161328231712104752659797668457031250000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" +
+				"result = +0.99999999000000000E+8 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -422,18 +423,18 @@ public class TestBusinessLogic {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = -0.753086429999999995565929111762670800089836120605468750000000000000000000000000000000000000000000000000E+8 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = -0.75308643000000000E+8 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.123456780000000999297699559974716976284980773925781250000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand1 = +0.12345678000000000E+8 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.876543210000000994863628671737387776374816894531250000000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand2 = +0.87654321000000000E+8 +0.E+0 \n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = -0.753086429999999995565929111762670800089836120605468750000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" +
+				"result = -0.75308643000000000E+8 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -458,18 +459,18 @@ public class TestBusinessLogic {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.108215202237464798750273452845195002652433445330448991108433873936656155478885921183973550796508789063E+16 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.10821520223746380E+16 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.123456780000000999297699559974716976284980773925781250000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand1 = +0.12345678000000000E+8 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.876543210000000994863628671737387776374816894531250000000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand2 = +0.87654321000000000E+8 +0.E+0 \n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.108215202237464798750273452845195002652433445330448991108433873936656155478885921183973550796508789063E+16 +0.E+0 \n" +
+				"result = +0.10821520223746380E+16 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -494,18 +495,18 @@ public class TestBusinessLogic {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.140845058853403084573632403807807940894840217046255026742395071514124678903122137370767449865631327933E+0 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.14084505885340210E+0 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.123456780000000999297699559974716976284980773925781250000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand1 = +0.12345678000000000E+8 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.876543210000000994863628671737387776374816894531250000000000000000000000000000000000000000000000000000E+8 +0.E+0 \n" + 
+				"operand2 = +0.87654321000000000E+8 +0.E+0 \n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.140845058853403084573632403807807940894840217046255026742395071514124678903122137370767449865631327933E+0 +0.E+0 \n" +
+				"result = +0.14084505885340210E+0 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -528,18 +529,18 @@ public class TestBusinessLogic {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.80000000000000001631888939039072283776476979255676269531250000000000000000000000000000000000000000000000000E+1 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.80000000000000000E+1 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.640000000000000035527136788005009293556213378906250000000000000000000000000000000000000000000000000000E+2 +0.E+0 \n" + 
+				"operand1 = +0.64000000000000000E+2 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
 				"operand2 = +0.E+0 +0.E+0 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = false\n" + 
-				"result = +0.80000000000000001631888939039072283776476979255676269531250000000000000000000000000000000000000000000000000E+1 +0.E+0 \n" +
+				"result = +0.80000000000000000E+1 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -563,18 +564,55 @@ public class TestBusinessLogic {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.80000000000000001631888939039072283776476979255676269531250000000000000000000000000000000000000000000000000E+1 +0.1E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.80000000000000000E+1 +0.1E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.640000000000000035527136788005009293556213378906250000000000000000000000000000000000000000000000000000E+2 +0.1E+1 \n" + 
+				"operand1 = +0.64000000000000000E+2 +0.1E+1 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
 				"operand2 = +0.E+0 +0.E+0 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = false\n" + 
-				"result = +0.80000000000000001631888939039072283776476979255676269531250000000000000000000000000000000000000000000000000E+1 +0.1E+0 \n" +
+				"result = +0.80000000000000000E+1 +0.1E+0 \n" +
+				"     resultErrorMessage = __0\n" + 
+				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
+			numPassed++;
+			System.out.println("\tPass");
+		}
+		// If they do not match, display that there was a failure and tally that result
+		else {
+			numFailed++;
+			System.out.println("\tFail");
+		}
+		System.out.println();
+
+
+		//17. Perform multiplication test in a session with a five digit context
+		test = new BusinessLogic();											// Set up for the test
+		
+		test.setContext(new UNumberContext(5));
+		test.setOperand1("12345678");
+		test.setOperand2("87654321");
+		answer = test.multiplication();
+		
+		System.out.println("17. Input = \n\"12345678\"\n\"87654321\"\n with a five digit context");
+
+		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
+		// message and tally the result
+		if (check("\nReturned string = +0.10822E+16 +0.E+0 \n******************\n" + 
+				"*\n" + 
+				"* Business Logic\n" + 
+				"*\n" + 
+				"******************\n" + 
+				"operand1 = +0.12345678000000000E+8 +0.E+0 \n" + 
+				"     operand1ErrorMessage = __0\n" + 
+				"     operand1Defined = true\n" + 
+				"operand2 = +0.87654321000000000E+8 +0.E+0 \n" + 
+				"     operand2ErrorMessage = __0\n" + 
+				"     operand2Defined = true\n" + 
+				"result = +0.10822E+16 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
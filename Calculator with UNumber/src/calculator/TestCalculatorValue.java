@@ -16,6 +16,7 @@ package calculator;
  * @author Lynn Robert Carter
  * @author K V MURALI KRISHNA
  * 
+ * @version 4.03 2026-10-18 Binary encoding of calculator values
  * @version 4.02 2019-02-14 Double integer implementation of the CalculatorValue
  *          class
  * @version 4.00 2017-10-18 Initial baseline
@@ -112,7 +113,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.123456789012346602429832069901749491691589355468750000000000000000000000000000000000000000000000000000E+16\nerrorMessage = \n", test.debugToString())) {
+		if (check("measuredValue = +0.12345678901234560E+16\nerrorMessage = \n", test.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -134,7 +135,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.123456789012346602429832069901749491691589355468750000000000000000000000000000000000000000000000000000E+16\nerrorMessage = The error message string\n",
+		if (check("measuredValue = +0.12345678901234560E+16\nerrorMessage = The error message string\n",
 				test.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
@@ -154,7 +155,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.123456789012346602429832069901749491691589355468750000000000000000000000000000000000000000000000000000E+16\nerrorMessage = \n", test.debugToString())) {
+		if (check("measuredValue = +0.12345678901234560E+16\nerrorMessage = \n", test.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -176,7 +177,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.300000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.30000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -198,7 +199,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = -0.100000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = -0.10000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -220,7 +221,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.200000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.20000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -242,7 +243,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.500000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000E+0\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.50000000000000000E+0\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -284,7 +285,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.520000000000000017763568394002504646778106689453125000000000000000000000000000000000000000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.52000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -321,7 +322,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.123456468764166738782878634083317592740058898925781250000000000000000000000000000000000000000000000000E+61\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.1234564687641657354654134643135431543135433413543123541234354E+61\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -343,7 +344,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.5300000000000000177635683940025046467781066894531250000000000000000000000000000000000000000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.530000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -365,7 +366,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.5100000000000000177635683940025046467781066894531250000000000000000000000000000000000000000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.510000000000000000E+1\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -387,7 +388,7 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.520000000000000017763568394002504646778106689453125000000000000000000000000000000000000000000000000000E+0\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.52000000000000000E+0\nerrorMessage = \n", left.debugToString())) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
@@ -409,7 +410,39 @@ public class TestCalculatorValue {
 		// Check the actual output against the expected. If they match, the test has
 		// been passed and display the proper
 		// message and tally the result
-		if (check("measuredValue = +0.520000000000000017763568394002504646778106689453125000000000000000000000000000000000000000000000000000E+2\nerrorMessage = \n", left.debugToString())) {
+		if (check("measuredValue = +0.52000000000000000E+2\nerrorMessage = \n", left.debugToString())) {
+			numPassed++;
+			System.out.println("\tPass");
+		}
+		// If they do not match, display that there was a failure and tally that result
+		else {
+			numFailed++;
+			System.out.println("\tFail");
+		}
+		System.out.println();
+
+		// 17. Encode calculator values, with a unit from the table and one that is not, and 
+		// decode them again
+
+		left = new CalculatorValue("149600000"); // Set up the test
+		left.setErrorTerm("5e4");
+		left.setUnit("kilometer");
+		right = new CalculatorValue("-0.0072");
+		right.setUnit("parsec");
+		java.nio.ByteBuffer encoded = java.nio.ByteBuffer.allocateDirect(
+				UNumberCodec.encodedSize(left) + UNumberCodec.encodedSize(right));
+		UNumberCodec.write(left, encoded); // Perform the test
+		UNumberCodec.write(right, encoded);
+		encoded.flip();
+		String decoded = UNumberCodec.readCalculatorValue(encoded) + "\n" 
+				+ UNumberCodec.readCalculatorValue(encoded) + "\n" + encoded.remaining();
+
+		System.out.println("17. Binary encoding: \n149600000 ± 5e4 kilometer\n-0.0072 parsec");
+
+		// Check the actual output against the expected. If they match, the test has
+		// been passed and display the proper
+		// message and tally the result
+		if (check(left + "\n" + right + "\n0", decoded)) {
 			numPassed++;
 			System.out.println("\tPass");
 		}
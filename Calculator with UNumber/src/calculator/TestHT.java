@@ -108,18 +108,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.377520000000001033324454307148698717355728149414062500000000000000000000000000000000000000000000000000E+9 +0.55000E+5 kilometer\n******************\n" + 
+		if (check("\nReturned string = +0.37752000000000000E+9 +0.55000E+5 kilometer\n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.149600000000000999644728632119949907064437866210937500000000000000000000000000000000000000000000000000E+9 +0.5E+5 kilometer\n" + 
+				"operand1 = +0.14960000000000000E+9 +0.5E+5 kilometer\n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.227920000000000033679725675028748810291290283203125000000000000000000000000000000000000000000000000000E+9 +0.5E+4 kilometer\n" + 
+				"operand2 = +0.22792000000000000E+9 +0.5E+4 kilometer\n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.377520000000001033324454307148698717355728149414062500000000000000000000000000000000000000000000000000E+9 +0.55000E+5 kilometer\n" +
+				"result = +0.37752000000000000E+9 +0.55000E+5 kilometer\n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -159,18 +159,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.188760000000000016662227153574349358677864074707031250000000000000000000000000000000000000000000000000E+9 +0.566286E+5 kilometer\n******************\n" + 
+		if (check("\nReturned string = +0.18876000000000000E+9 +0.566286E+5 kilometer\n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.377520000000000033324454307148698717355728149414062500000000000000000000000000000000000000000000000000E+9 +0.6E+5 kilometer\n" + 
+				"operand1 = +0.37752000000000000E+9 +0.6E+5 kilometer\n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.200000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000E+1 +0.3E-8 \n" + 
+				"operand2 = +0.20000000000000000E+1 +0.3E-8 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.188760000000000016662227153574349358677864074707031250000000000000000000000000000000000000000000000000E+9 +0.566286E+5 kilometer\n" +
+				"result = +0.18876000000000000E+9 +0.566286E+5 kilometer\n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -208,18 +208,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.356303376000000046137984099914321306861800645066573083236984020860660393736907280981540679931640625000E+17 +0.1E+6 kilometre\n******************\n" + 
+		if (check("\nReturned string = +0.35630337600000000E+17 +0.1E+6 kilometre\n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.188760000000000012221335055073723196983337402343750000000000000000000000000000000000000000000000000000E+9 +0.7E+5 kilometre\n" + 
+				"operand1 = +0.18876000000000000E+9 +0.7E+5 kilometre\n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.188760000000000012221335055073723196983337402343750000000000000000000000000000000000000000000000000000E+9 +0.2E-11 kilometre\n" + 
+				"operand2 = +0.18876000000000000E+9 +0.2E-11 kilometre\n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.356303376000000046137984099914321306861800645066573083236984020860660393736907280981540679931640625000E+17 +0.1E+6 kilometre\n" +
+				"result = +0.35630337600000000E+17 +0.1E+6 kilometre\n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -257,18 +257,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.672558252537600073892449381673943353581011573806692181043019249098158240940392715856432914733886718750E+25 +0.3E+6 kilometre-2\n******************\n" + 
+		if (check("\nReturned string = +0.67255825253760000E+25 +0.3E+6 kilometre-2\n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.356303376000000016077251530077774077653884887695312500000000000000000000000000000000000000000000000000E+17 +0.2E+6 kilometre-2\n" + 
+				"operand1 = +0.35630337600000000E+17 +0.2E+6 kilometre-2\n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.188760000000000012221335055073723196983337402343750000000000000000000000000000000000000000000000000000E+9 +0.1E-19 kilometre\n" + 
+				"operand2 = +0.18876000000000000E+9 +0.1E-19 kilometre\n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.672558252537600073892449381673943353581011573806692181043019249098158240940392715856432914733886718750E+25 +0.3E+6 kilometre-2\n" +
+				"result = +0.67255825253760000E+25 +0.3E+6 kilometre-2\n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -308,18 +308,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.985960000000000078088646660035011973403931240019076106987987954261010159484612813685089349746704101563E+1 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.98596000000000000E+1 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.314000000000000012434497875801753252744674682617187500000000000000000000000000000000000000000000000000E+1 +0.E+0 \n" + 
+				"operand1 = +0.31400000000000000E+1 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.314000000000000012434497875801753252744674682617187500000000000000000000000000000000000000000000000000E+1 +0.E+0 \n" + 
+				"operand2 = +0.31400000000000000E+1 +0.E+0 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.985960000000000078088646660035011973403931240019076106987987954261010159484612813685089349746704101563E+1 +0.E+0 \n" +
+				"result = +0.98596000000000000E+1 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -357,18 +357,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.394384000000000014551915228366851806640625000000000000000000000000000000000000000000000000000000000000E+2 +0.E+0 \n******************\n" + 
+		if (check("\nReturned string = +0.39438400000000000E+2 +0.E+0 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.400000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000E+1 +0.E+0 \n" + 
+				"operand1 = +0.40000000000000000E+1 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.985960000000000036379788070917129516601562500000000000000000000000000000000000000000000000000000000000E+1 +0.E+0 \n" + 
+				"operand2 = +0.98596000000000000E+1 +0.E+0 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.394384000000000014551915228366851806640625000000000000000000000000000000000000000000000000000000000000E+2 +0.E+0 \n" +
+				"result = +0.39438400000000000E+2 +0.E+0 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -407,18 +407,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.265246213868788873949706194800092857969665142674610229522880189279021578840911388397216796875000000000E+27 +0.26524627E+6 \n******************\n" + 
+		if (check("\nReturned string = +0.26524621386878888E+27 +0.26524627E+6 \n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.394384000000000014551915228366851806640625000000000000000000000000000000000000000000000000000000000000E+2 +0.E+0 \n" + 
+				"operand1 = +0.39438400000000000E+2 +0.E+0 \n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.672558252537600065323886155965737998485565185546875000000000000000000000000000000000000000000000000000E+25 +0.1E-20 kilometre-3\n" + 
+				"operand2 = +0.67255825253760010E+25 +0.1E-20 kilometre-3\n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.265246213868788873949706194800092857969665142674610229522880189279021578840911388397216796875000000000E+27 +0.26524627E+6 \n" +
+				"result = +0.26524621386878888E+27 +0.26524627E+6 \n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -458,18 +458,18 @@ public class TestHT {
 		
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.199884109923730086331728380835986065716501105494038435077050934979351580701940670743945295906079640874E+16 +0.5996523304E+8 kilometre-2\n******************\n" + 
+		if (check("\nReturned string = +0.19988410992372939E+16 +0.5996523304E+8 kilometre-2\n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.265246213868789860423819642164744436740875244140625000000000000000000000000000000000000000000000000000E+27 +0.6E-1 kilometre-2\n" + 
+				"operand1 = +0.26524621386878890E+27 +0.6E-1 kilometre-2\n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
-				"operand2 = +0.132700000000000017941204077942529693245887756347656250000000000000000000000000000000000000000000000000E+12 +0.3E-7 kilometre-3/seconds-2\n" + 
+				"operand2 = +0.13270000000000000E+12 +0.3E-7 kilometre-3/seconds-2\n" + 
 				"     operand2ErrorMessage = __0\n" + 
 				"     operand2Defined = true\n" + 
-				"result = +0.199884109923730086331728380835986065716501105494038435077050934979351580701940670743945295906079640874E+16 +0.5996523304E+8 kilometre-2\n" +
+				"result = +0.19988410992372939E+16 +0.5996523304E+8 kilometre-2\n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
@@ -501,18 +501,18 @@ public class TestHT {
 
 		// Check the actual output against the expected.  If they match, the test has been passed and display the proper
 		// message and tally the result
-		if (check("\nReturned string = +0.447084007765879266077531307536122459156402442204125691205263137817382812500000000000000000000000000000E+8 +0.5E+0 seconds-2\n******************\n" + 
+		if (check("\nReturned string = +0.44708400776587838E+8 +0.5E+0 seconds-2\n******************\n" + 
 				"*\n" + 
 				"* Business Logic\n" + 
 				"*\n" + 
 				"******************\n" + 
-				"operand1 = +0.199884110000000992623997968621551990509033203125000000000000000000000000000000000000000000000000000000E+16 +0.6E+8 seconds-2\n" + 
+				"operand1 = +0.19988411000000000E+16 +0.6E+8 seconds-2\n" + 
 				"     operand1ErrorMessage = __0\n" + 
 				"     operand1Defined = true\n" + 
 				"operand2 = +0.E+0 +0.E+0 \n" + 
 				"     operand2ErrorMessage = \n" + 
 				"     operand2Defined = false\n" + 
-				"result = +0.447084007765879266077531307536122459156402442204125691205263137817382812500000000000000000000000000000E+8 +0.5E+0 seconds-2\n" +
+				"result = +0.44708400776587838E+8 +0.5E+0 seconds-2\n" +
 				"     resultErrorMessage = __0\n" + 
 				"*******************\n\n", "\nReturned string = " + answer + test.debugToString())) {
 			numPassed++;
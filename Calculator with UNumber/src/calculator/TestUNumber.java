@@ -0,0 +1,593 @@
+package calculator;
+
+/**
+ * <p> Title: TestUNumber. </p>
+ *
+ * <p> Description: A component of the Calculator application </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.23	Binary encoding
+ *
+ * @version 1.22	The constant cache file
+ *
+ * @version 1.21	The constant registry
+ *
+ * @version 1.20	Transcendental functions
+ *
+ * @version 1.19	Formatting into a Writer
+ * 
+ * @version 1.18	Prepared divisors
+ * 
+ * @version 1.17	Parallel multiplication
+ * 
+ * @version 1.16	Squares
+ * 
+ * @version 1.15	Long carry and borrow chains
+ * 
+ * @version 1.14	The exact product of two 18 digit values
+ * 
+ * @version 1.13	Multiplying and dividing by small integers
+ * 
+ * @version 1.12	Significant lengths of padded values
+ * 
+ * @version 1.11	Precision contexts
+ * 
+ * @version 1.10	Powers of ten and integer powers
+ * 
+ * @version 1.09	The square root
+ * 
+ * @version 1.08	The reentrant recognizers
+ * 
+ * @version 1.07	Conversion from a measured value string
+ * 
+ * @version 1.06	Conversion from a double
+ * 
+ * @version 1.05	Comparison without subtraction
+ * 
+ * @version 1.04	The UNumberAccumulator
+ * 
+ * @version 1.03	Division, including the Newton-Raphson reciprocal
+ * 
+ * @version 1.02	The NTT agrees with the by-hand multiplication
+ * 
+ * @version 1.01	Karatsuba and Toom-Cook 3 agree with the by-hand multiplication
+ * 
+ * @version 1.00	Multiplication of long mantissas
+ *
+ */
+
+public class TestUNumber {
+
+	/**********
+	 * This class roots the execution of the test of the UNumber class.  The application tests
+	 * the class by invoking the class methods and checking the result to see if the results are
+	 * proper.
+	 *
+	 */
+
+	/*********************************************************************************************/
+
+	private static int numPassed = 0;
+	private static int numFailed = 0;
+
+	/**********
+	 * The check method compares an Expected String to an Actual String and returns true if the
+	 * Strings match and false otherwise.  In addition, the Strings are displayed to the console
+	 * and a message is display stating whether or not there is a difference.  If there is a
+	 * difference, the character at the point of the difference in the actual String is replaced
+	 * with a "?" and both are displayed making it clear what character is the start of the
+	 * difference
+	 *
+	 * @param Expected	The String object of the expected value
+	 * @param Actual		The String object of the actual value
+	 */
+	private static boolean check(String expected, String actual) {
+		// Display the input parameters
+		System.out.println("***Expected String");
+		System.out.println(expected);
+		System.out.println("***Actual String");
+		System.out.println(actual);
+
+		// Check to see if there is a difference
+		int lesserLength = expected.length();
+		if (lesserLength > actual.length()) lesserLength = actual.length();
+		int ndx = 0;
+		while (ndx < lesserLength && expected.charAt(ndx) == actual.charAt(ndx))
+			ndx++;
+
+		// Explain why the loop terminated and if there is a difference make it clear to the user
+		if (ndx < lesserLength || lesserLength < expected.length() || lesserLength < actual.length()) {
+			System.out.println("*** There is a difference!\n" + expected.substring(0, ndx) + "? <-----");
+			return false;
+		}
+		System.out.println("*** There is no difference!\n");
+		return true;
+	}
+
+	/**********
+	 * Check the result and tally it
+	 *
+	 * @param expected	The String object of the expected value
+	 * @param actual	The String object of the actual value
+	 */
+	private static void tally(String expected, String actual) {
+		if (check(expected, actual)) {
+			numPassed++;
+			System.out.println("\tPass");
+		}
+		else {
+			numFailed++;
+			System.out.println("\tFail");
+		}
+		System.out.println();
+	}
+
+	/*********************************************************************************************/
+
+	/**********
+	 * This main method roots the execution of this test.  The method ignores the program
+	 * parameters.  It performs a sequence of tests, displaying information accordingly and
+	 * tallying the number of successes and failures.
+	 *
+	 * @param args	Ignored by this application.
+	 */
+	public static void main(String[] args) {
+		// Display the header message to the console
+		System.out.println("Test UNumber Class\n");
+
+		//1. Multiply two 50 digit values of opposite sign
+		System.out.println("1. 50 digit by 50 digit multiplication");
+		UNumber x = new UNumber("12345678901234567890123456789012345678901234567890", 3, true);
+		UNumber y = new UNumber("98765432109876543210987654321098765432109876543210", -2, false);
+		x.mpy(y);
+		tally("-0.12193263113702179522618503273386678859451150739156E+1", x.toString());
+
+		//2. Square a run of nines, where every limb of the product carries
+		System.out.println("2. Square of thirty nines");
+		x = new UNumber("999999999999999999999999999999", 0, true);
+		x.mpy(x);
+		tally("+0.999999999999999999999999999998E+0", x.toString());
+
+		//3. Multiply a long value by a one digit value
+		System.out.println("3. 50 digit by 1 digit multiplication");
+		x = new UNumber("31415926535897932384626433832795028841971693993751", 1, true);
+		x.mpy(new UNumber(7));
+		tally("+0.21991148575128552669238503682956520189380185795626E+2", x.toString());
+
+		//4. Every multiplication tier must give exactly the by-hand result, rounding included
+		System.out.println("4. 3000 digit multiplication in each tier");
+		StringBuilder digits1 = new StringBuilder();
+		StringBuilder digits2 = new StringBuilder();
+		for (int ndx = 0; ndx < 3000; ndx++) {
+			digits1.append((char)('1' + (ndx * 7) % 9));
+			digits2.append((char)('0' + (ndx * ndx + 3) % 10));
+		}
+		UNumber.setMultiplyThresholds(1000000, 1000000);	// By-hand only
+		x = new UNumber(digits1.toString(), 5, true);
+		x.mpy(new UNumber(digits2.toString(), -3, false));
+		String byHand = x.toString();
+		UNumber.setMultiplyThresholds(18, 1000000);			// Karatsuba
+		x = new UNumber(digits1.toString(), 5, true);
+		x.mpy(new UNumber(digits2.toString(), -3, false));
+		tally(byHand, x.toString());
+		UNumber.setMultiplyThresholds(18, 27);				// Toom-Cook 3
+		x = new UNumber(digits1.toString(), 5, true);
+		x.mpy(new UNumber(digits2.toString(), -3, false));
+		tally(byHand, x.toString());
+		UNumber.setMultiplyThresholds(18, 27, 90);			// Number theoretic transform
+		x = new UNumber(digits1.toString(), 5, true);
+		x.mpy(new UNumber(digits2.toString(), -3, false));
+		tally(byHand, x.toString());
+		UNumber.setMultiplyThresholds(432, 1152, 9216);		// Restore the defaults
+
+		//5. Divide to 50 digits, where every quotient digit is the same
+		System.out.println("5. One divided by three");
+		x = new UNumber("10000000000000000000000000000000000000000000000000", 1, true);
+		x.div(new UNumber("3", 1, true));
+		tally("+0.33333333333333333333333333333333333333333333333333E+0", x.toString());
+
+		//6. Divide two 51 digit values of opposite sign
+		System.out.println("6. e divided by pi");
+		x = new UNumber("271828182845904523536028747135266249775724709369995", 1, false);
+		x.div(new UNumber("314159265358979323846264338327950288419716939937510", 1, true));
+		tally("-0.865255979432265087217774789646089617428744623908514E+0", x.toString());
+
+		//7. Division by zero still produces the "close to infinite" value
+		System.out.println("7. Division by zero");
+		x = new UNumber("12345", 2, true);
+		x.div(new UNumber("000", 0, true));
+		tally("+0.99999E+999999", x.toString());
+
+		//8. The Newton-Raphson reciprocal must give exactly the Algorithm D quotient
+		System.out.println("8. 3000 digit division both ways");
+		UNumber.setDivideThreshold(1000000);				// Algorithm D only
+		x = new UNumber(digits1.toString(), 5, true);
+		x.div(new UNumber(digits2.toString(), -3, false));
+		String longDivision = x.toString();
+		UNumber.setDivideThreshold(18);						// Newton-Raphson
+		x = new UNumber(digits1.toString(), 5, true);
+		x.div(new UNumber(digits2.toString(), -3, false));
+		tally(longDivision, x.toString());
+		UNumber.setDivideThreshold(3600);					// Restore the default
+
+		//9. The accumulator keeps a sum of products exactly, so cancellation loses nothing
+		System.out.println("9. Accumulated sum of products with cancellation");
+		UNumber big = new UNumber("12345678901234567891", 20, true);
+		UNumberAccumulator sum = new UNumberAccumulator();
+		sum.addProduct(big, big);
+		sum.add(new UNumber("3", 1, true));
+		sum.subProduct(big, big);
+		tally("+0.30000E+1", sum.toUNumber(5).toString());
+
+		//10. The accumulator rounds once, at the end, by the precision and mode of a context
+		System.out.println("10. Accumulated dot product rounded to 10 digits");
+		sum.clear();
+		sum.addProduct(new UNumber("11111", 1, true), new UNumber("22222", 1, true));
+		sum.addProduct(new UNumber("33333", 0, true), new UNumber("44444", -1, false));
+		tally("+0.2454271901E+1", sum.toUNumber(10).toString());
+
+		// By the rounding mode and range of a context, given or the thread's
+		String rounded = sum.toUNumber(new UNumberContext(4, java.math.RoundingMode.DOWN)) + " "
+				+ sum.toUNumber(new UNumberContext(4, java.math.RoundingMode.CEILING));
+		UNumberContext.setThreadContext(new UNumberContext(6));
+		rounded += " " + sum.toUNumber();
+		UNumberContext.setThreadContext(new UNumberContext(0, java.math.RoundingMode.HALF_UP, 0));
+		try {
+			rounded += " " + sum.toUNumber(3);
+		} catch (ArithmeticException e) {
+			rounded += " " + e.getMessage();
+		}
+		UNumberContext.setThreadContext(null);
+		tally("+0.2454E+1 +0.2455E+1 +0.245427E+1 The characteristic 1 is out of the range of the context "
+				+ "+0.245427190148E+1", rounded + " " + sum.toUNumber());
+
+		//11. Equal values of different lengths compare as equal
+		System.out.println("11. Comparison of equal values with trailing zeros");
+		x = new UNumber("25", 0, true);
+		y = new UNumber("25000000", 0, true);
+		tally("0", Integer.toString(x.compareTo(y)));
+
+		//12. For negative values, the larger magnitude is the smaller value
+		System.out.println("12. Comparison of negative values with the same leading digit");
+		x = new UNumber("25", 1, false);
+		y = new UNumber("24", 1, false);
+		tally("true false -1", x.lessThan(y) + " " + x.greaterThan(y) + " " + x.compareTo(y));
+
+		//13. A zero compares by the sign of the other value, whatever its characteristic
+		System.out.println("13. Comparison with zero");
+		x = new UNumber("0", 1, true);
+		y = new UNumber("25", 0, true);
+		tally("true true", x.lessThan(y) + " " + new UNumber("25", 0, false).lessThan(x));
+
+		//14. A double converts to the shortest digits that read back as the same double
+		System.out.println("14. Shortest digits of doubles");
+		tally("+0.1E+0 -0.3048E-3 +0.1496E+9 +0.17976931348623157E+309 +0.5E-323 -0.1E-322 +0.15E-322",
+				new UNumber(0.1) + " " + new UNumber(-0.0003048) + " " + new UNumber(1.496E8) + " " + 
+				new UNumber(Double.MAX_VALUE) + " " + new UNumber(Double.MIN_VALUE) + " " + 
+				new UNumber(-2 * Double.MIN_VALUE) + " " + new UNumber(3 * Double.MIN_VALUE));
+
+		//15. Or to every digit of the binary value it holds
+		System.out.println("15. Exact binary expansion of 0.1");
+		tally("+0.1000000000000000055511151231257827021181583404541015625E+0", 
+				new UNumber(0.1, true).toString());
+
+		//16. A requested size pads the shortest digits, or rounds the exact value
+		System.out.println("16. Doubles converted to a given size");
+		tally("+0.10000000E+0 +0.66667E+0", new UNumber(0.1, 8) + " " + new UNumber(2.0 / 3, 5));
+
+		//17. A measured value string converts directly, keeping every digit, trailing zeros included
+		System.out.println("17. Measured value strings");
+		tally("-0.120E+1 +0.123456789012345678901234567890E+30 +0.50000E-6", 
+				MeasuredValueRecognizer.recognizeMeasuredValue("-0.00120e+3", 0) + " " + 
+				MeasuredValueRecognizer.recognizeMeasuredValue("123456789012345678901234567890", 0) + " " +
+				MeasuredValueRecognizer.recognizeMeasuredValue(".5E-6", 5));
+
+		//18. Bad input is reported with the index of the error, not by exiting
+		System.out.println("18. A measured value string with an error");
+		UNumber bad = MeasuredValueRecognizer.recognizeMeasuredValue("+12.5x", 0);
+		tally("null 5", bad + " " + MeasuredValueRecognizer.measuredValueIndexofError);
+
+		//19. The reentrant recognizers work on part of a larger text and return their own results
+		System.out.println("19. Recognizing fields of a line");
+		String line = "1.496E8,0.05e-3,12";
+		RecognizerResult value = MeasuredValueRecognizer.convert(line, 0, 7, 0);
+		RecognizerResult term = ErrorTermRecognizer.recognize(line, 8, 7);
+		RecognizerResult badTerm = ErrorTermRecognizer.recognize(line, 16, 2);
+		tally("+0.1496E+9 true ZERO_POINT_OR_EXPONENT 1", value.getValue() + " " + term.isAccepted() + 
+				" " + badTerm.getErrorCode() + " " + badTerm.getErrorIndex());
+
+		//20. The square root to a given precision, with an odd characteristic
+		System.out.println("20. Square root of two to 50 digits");
+		x = new UNumber(2);
+		x.sqrt(50);
+		tally("+0.14142135623730950488016887242096980785696718753769E+1", x.toString());
+
+		//21. The square root keeps the precision of the value, and rounds at the last digit
+		System.out.println("21. Square root of 1.9988411E15 to 17 digits");
+		x = new UNumber("19988411000000000", 16, true);
+		x.sqrt();
+		tally("+0.44708400776587838E+8", x.toString());
+
+		//22. Scaling by a power of ten only changes the characteristic
+		System.out.println("22. Scaling by powers of ten");
+		x = new UNumber("1496", 9, true);
+		x.scaleByPowerOfTen(-12);
+		tally("+0.1496E-3", x.toString());
+
+		//23. An integer power is rounded once, at the end; zero with no digits, as new UNumber(0)
+		//    makes it, to the power zero is one; and a characteristic out of range is an error
+		System.out.println("23. Cube of 1.00000001, the inverse square of 3, 0^0, and 10^-999999 cubed");
+		x = new UNumber("100000001", 1, true);
+		x.pow(3);
+		y = new UNumber("30000", 1, false);
+		y.pow(-2);
+		UNumber zeroPower = new UNumber(0);
+		zeroPower.pow(0);
+		String outOfRange = "";
+		try {
+			new UNumber(new byte[] {1}, -999999, true).pow(3000);
+		} catch (ArithmeticException e) {
+			outOfRange = e.getMessage();
+		}
+		tally("+0.100000003E+1 +0.11111E+0 +0.1E+1 The characteristic -2999999999 is out of range", 
+				x + " " + y + " " + zeroPower + " " + outOfRange);
+
+		//24. A context rounds every result to its precision, by its rounding mode
+		System.out.println("24. Two thirds and 1.25 x 1.01 to three digits, in three modes");
+		UNumberContext even = new UNumberContext(3, java.math.RoundingMode.HALF_EVEN);
+		UNumberContext down = new UNumberContext(3, java.math.RoundingMode.DOWN);
+		UNumberContext ceiling = new UNumberContext(3, java.math.RoundingMode.CEILING);
+		x = new UNumber(2);
+		x.div(new UNumber(3), down);
+		y = new UNumber("125", 1, true);
+		y.mpy(new UNumber("101", 1, true), even);
+		UNumber z = new UNumber("125", 1, false);
+		z.mpy(new UNumber("101", 1, true), ceiling);
+		tally("+0.666E+0 +0.126E+1 -0.126E+1", x + " " + y + " " + z);
+
+		//25. The thread's context applies to the operations that are not given one
+		System.out.println("25. The thread's context");
+		UNumberContext.setThreadContext(new UNumberContext(4));
+		x = new UNumber(1);
+		x.div(new UNumber(7));
+		y = new UNumber("99999", 1, true);
+		y.add(new UNumber(1));
+		UNumberContext.setThreadContext(null);
+		tally("+0.1429E+0 +0.1100E+2", x + " " + y);
+
+		//26. Padded values keep their length, but only their significant digits are worked on
+		System.out.println("26. 1.23 x 4.56 / 4.56 with 102 digit mantissas");
+		x = new UNumber("123", 1, true, 102);
+		y = new UNumber("456", 1, true, 102);
+		x.mpy(y);
+		int significant = x.significantLength();
+		x.div(y);
+		tally("5 102 +0.123E+1", significant + " " + x.length() + " " + new UNumber(x, 3));
+
+		//27. Small integer multipliers and divisors take a single pass
+		System.out.println("27. 1.5 x -3 / 7, and 6.25 / 2.5 by way of div");
+		x = new UNumber("15", 1, true, 10);
+		x.mpyInt(-3);
+		x.divInt(7);
+		y = new UNumber("625", 1, true);
+		y.div(new UNumber("25", 1, true));
+		tally("-0.6428571429E+0 +0.250E+1", x + " " + y);
+
+		//28. Two 18 digit values are multiplied as longs, and the product is exact before rounding
+		System.out.println("28. 123456789012345678 x 987654321098765432 to 36 digits");
+		x = new UNumber("123456789012345678", 18, true);
+		x.mpy(new UNumber("987654321098765432", 18, true), new UNumberContext(36));
+		tally("+0.121932631137021794322511812221002896E+36", x.toString());
+
+		//29. Carries and borrows run through whole words of nines and zeros
+		System.out.println("29. 10^40 - 1 plus 1, and 1 less 10^40 + 1");
+		x = new UNumber("9999999999999999999999999999999999999999", 40, true);
+		x.add(new UNumber(1));
+		y = new UNumber(1);
+		y.sub(new UNumber("10000000000000000000000000000000000000001", 41, true));
+		tally("+0.10000000000000000000000000000000000000000E+41 -0.10000000000000000000000000000000000000000E+41", 
+				x + " " + y);
+
+		//30. A square computes each cross product once, and mpy finds a square by itself
+		System.out.println("30. 1.23456789012345678901 squared, exactly and to its own length");
+		x = new UNumber("123456789012345678901", 1, true);
+		y = new UNumber(x);
+		x.square(new UNumberContext(41));
+		y.mpy(y);
+		tally("+0.15241578753238836750437433565526596567801E+1 +0.152415787532388367504E+1", 
+				x + " " + y);
+
+		//31. Splitting a product across cores does not change it, in any tier
+		System.out.println("31. The 3000 digit multiplication of test 4, in parallel");
+		UNumber.setParallelThreshold(18);
+		UNumber.setMultiplyThresholds(18, 1000000);			// Karatsuba
+		x = new UNumber(digits1.toString(), 5, true);
+		x.mpy(new UNumber(digits2.toString(), -3, false));
+		UNumber.setMultiplyThresholds(18, 27, 90);			// Toom-Cook 3 and the transform
+		y = new UNumber(digits1.toString(), 5, true);
+		y.mpy(new UNumber(digits2.toString(), -3, false));
+		UNumber.setMultiplyThresholds(432, 1152, 9216);		// Restore the defaults
+		UNumber.setParallelThreshold(100008);
+		tally(byHand + " " + byHand, x + " " + y);
+
+		//32. A prepared divisor gives the quotients div gives, whether or not it uses its reciprocal
+		System.out.println("32. Division by prepared 20 and 120 digit divisors");
+		UNumber short20 = new UNumber(digits2.substring(0, 20), 3, true);
+		UNumber long120 = new UNumber(digits1.substring(0, 120), -1, false);
+		UNumberDivisor prepared20 = new UNumberDivisor(short20);
+		UNumberDivisor prepared120 = new UNumberDivisor(long120);
+		StringBuilder expected = new StringBuilder();
+		StringBuilder actual = new StringBuilder();
+		for (int length : new int[] {25, 150, 100}) {
+			x = new UNumber(digits1.substring(1000, 1000 + length), 2, true);
+			y = new UNumber(x);
+			y.div(short20);
+			z = new UNumber(x);
+			z.div(long120);
+			expected.append(y).append(' ').append(z).append(' ');
+			actual.append(prepared20.divide(x)).append(' ').append(prepared120.divide(x)).append(' ');
+		}
+		tally(expected.toString(), actual.toString());
+
+		//33. The formatters give the same characters whether they build a String or write into a 
+		//    Writer, for a value long enough to be written in several blocks
+		System.out.println("33. Formatting a 12000 digit value, and a small one, into a String and a Writer");
+		String digits12000 = digits1.toString() + digits1 + digits1 + digits1;
+		x = new UNumber(digits12000, -3, false);
+		y = new UNumber("12345", 2, true);
+		java.io.StringWriter written = new java.io.StringWriter();
+		try {
+			x.formatTo(written);
+			written.append(' ');
+			x.formatDecimalTo(written);
+			written.append(' ');
+			y.formatTo(written, 12);
+		} catch (java.io.IOException e) {
+			written.append(e.toString());
+		}
+		tally(x + " " + x.toDecimalString() + " " + y.toString(12), written.toString());
+		tally("-0.000" + digits12000 + " +0.12345E+2 12.345 1.2345E+1", 
+				x.toDecimalString() + " " + y + " " + y.toDecimalString() + " " + y.toString(12));
+
+		//34. The transcendental functions to 40 digits: e, ln 2, sin 1, cos 1, 4 atan 1, which is π,
+		//    and 2^0.5, which is the square root of 2; and zero to integer and other powers
+		System.out.println("34. exp, ln, sin, cos, atan, and pow to 40 significant digits");
+		x = new UNumber(1);
+		y = UNumberMath.atan(x, 40);
+		y.mpyInt(4);
+		tally("+0.2718281828459045235360287471352662497757E+1 +0.6931471805599453094172321214581765680755E+0 "
+				+ "+0.8414709848078965066525023216302989996226E+0 +0.5403023058681397174009366074429766037323E+0 "
+				+ "+0.3141592653589793238462643383279502884197E+1 +0.1414213562373095048801688724209698078570E+1",
+				UNumberMath.exp(x, 40) + " " + UNumberMath.ln(new UNumber(2), 40) + " " 
+				+ UNumberMath.sin(x, 40) + " " + UNumberMath.cos(x, 40) + " " + y + " "
+				+ UNumberMath.pow(new UNumber(2), new UNumber("5", 0, true), 40));
+		String zeroPowers = UNumberMath.pow(new UNumber(0), new UNumber(0), 4) + " " 
+				+ UNumberMath.pow(new UNumber(0), new UNumber(2), 4);
+		for (UNumber power: new UNumber [] {new UNumber(-1), new UNumber("15", 1, false)})
+			try {
+				zeroPowers += " " + UNumberMath.pow(new UNumber(0), power, 4);
+			} catch (ArithmeticException e) {
+				zeroPowers += " " + e.getMessage();
+			}
+		tally("+0.1000E+1 +0.0000E+0 Zero to a negative power Zero to a negative power", zeroPowers);
+
+		//35. The constants, computed by four threads at once, are all the same, and a measured 
+		//    constant has no more digits than it was measured to
+		System.out.println("35. π, e, ln 2, ln 10 to 40 digits from four threads, and G and the AU");
+		UNumber [] pis = new UNumber[4];
+		Thread [] threads = new Thread[pis.length];
+		for (int i = 0; i < threads.length; i++) {
+			int slot = i;
+			threads[i] = new Thread(() -> pis[slot] = UNumberConstants.get(UNumberConstants.Constant.PI, 40));
+			threads[i].start();
+		}
+		for (Thread t: threads)
+			try {
+				t.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		tally("+0.3141592653589793238462643383279502884197E+1 " + pis[0] + " " + pis[0] + " " + pis[0]
+				+ " +0.2718281828459045235360287471352662497757E+1 +0.6931471805599453094172321214581765680755E+0 "
+				+ "+0.2302585092994045684017991454684364207601E+1 +0.667430E-10 +0.1495978707E+12", 
+				pis[0] + " " + pis[1] + " " + pis[2] + " " + pis[3] + " "
+				+ UNumberConstants.get(UNumberConstants.Constant.E, 40) + " "
+				+ UNumberConstants.get(UNumberConstants.Constant.LN2, 40) + " "
+				+ UNumberConstants.get(UNumberConstants.Constant.LN10, 40) + " "
+				+ UNumberConstants.get(UNumberConstants.Constant.G, 40) + " "
+				+ UNumberConstants.get(UNumberConstants.Constant.AU, 10));
+
+		//36. A constant computed with a cache file, to more digits than have been found so far, is
+		//    added to it and is read back from the mapped file as it was; a file with a damaged
+		//    directory has no constants
+		System.out.println("36. Writing e to a constant cache file, reading it back, and a damaged file");
+		String cached = "";
+		java.nio.file.Path cacheFile = null;
+		try {
+			cacheFile = java.nio.file.Files.createTempFile("constants", ".bin");
+			java.nio.file.Files.delete(cacheFile);
+			UNumberConstants.setCacheFile(cacheFile);
+			x = UNumberConstants.get(UNumberConstants.Constant.E, 100);
+			java.util.Map<String, UNumberConstantCache.Entry> entries = UNumberConstantCache.load(cacheFile);
+			y = entries.get("E").decode();
+			y.round(new UNumberContext(100));
+			cached = entries.keySet() + " " + y;
+			byte [] damaged = java.nio.file.Files.readAllBytes(cacheFile);
+			damaged[8]++;
+			java.nio.file.Files.write(cacheFile, damaged);
+			cached += " " + UNumberConstantCache.load(cacheFile).size();
+		} catch (java.io.IOException e) {
+			cached = e.toString();
+		} finally {
+			UNumberConstants.setCacheFile(null);
+			try {
+				if (cacheFile != null) {
+					java.nio.file.Files.deleteIfExists(cacheFile);
+					java.nio.file.Files.deleteIfExists(cacheFile.resolveSibling(cacheFile.getFileName() + ".lock"));
+				}
+			} catch (java.io.IOException e) {
+				cached += " " + e;
+			}
+		}
+		tally("[E] " + x + " 0", cached);
+
+		//37. Values encoded into a direct buffer and into a stream decode to the same digits, sign,
+		//    characteristic, and length, including zero and the trailing zeros of a padded value
+		System.out.println("37. Encoding a 12000 digit value, a padded one, and zero, into a buffer and a stream");
+		UNumber [] values = {x = new UNumber(digits12000, -300, false), new UNumber("25", -2, true, 17),
+				new UNumber(0)};
+		java.nio.ByteBuffer encoded = java.nio.ByteBuffer.allocateDirect(12000);
+		java.io.ByteArrayOutputStream stream = new java.io.ByteArrayOutputStream();
+		String decoded = "";
+		try {
+			java.io.DataOutputStream out = new java.io.DataOutputStream(stream);
+			for (UNumber v: values) {
+				UNumberCodec.write(v, encoded);
+				UNumberCodec.write(v, out);
+			}
+			encoded.flip();
+			java.io.DataInputStream in = new java.io.DataInputStream(
+					new java.io.ByteArrayInputStream(stream.toByteArray()));
+			for (UNumber v: values)
+				decoded += UNumberCodec.readUNumber(encoded) + " " + UNumberCodec.readUNumber(in).length() + " ";
+		} catch (java.io.IOException e) {
+			decoded = e.toString();
+		}
+		tally(x + " 12000 +0.25000000000000000E-2 17 " + values[2] + " 0 " + (UNumberCodec.encodedSize(x) + 9) + " "
+				+ encoded.limit(), decoded + stream.size() + " " + encoded.limit());
+
+		// A length of about two billion zeros is rejected by both readers before it is allocated
+		byte [] damaged = {0x10, 0x00, 0x01, (byte)0xF0, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07, 0x10};
+		decoded = "";
+		try {
+			UNumberCodec.readUNumber(java.nio.ByteBuffer.wrap(damaged));
+		} catch (IllegalArgumentException e) {
+			decoded += e.getMessage();
+		}
+		try {
+			UNumberCodec.readUNumber(new java.io.DataInputStream(new java.io.ByteArrayInputStream(damaged)));
+		} catch (IllegalArgumentException | java.io.IOException e) {
+			decoded += " " + e.getMessage();
+		}
+		tally("The length of the mantissa is damaged The length of the mantissa is damaged", decoded);
+
+		// So is a unit name of about two billion bytes, from a stream
+		byte [] unit = {0x10, 0x10, 0x00, 0x00, 0x00, 0x10, 0x00, 0x00, 0x00, 0x00,
+				(byte)0xF0, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07};
+		try {
+			UNumberCodec.readCalculatorValue(new java.io.DataInputStream(new java.io.ByteArrayInputStream(unit)));
+			decoded = "";
+		} catch (IllegalArgumentException | java.io.IOException e) {
+			decoded = e.getMessage();
+		}
+		tally("The length of the unit is damaged", decoded);
+
+		// Display the summary of the tests
+		System.out.println("Number of tests passed: " + numPassed);
+		System.out.println("Number of tests failed: " + numFailed);
+	}
+}
@@ -1,5 +1,11 @@
 package calculator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+import java.util.function.BooleanSupplier;
 
 /**
  * <p> Title: UNumber Class, a component of the Unlimited Precision Math Package. </p>
@@ -12,6 +18,69 @@ package calculator;
  * @author Lynn Robert Carter
  * @author K V MURALI KRISHNA
  * 
+ * @version 1.23	toString, toString(size), toDecimalString, and displayBigNumber fill a presized 
+ * 					StringBuilder instead of concatenating a String a digit at a time, and the 
+ * 					formatTo and formatDecimalTo variants write into any Appendable.
+ * 
+ * @version 1.22	div by a UNumberDivisor, which keeps the reciprocal of the divisor from one 
+ * 					division to the next.
+ * 
+ * @version 1.21	mpy splits the products of very long operands across the cores of the 
+ * 					machine (see setParallelThreshold).
+ * 
+ * @version 1.20	square, and mpy of a value by one with the same digits, computes each cross 
+ * 					product once.
+ * 
+ * @version 1.19	add and sub add or subtract the digits in one pass with no carries, which the 
+ * 					compiler can vectorize, and then resolve the carries or borrows eight digits 
+ * 					at a time.
+ * 
+ * @version 1.18	mpy multiplies operands of up to 18 significant digits as longs, without 
+ * 					packing them into limbs, and the short division brings down nine digits at 
+ * 					a time.
+ * 
+ * @version 1.17	mpyInt and divInt multiply and divide by an integer in a single pass, and mpy 
+ * 					and div use them for operands of nine or fewer significant digits.
+ * 
+ * @version 1.16	The arithmetic works only on the significant digits of the mantissas, leaving 
+ * 					out their trailing zeros, which are put back as padding in the result.
+ * 
+ * @version 1.15	Every arithmetic operation takes a UNumberContext, with a precision, a rounding 
+ * 					mode, and a largest characteristic, and the operations that are not given 
+ * 					one use the thread's context.
+ * 
+ * @version 1.14	scaleByPowerOfTen only changes the characteristic, and pow raises to an 
+ * 					integer power by repeated squaring with a single rounding
+ * 
+ * @version 1.13	A native square root with a target precision, by Newton's method for the 
+ * 					reciprocal square root with the precision doubled at each step
+ * 
+ * @version 1.12	The double constructors give the shortest digits that read back as the same 
+ * 					double, or on request the exact binary expansion, instead of about 100 
+ * 					digits, most of them noise, and no longer print the value.
+ * 
+ * @version 1.11	lessThan, greaterThan, and compareTo share one digit by digit comparison 
+ * 					instead of falling back to a subtraction.  This also corrects the 
+ * 					results for two negative values with the same leading digit, for equal 
+ * 					values in compareTo, and for comparisons with zero.
+ * 
+ * @version 1.10	Add and sub line up the decimal points by offset arithmetic in a reusable 
+ * 					working buffer instead of building aligned copies, and write the result 
+ * 					back into the existing mantissa array when the length is unchanged.
+ * 
+ * @version 1.09	The divide kernel uses Knuth's Algorithm D on limbs, and a Newton-Raphson 
+ * 					reciprocal for very long operands, instead of repeated subtraction.
+ * 
+ * @version 1.08	A number theoretic transform tier in mpy for mantissas of many thousands of 
+ * 					digits.
+ * 
+ * @version 1.07	Karatsuba and Toom-Cook 3 tiers in mpy for long mantissas, with 
+ * 					configurable thresholds.
+ * 
+ * @version 1.06	The multiply kernel works on limbs of nine decimal digits (UNumberLimbs) 
+ * 					rather than one digit at a time.  The mantissa is still stored and 
+ * 					exposed as one digit per byte.
+ * 
  * @version 1.05	Added getter methods to support creation of supporting libraries in
  * 					order to expand UNumber's capabilities. 
  * 
@@ -223,6 +292,23 @@ public class UNumber implements Comparable<UNumber> {
 		s = sign;
 	}
 	
+	/**********
+	 * This constructor takes over a mantissa array that has already been filled in, along with 
+	 * the characteristic and sign.  It is used within the package by routines that build a 
+	 * result digit by digit.
+	 * 
+	 * @param mantissa	The digits, MSD first, which are not copied
+	 * 
+	 * @param dec		This is the characteristic (the power of 10)
+	 * 
+	 * @param sign		The sign
+	 */
+	UNumber(byte [] mantissa, int dec, boolean sign){
+		d = mantissa;
+		dP = dec;
+		s = sign;
+	}
+	
 	/**********
 	 * This is a copy constructor
 	 * 
@@ -287,162 +373,46 @@ public class UNumber implements Comparable<UNumber> {
 	}
 	
 	/**********
-	 * This constructor takes a double and creates a UNumber from it.  The result is rounded to a 
-	 * 14 significant digit result.
+	 * This constructor takes a double and creates a UNumber from it.  The result has the fewest 
+	 * digits that still convert back to exactly the same double, so 0.1 gives 0.1 rather than 
+	 * the 0.1000000000000000055511151231257827... that the double actually holds, and the 
+	 * mantissa is just long enough for those digits (see UNumberDecimal).
 	 * 
-	 * @param v
+	 * @param v	The value, which must be finite
 	 */
 	public UNumber(double v){
-		 // Allocate enough space to hold 14 significant digits plus one for rounding and one
-		 // for loss of significance for normalization.
-		System.out.println(v);
-		 byte [] tempD = new byte [102];
-		 
-		 // Set the sign of the result and convert to a positive value for the conversion
-		 s = true;
-		 if (v < 0) {
-			 v = -v;
-			 s = false;
-		 }
-		 
-		 // Use log base 10 to determine the characteristic if not too close to zero
-		 dP = ((int)Math.log10(v)) + 1;
-
-		 // If the value is too close to zero, return a zero
-		 if (dP < -324) {
-			 d = new byte[100];
-			 for (int i = 0; i < 20; i++) d[i] = 0;
-			 dP = 0;
-			 s = true;
-
-			 return;
-		 }
-
-		 // Use the characteristic to adjust the mantissa to a value in the range from
-		 // 0.10000000000000 to 0.99999999999999
-		 double man = v/Math.pow(10.0, dP);
-		 
-		 // One by one, peel off the most-significant digit and place it into the byte array
-		 for (int i =0; i < tempD.length; i++){
-			 man *= 10;
-			 byte digit = (byte)man;
-			 tempD[i] = digit;
-			 man -= digit;
-		 }
-		 
-		 // If the last believable digit (the 16th) is greater than or equal to 5, round up the
-		 // remaining 15 digits.
-		 if (tempD[15]>=5){
-			 // Round up
-			 boolean carry = true;
-			 for (int i=14; i>=0; i-- ) {
-				 tempD[i] += (carry? 1:0);
-				 if (tempD[i]>9){
-					 carry = true;
-					 tempD[i] -=10;
-				 }
-				 else carry = false;
-			 }
-			 // if the carry is true at the end of the loop, we have to deal with a carry off the
-			 // left end (this tells up normalization is not required).
-			 if (carry) {
-				 for (int i=101; i>0; i-- ) tempD[i] = tempD[i-1];
-				 tempD[0]=1;
-				 this.dP++;
-			 }
-		 }
-		 
-		 // Establish the result to have 14 significant places
-		 d = new byte [102];
-		 
-		 // If necessary, normalize the rounded 15 digit number... the value could still be 
-		 // 0.0999999
-		 if (tempD[0]==0) {
-			 // This does the normalizing by eliminating one leading zero digit
-			 for (int i = 0; i < d.length; i++) d[i] = tempD[i+1];
-			 this.dP--;
-		 }
-		 else
-			 // This is used when the value is already normalized
-			 for (int i = 0; i < d.length; i++) d[i] = tempD[i];	
-	 }
-
+		this(v, false);
+	}
 	
+	/**********
+	 * This constructor takes a double and creates a UNumber from it, giving either the shortest 
+	 * digits, as above, or every digit of the binary value the double holds.
+	 * 
+	 * @param v		The value, which must be finite
+	 * @param exact	True for the exact binary expansion, which may need hundreds of digits
+	 */
+	public UNumber(double v, boolean exact){
+		UNumber value = exact ? UNumberDecimal.exact(v) : UNumberDecimal.shortest(v);
+		d = value.d;
+		dP = value.dP;
+		s = value.s;
+	}
 	
+	/**********
+	 * This constructor takes a double and creates a UNumber from it with the specified number of 
+	 * significant digits.  If the shortest digits fit, they are padded with zeros.  If they do 
+	 * not, the exact binary value is rounded to the size, rounding up if the most significant 
+	 * dropped digit is 5 or greater.
+	 * 
+	 * @param v		The value, which must be finite
+	 * @param size	The number of significant digits
+	 */
+	public UNumber(double v, int size){
+		UNumber value = UNumberDecimal.shortest(v);
+		if (value.d.length > size) value = UNumberDecimal.exact(v);
+		setRounded(value.d, 0, value.d.length, value.dP, value.s, size);
+	}
 	
-	public UNumber(double v, int x){
-		 // Allocate enough space to hold 14 significant digits plus one for rounding and one
-		 // for loss of significance for normalization.
-		 byte [] tempD = new byte [x+2];
-		 
-		 // Set the sign of the result and convert to a positive value for the conversion
-		 s = true;
-		 if (v < 0) {
-			 v = -v;
-			 s = false;
-		 }
-		 
-		 // Use log base 10 to determine the characteristic if not too close to zero
-		 dP = ((int)Math.log10(v)) + 1;
-
-		 // If the value is too close to zero, return a zero
-		 if (dP < -324) {
-			 d = new byte[100];
-			 for (int i = 0; i < 20; i++) d[i] = 0;
-			 dP = 0;
-			 s = true;
-
-			 return;
-		 }
-
-		 // Use the characteristic to adjust the mantissa to a value in the range from
-		 // 0.10000000000000 to 0.99999999999999
-		 double man = v/Math.pow(10.0, dP);
-		 
-		 // One by one, peel off the most-significant digit and place it into the byte array
-		 for (int i =0; i < tempD.length; i++){
-			 man *= 10;
-			 byte digit = (byte)man;
-			 tempD[i] = digit;
-			 man -= digit;
-		 }
-		 
-		 // If the last believable digit (the 16th) is greater than or equal to 5, round up the
-		 // remaining 15 digits.
-		 if (tempD[15]>=5){
-			 // Round up
-			 boolean carry = true;
-			 for (int i=14; i>=0; i-- ) {
-				 tempD[i] += (carry? 1:0);
-				 if (tempD[i]>9){
-					 carry = true;
-					 tempD[i] -=10;
-				 }
-				 else carry = false;
-			 }
-			 // if the carry is true at the end of the loop, we have to deal with a carry off the
-			 // left end (this tells up normalization is not required).
-			 if (carry) {
-				 for (int i=101; i>0; i-- ) tempD[i] = tempD[i-1];
-				 tempD[0]=1;
-				 this.dP++;
-			 }
-		 }
-		 
-		 // Establish the result to have 14 significant places
-		 d = new byte [x];
-		 
-		 // If necessary, normalize the rounded 15 digit number... the value could still be 
-		 // 0.0999999
-		 if (tempD[0]==0) {
-			 // This does the normalizing by eliminating one leading zero digit
-			 for (int i = 0; i < d.length; i++) d[i] = tempD[i+1];
-			 this.dP--;
-		 }
-		 else
-			 // This is used when the value is already normalized
-			 for (int i = 0; i < d.length; i++) d[i] = tempD[i];	
-	 }
 	/**********
 	 * This returns the number of significant digits the UNumber can hold
 	 */
@@ -450,19 +420,40 @@ public class UNumber implements Comparable<UNumber> {
 		return d.length;
 	}
 	
+	/**********
+	 * This returns the number of digits up to and including the last one that is not zero.  The 
+	 * digits after it are trailing zeros that only pad the mantissa out to its length, so the 
+	 * arithmetic works on just this many digits, and the padding is put back in the result.
+	 * 
+	 * @return the number of significant digits, which is zero for zero
+	 */
+	public int significantLength(){
+		int n = d.length;
+		while (n > 0 && d[n - 1] == 0) n--;
+		return n;
+	}
+	
 	/**********
 	 * This implementation of toString converts the value to a String in scientific notation
 	 */
 	public String toString(){
-		String result;
-		if (s) result = "+0.";
-		else result = "-0.";
-		for (int i = 0; i < d.length; i++) result += d[i];
-		result += "E";
-		if (dP<0) result += dP;		// If the result is negative, the sign will automatically be 
-									// inserted
-		else result += "+" + dP;	// For positive values, we must manually insert the "+" sign
-		return result;
+		return build(d.length + 16, this::formatTo);
+	}
+	
+	/**********
+	 * This routine writes the value in scientific notation, just as toString gives it, straight 
+	 * into an Appendable, such as a StringBuilder or a Writer.  The digits go out in blocks, so 
+	 * no String of the whole value is built.
+	 * 
+	 * @param out		Where the characters go
+	 * @throws IOException	if the Appendable does
+	 */
+	public void formatTo(Appendable out) throws IOException {
+		out.append(s ? "+0." : "-0.");
+		appendDigits(out, d, 0, d.length);
+		out.append('E');
+		if (dP >= 0) out.append('+');			// For positive values, we must manually insert the 
+		out.append(Integer.toString(dP));		// "+" sign.  A negative one brings its own "-"
 	}
 	
 	/**********
@@ -492,6 +483,17 @@ public class UNumber implements Comparable<UNumber> {
 	 * 
 	 */
 	public String toString(int size){
+		return build(Math.max(size, 8) + 16, out -> formatTo(out, size));
+	}
+	
+	/**********
+	 * This routine writes the value just as toString(size) gives it, straight into an Appendable.
+	 * 
+	 * @param out		Where the characters go
+	 * @param size		The maximum number of characters requested (see toString(int))
+	 * @throws IOException	if the Appendable does
+	 */
+	public void formatTo(Appendable out, int size) throws IOException {
 		// If fewer than 8 characters is requested, ignore the value and use 8 instead.  The reason 
 		if (size <= 8) size = 8;					// for this is the overhead of a leading negative
 													// sign, a decimal point, the "E", the size on
@@ -499,14 +501,11 @@ public class UNumber implements Comparable<UNumber> {
 													// mantissa and the characteristic, leave only
 													// two more significant digits, as in "-1.23E-1"
 
-		// Initialize the result and compute the overhead
-		String result = "";							// Initialize the result String to empty
+		// Compute the overhead
 		int overhead = 4;							// The "d.", "E", and the characteristic sign
-		if (!this.s) {								// The overhead is one more if the value is
-			overhead++;								// negative.  If so, increase the overhead
-			result = "-";							// and set up the output with a negative sign.
-		}
-
+		if (!this.s) overhead++;					// The overhead is one more if the value is
+													// negative
+		
 		// We may be forced to adjust the characteristic, so we make a copy of it for internal use
 		int exp = this.dP-1;						// Reduce by one since we put the MSD to the
 													// left of the decimal point
@@ -557,25 +556,16 @@ public class UNumber implements Comparable<UNumber> {
 				}										
 			}											
 		
-		// Append the most significant digit of the mantissa and the decimal point
-		result += d2[0] + ".";	
-		
-		// Iterative add in the rest of the digits of the mantissa after the decimal point
-		for (int ndx = 1; ndx < availableDigits; ndx++)		
-			result += d2[ndx];						
-		
-		// Append the "E"
-		result += "E";
-			
-		// Append the characteristic's plus sign if the value us positive
-		if (exp >= 0)
-			result += "+";
+		// The sign, if the value is negative, the most significant digit of the mantissa, the 
+		// decimal point, and the rest of the digits of the mantissa
+		if (!this.s) out.append('-');
+		out.append(Integer.toString(d2[0])).append('.');
+		appendDigits(out, d2, 1, availableDigits);
 		
-		// Append the characteristic.  If it is negative, Java will append the "-"
-		result += "" + exp;
-		
-		// We are done, so return the right-sized string					
-		return result;								
+		// The "E", the characteristic's plus sign if the value is positive, and the characteristic.  
+		out.append('E');							// If it is negative, Integer.toString gives 
+		if (exp >= 0) out.append('+');				// the "-"
+		out.append(Integer.toString(exp));
 	}
 	
 	/**********
@@ -612,106 +602,157 @@ public class UNumber implements Comparable<UNumber> {
 	 * This implementation of toString converts the value to a String in using a decimal notation
 	 */
 	public String toDecimalString(){
+		long size = (long)d.length + Math.abs((long)dP) + 3;	// The digits, the zeros, "-0."
+		return build((int)Math.min(size, Integer.MAX_VALUE - 8), this::formatDecimalTo);
+	}
+	
+	/**********
+	 * This routine writes the value just as toDecimalString gives it, straight into an Appendable.
+	 * 
+	 * @param out		Where the characters go
+	 * @throws IOException	if the Appendable does
+	 */
+	public void formatDecimalTo(Appendable out) throws IOException {
 		// Establish the sign... 
 		// We do not put a "+" on a positive value, but do put on a "-" for negative
-		String result;
-		if (s) result = "";
-		else result = "-";
-		
-		// For values less than one, we will display one zero to the left of the decimal point
-		if (dP <= 0) result += "0";
+		if (!s) out.append('-');
 		
-		// For values less than 1/10, we need to insert zeros between the decimal point and
-		// the most significant digit
-		if (dP < 0) {
-			result += ".";										// Insert the decimal point
-			for (int i = 0; i > dP; i--) result += "0";			// Insert the zeros
-			for (int i = 0; i < d.length; i++) result += d[i];	// Insert the significant digits
-		}
-		else
-		{
-			// For values greater than 1/10, we insert the decimal point at the appropriate point
-			// as we insert in the digits (if dP <= d.length)
-			for (int i = 0; i < d.length; i++) {
-				if (i == dP) result += ".";			// Insert the decimal point at the right place
-				result += d[i];						// Insert the digits
-			}
-			// If dP > d.length, the decimal point is to the right of all of the significant 
-			// digits so we must insert more zeros before we can insert the decimal point
-			if (dP > d.length) 
-				for (int i = d.length; i < dP; i++) result += "0";	// Insert the zeros
-			if (dP >= d.length) result += ".";						// and then the decimal point
+		// For values less than one, we will display one zero to the left of the decimal point and
+		// zeros between the decimal point and the most significant digit
+		if (dP <= 0) {
+			out.append("0.");
+			appendZeros(out, -dP);
+			appendDigits(out, d, 0, d.length);
+			return;
 		}
-		return result;
+		
+		// For greater values the decimal point goes after the first dP digits.  If dP > d.length, 
+		// it is to the right of all of the significant digits so zeros go in before it
+		int whole = Math.min(dP, d.length);
+		appendDigits(out, d, 0, whole);
+		appendZeros(out, dP - whole);
+		out.append('.');
+		appendDigits(out, d, whole, d.length);
 	}
 		
 	/**********
 	 * This routine is used to display big numbers on the console, 80 characters per line.
 	 */
 	public void displayBigNumber() {
-		String str = "";
+		StringBuilder line = new StringBuilder(80);
 		
 		// Display the sign
 		int count = 2;
 		if (! s) 
-			str += " -";
+			line.append(" -");
 		else 
-			str += " +";
+			line.append(" +");
 		
 		// Display the decimal point if it is to the left of the mantissa
 		if (dP < 1) {
-			str = "0.";
+			line.setLength(0);
+			line.append("0.");
 			count += 2;
 			
 			// Display leading zeros before the mantissa when required
 			for (int i = dP; i < 0; i++){
-				str += "0";
-				count++;
-				if (count == 80) {
-					System.out.println(str);
-					count = 0;
-					str = "";
-				}
+				line.append('0');
+				count = endLine(line, count + 1);
 			}	
 		}
 		
 		// Display the mantissa
 		for (int i = 0; i < d.length; i++){
-			str += d[i];
-			count++;
-			if (count == 80) {
-				System.out.println(str);
-				count = 0;
-				str = "";
-			}
+			line.append((char)('0' + d[i]));
+			count = endLine(line, count + 1);
 			
 			// Display the decimal point if it is within the mantissa
 			if (i == dP - 1){
-				str += ".";
-				count++;
-				if (count == 80) {
-					System.out.println(str);
-					count = 0;
-					str = "";
-				}
+				line.append('.');
+				count = endLine(line, count + 1);
 			}
 		}
 		
 		// Display the training zeros after the mantissa if required
 		for (int i = d.length; i < dP; i++){
-			str += "0";
-			count++;
-			if (count == 80) {
-				System.out.println(str);
-				count = 0;
-				str = "";
-			}			
+			line.append('0');
+			count = endLine(line, count + 1);
 		}
 		
 		// Display the decimal point if past the right most significant digit
-		if (dP > d.length) str += ".";
+		if (dP > d.length) line.append('.');
 		
-		System.out.println(str);
+		System.out.println(line);
+	}
+	
+	/**
+	 * For displayBigNumber, display the line and start a new one once the count reaches 80
+	 * 
+	 * @return the count, which is zero for a new line
+	 */
+	private static int endLine(StringBuilder line, int count) {
+		if (count != 80) return count;
+		System.out.println(line);
+		line.setLength(0);
+		return 0;
+	}
+	
+	/**
+	 * A formatter that writes into an Appendable, for build
+	 */
+	private interface Format {
+		void to(Appendable out) throws IOException;
+	}
+	
+	/**
+	 * The String a formatter writes, into a StringBuilder of the size it is expected to need
+	 */
+	private static String build(int capacity, Format format) {
+		StringBuilder result = new StringBuilder(capacity);
+		try {
+			format.to(result);
+		} catch (IOException e) {						// A StringBuilder never throws
+			throw new UncheckedIOException(e);
+		}
+		return result.toString();
+	}
+	
+	/**
+	 * Write digits[from] through digits[to-1] as characters.  They are put in a char buffer a 
+	 * block at a time, so a long mantissa is written with a few large appends instead of an 
+	 * append per digit.
+	 */
+	private static void appendDigits(Appendable out, byte[] digits, int from, int to) 
+			throws IOException {
+		if (from >= to) return;
+		char [] buffer = new char[Math.min(to - from, FORMAT_BLOCK)];
+		while (from < to) {
+			int n = Math.min(to - from, buffer.length);
+			for (int i = 0; i < n; i++) buffer[i] = (char)('0' + digits[from + i]);
+			appendChars(out, buffer, n);
+			from += n;
+		}
+	}
+	
+	/**
+	 * Write count zeros, a block at a time
+	 */
+	private static void appendZeros(Appendable out, int count) throws IOException {
+		if (count <= 0) return;
+		char [] buffer = new char[Math.min(count, FORMAT_BLOCK)];
+		java.util.Arrays.fill(buffer, '0');
+		for (; count > 0; count -= buffer.length)
+			appendChars(out, buffer, Math.min(count, buffer.length));
+	}
+	
+	/**
+	 * Write buffer[0] through buffer[n-1].  A StringBuilder or a Writer takes them as they are, 
+	 * and any other Appendable as a CharSequence over the buffer.
+	 */
+	private static void appendChars(Appendable out, char[] buffer, int n) throws IOException {
+		if (out instanceof StringBuilder) ((StringBuilder)out).append(buffer, 0, n);
+		else if (out instanceof Writer) ((Writer)out).write(buffer, 0, n);
+		else out.append(CharBuffer.wrap(buffer, 0, n));
 	}
 	
 	/**********
@@ -767,493 +808,1070 @@ public class UNumber implements Comparable<UNumber> {
 	
 	/**********
 	 * The Addition operation adds the second operand to this object's value  (this = this + that)
-	 * The code implements the addition in a very simplistic manner, sacrificing speed and space 
-	 * for a very simple algorithm that mirrors how people do addition by hand.
+	 * The code implements the addition in the same manner people do addition by hand: the two 
+	 * values are lined up on their decimal points and added (or subtracted) digit by digit from 
+	 * the Least Significant Digit (LSD) toward the Most Significant Digit (MSD).
+	 * 
+	 * Rather than building two decimal point aligned copies of the operands, the digits are 
+	 * lined up by offset arithmetic in a working buffer that is kept from one call to the next, 
+	 * and the result is copied back into this object's mantissa array.  A new mantissa array is 
+	 * allocated only if the result needs a different number of digits than this one has.
+	 * 
+	 * The result is rounded as the thread's context says (see UNumberContext).
+	 * 
 	 * @param that	The second operand that is added to this object's value
 	 */
 	public void add(UNumber that){
-		UNumber temp1;
-		UNumber temp2;
-		if(this.s == that.s) {
-			
-			// The signs are the same, so we can add the two unsigned numbers together and then 
-			// copy the sign from either
-			temp1 = new UNumber(this, that);	// Establish two working values that are decimal  
-			temp2 = new UNumber(that, this);	// point aligned
+		add(that, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The Addition operation, with the exact sum rounded to the precision of the context.  With 
+	 * no precision, the sum keeps every digit, as above.
+	 * 
+	 * @param that	The second operand that is added to this object's value
+	 * 
+	 * @param mc	The context
+	 */
+	public void add(UNumber that, UNumberContext mc){
+		add(that, false);
+		round(mc);
+	}
+	
+	/**********
+	 * The subtract operation adds the negation of the second operand (this = this - that)  The 
+	 * second operand's sign is flipped only within the addition, so the caller's second operand 
+	 * is not changed and does not need to be copied.
+	 * 
+	 * @param that	The second operand that is subtracted from the value of this object's value
+	 */
+	public void sub(UNumber that){
+		sub(that, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The subtract operation, with the exact difference rounded to the precision of the context
+	 * 
+	 * @param that	The second operand that is subtracted from the value of this object's value
+	 * 
+	 * @param mc	The context
+	 */
+	public void sub(UNumber that, UNumberContext mc){
+		add(that, true);
+		round(mc);
+	}
+	
+	/**********
+	 * Round this value to the precision of the context, using its rounding mode, and check that 
+	 * the characteristic is within its range.  With no precision, the digits are not changed.
+	 * 
+	 * @param mc	The context
+	 */
+	public void round(UNumberContext mc){
+		if (mc.getPrecision() > 0) 
+			setRounded(d, 0, d.length, dP, s, mc.getPrecision(), mc.getRoundingMode(), null);
+		checkExponent(mc);
+	}
+	
+	/**
+	 * Operands with no more than this many significant digits fit in a long, and mpy multiplies 
+	 * them as longs rather than as arrays of limbs
+	 */
+	private static final int COMPACT_DIGITS = 18;
+	
+	/**
+	 * The extra digits the Newton steps of sqrt carry past the size of the result
+	 */
+	private static final int SQRT_GUARD_DIGITS = 4;
+	
+	/**
+	 * The formatters write a mantissa to an Appendable this many characters at a time
+	 */
+	private static final int FORMAT_BLOCK = 4096;
+	
+	/**
+	 * A working buffer for add and sub, one per thread, that grows up to ADD_BUFFER_LIMIT digits.
+	 * A longer frame gets a buffer of its own, which is not kept, so one very long addition does
+	 * not leave its memory held by the thread for as long as the thread lives.
+	 */
+	private static final ThreadLocal<byte[]> addBuffer = new ThreadLocal<byte[]>();
+	private static final int ADD_BUFFER_LIMIT = 4096;
+	
+	/**********
+	 * This is the addition shared by add and sub.  The frame used to line up the decimal points 
+	 * holds "left" digits to the left of the decimal point and "right" digits to the right, which 
+	 * are enough for either operand.  In the working buffer, the frame starts at index one, so 
+	 * index zero is free to take a carry off the left end.
+	 * 
+	 * @param that		The second operand
+	 * 
+	 * @param negate	True if the sign of the second operand is to be flipped (subtraction)
+	 */
+	private void add(UNumber that, boolean negate){
+		boolean thatSign = negate ? !that.s : that.s;
+		
+		// left is the maximum number of digits to the left of the decimal point, and right is 
+		// the maximum number of digits to the right of the decimal point
+		int left = Math.max(Math.max(this.dP, that.dP), 0);
+		int right = Math.max(Math.max(this.d.length - this.dP, that.d.length - that.dP), 0);
+		int size = left + right;
+		
+		// Fetch the working buffer, growing it if this is the largest frame so far, or make one 
+		// that is not kept if the frame is longer than the limit
+		byte [] buffer = addBuffer.get();
+		if (buffer == null || buffer.length < size + 1) {
+			buffer = new byte[size + 1];
+			if (size < ADD_BUFFER_LIMIT) addBuffer.set(buffer);
+		}
+		
+		// The first operand is placed into the frame and the second operand is added into it (or 
+		// subtracted from it).  When the signs differ, the positive value is placed first.
+		UNumber first = this;
+		UNumber second = that;
+		if (this.s != thatSign && !this.s) {first = that; second = this;}
+		java.util.Arrays.fill(buffer, 0, size + 1, (byte)0);
+		System.arraycopy(first.d, 0, buffer, 1 + left - first.dP, first.significantLength());
+		
+		// Digit i of the second operand lands at index offset + i of the buffer.  Adding in its 
+		// trailing zeros would change nothing, so the work starts at its last significant digit.
+		int offset = 1 + left - second.dP;
+		byte [] digits = second.d;
+		int numDigits = second.significantLength();
+		boolean sign;
+		if (this.s == thatSign) {
 			
-			// Work from Least Significant Digit (LSD) toward Most Significant Digit (MSD) and 
-			// add digit to digit
-			boolean carry = false;
-			for (int i = temp1.d.length-1; i>=0; i--){
-				// If the previous digit addition had a carry, add it in to this digit
-				temp1.d[i] += (byte)(temp2.d[i] + (carry? 1 : 0));
-				if (temp1.d[i]>9) {		// If the resulting addition is > 9, there is a carry here
-					temp1.d[i] -= 10;	// so reduce the result by 10.  It can't be more than 19 
-					carry=true;			// (9 + 9 + 1 = 19) and set the carry for the next digit 
-										// addition
-				}
-				else carry=false;		// If the digit addition is <= 9, there is no carry
-			}
+			// The signs are the same, so we add the two unsigned numbers together and the result 
+			// has the sign of either.  This is done in two passes.  The first adds digit to digit 
+			// with no carries at all, so no digit depends on the one to its right, and the 
+			// compiler can add many digits at a time with vector instructions.  Each digit is then 
+			// at most 18 (9 + 9).  The second resolves the carries, eight digits at a time.
+			for (int i = 0; i < numDigits; i++) buffer[offset + i] += digits[i];
+			int carry = UNumberDigits.resolveCarries(buffer, offset, offset + numDigits);
 			
-			// If there is a carry at the end of the loop, we need one more digit of significance
-			if (carry){
-				d = new byte[temp1.d.length+1];		// Establish a mantissa array that is one digit 
-													// larger
-				d[0]=1;								// If there was a carry, that new digit must be 
-													// a "1"
-				for (int i = 0; i<temp1.d.length; i++) d[i+1] = temp1.d[i];	// Copy over rest of 
-													// the digits
-				temp1.dP++;							// Increase the power of 10 by one
-				temp1.d = d;						// Establish this new mantissa array as the 
-													// result's mantissa
+			// Propagate any carry to the left of the second operand.  Index zero can always take 
+			// the last carry.
+			for (int i = offset - 1; carry > 0; i--) {
+				if (buffer[i] == 9) buffer[i] = 0;
+				else {buffer[i]++; carry = 0;}
 			}
+			sign = this.s;
 		}
-		
 		else {
-			// The signs differ, so we subtract the the negative value from the positive value
-			// We will put the positive value in temp1 and the negative in temp2
-			if (this.s) {						
-				temp1 = new UNumber(this, that);
-				temp2 = new UNumber(that, this);
-			} else {
-				temp2 = new UNumber(this, that);
-				temp1 = new UNumber(that, this);
-			}
 			
-			// Work from Least Significant Digit (LSD) toward Most Significant Digit (MSD) and 
-			// subtract digit from digit.  We start off with no borrowing at the LSD
-			boolean borrow = false;
-			for (int i = temp1.d.length-1; i>=0; i--){ 
-				// If the previous subtraction resulted in a borrow, we must subtract an additional 
-				// 1 from this digit
-				temp1.d[i] = (byte)(temp1.d[i] - temp2.d[i] - (borrow? 1: 0));
-				if (temp1.d[i]<0){		// If the resulting subtraction is < 0, there is a borrow 
-					temp1.d[i] += 10;	// here so add 10 to the result.  The result cannot be 
-										// less than -10 (0 - 9 - 1 = -10)
-					borrow = true;		// and set the borrow for the next digit subtraction
-				}
-				else borrow = false;	// If the digit subtraction is >= 0, there is no borrow
+			// The signs differ, so we subtract the negative value from the positive value, in 
+			// the same two passes.  The first adds 9 less each digit of the negative value, which 
+			// leaves each digit between 0 and 18, with 9 standing for a difference of zero.  The 
+			// second resolves the borrows, eight digits at a time.
+			for (int i = 0; i < numDigits; i++) buffer[offset + i] += 9 - digits[i];
+			int borrow = UNumberDigits.resolveBorrows(buffer, offset, offset + numDigits);
+			
+			// Propagate any borrow to the left of the second operand, stopping at the frame
+			for (int i = offset - 1; borrow > 0 && i >= 1; i--) {
+				if (buffer[i] == 0) buffer[i] = 9;
+				else {buffer[i]--; borrow = 0;}
 			}
-						
-			// if the borrow is true, the negative value was larger and we must invert the values 
-			// and set the resulting sign to negative
-			if (borrow){
-				// For all but the LSD, we must subtract the digit from 9 (10 - digit - 1 for the 
-				// next digit to the right borrow)
-				for (int i = 0; i <temp1.d.length-1; i++) temp1.d[i] = (byte)(9 - temp1.d[i]);
-				
-				// For the LSD, we subtract the digit from 10, since there are no more digits that 
-				// require a borrow
-				temp1.d[temp1.d.length-1] = (byte)(10 - temp1.d[temp1.d.length-1]);
-				
-				// Resolve any carries working back from the LSD to the MSD
-				for (int i = temp1.d.length-1; i > 0; i--)
-					if (temp1.d[i]>=10){
-						temp1.d[i]-=10;
-						temp1.d[i-1]++;
-					}
-				
-				// The resulting number is negative
-				temp1.s = false;
+			
+			// If the borrow is still set, the negative value was larger and the frame holds 
+			// 10^size less the magnitude of the result.  Recover the magnitude by taking the 
+			// ten's complement: trailing zeros stay zero, the lowest non-zero digit is subtracted 
+			// from 10, and every digit to the left of it is subtracted from 9.  That last step 
+			// is the same for every digit, so it runs from the left, many digits at a time.
+			if (borrow > 0) {
+				int i = size;
+				while (buffer[i] == 0) i--;
+				buffer[i] = (byte)(10 - buffer[i]);
+				for (int k = 1; k < i; k++) buffer[k] = (byte)(9 - buffer[k]);
+				sign = false;
 			}
-			else temp1.s = true;	// Since the borrow was false at the end, the positive value 
-									// was larger, so then is the result
+			else sign = true;
 		}
 		
-		// The result of the addition (or subtraction) is in temp1, so we must first normalize it 
-		// and then move it into this object's attributes
-		normalize(temp1);
-		this.d = temp1.d;
-		this.dP = temp1.dP;
-		this.s = temp1.s;
+		// Normalize the result by skipping any leading zeros.  Each zero skipped from the left 
+		// reduces the characteristic by one.  A zero result is a standard zero of the frame size.
+		int start = 0;
+		while (start <= size && buffer[start] == 0) start++;
+		if (start > size) {
+			if (this.d.length != size) this.d = new byte[size];
+			else java.util.Arrays.fill(this.d, (byte)0);
+			this.dP = 0;
+			this.s = true;
+			return;
+		}
+		int length = size + 1 - start;
+		if (this.d.length != length) this.d = new byte[length];
+		System.arraycopy(buffer, start, this.d, 0, length);
+		this.dP = left + 1 - start;
+		this.s = sign;
 	}
 	
 	/**********
-	 * The subtract operation negates the second operand and uses the add operator 
-	 * (this = this - that)  The code uses a temporary for the second operand so the callers 
-	 * second operand is not changed
+	 * Set the operand lengths, in decimal digits, at which mpy switches from the by-hand 
+	 * algorithm to Karatsuba multiplication and from Karatsuba to Toom-Cook 3.  The length that 
+	 * matters is that of the shorter operand.  Every tier computes the exact product before it 
+	 * is rounded, so these settings change how fast mpy runs, never what it returns.
 	 * 
-	 * @param that	The second operand that is subtracted from the value of this object's value
+	 * @param karatsubaDigits	Operands at least this long use Karatsuba (default 432)
+	 * 
+	 * @param toomCook3Digits	Operands at least this long use Toom-Cook 3 (default 1152)
 	 */
-	public void sub(UNumber that){
-		UNumber temp = new UNumber(that);
-		temp.s = ! temp.s;
-		this.add(temp);
+	public static void setMultiplyThresholds(int karatsubaDigits, int toomCook3Digits) {
+		// Karatsuba splits its operands in half, so it needs at least two limbs to work with
+		UNumberLimbs.karatsubaThreshold = 
+				Math.max(2, (karatsubaDigits + UNumberLimbs.DIGITS - 1) / UNumberLimbs.DIGITS);
+		// Toom-Cook 3 splits its operands in thirds, so it needs at least three limbs
+		UNumberLimbs.toomCook3Threshold = 
+				Math.max(3, (toomCook3Digits + UNumberLimbs.DIGITS - 1) / UNumberLimbs.DIGITS);
+	}
+	
+	/**********
+	 * Set all three multiplication thresholds, including the length at which mpy switches from 
+	 * Toom-Cook 3 to the number theoretic transform (UNumberNTT).
+	 * 
+	 * @param karatsubaDigits	Operands at least this long use Karatsuba (default 432)
+	 * 
+	 * @param toomCook3Digits	Operands at least this long use Toom-Cook 3 (default 1152)
+	 * 
+	 * @param nttDigits			Operands at least this long use the NTT (default 9216)
+	 */
+	public static void setMultiplyThresholds(int karatsubaDigits, int toomCook3Digits, 
+			int nttDigits) {
+		setMultiplyThresholds(karatsubaDigits, toomCook3Digits);
+		UNumberLimbs.nttThreshold = 
+				Math.max(1, (nttDigits + UNumberLimbs.DIGITS - 1) / UNumberLimbs.DIGITS);
+	}
+	
+	/**********
+	 * Set the operand length, in decimal digits, at which mpy splits its work across the common 
+	 * ForkJoinPool.  The smaller products of Karatsuba and Toom-Cook 3 are computed at the same 
+	 * time, and so are the three transforms of the NTT and the butterflies within each of them.  
+	 * The length that matters is that of the shorter operand.  All of the arithmetic is exact, so 
+	 * the product is the same however the work is split and whatever the number of cores.
+	 * 
+	 * @param parallelDigits	Operands at least this long use more than one core (default 
+	 * 							100008), or Integer.MAX_VALUE for none
+	 */
+	public static void setParallelThreshold(int parallelDigits) {
+		UNumberLimbs.parallelThreshold = parallelDigits == Integer.MAX_VALUE ? Integer.MAX_VALUE :
+				Math.max(1, (parallelDigits + UNumberLimbs.DIGITS - 1) / UNumberLimbs.DIGITS);
 	}
 	
 	/**********
 	 * The multiply operation implements multiplication is the traditional, by hand-hand manner, 
-	 * where each digit of the multiplicand is multiplied by each digit of the multiplier and 
-	 * adding into the proper digit of the product using the index of the multiplier digit as the 
-	 * base for the summation. Since we have unlimited number of digits, the intermediate results 
-	 * can become arbitrarily large, so the carry must be resolved into the product after each digit 
-	 * multiplication.
+	 * where each "digit" of the multiplicand is multiplied by each "digit" of the multiplier and 
+	 * added into the proper "digit" of the product.  To cut the number of steps, the "digits" are 
+	 * limbs of nine decimal digits each (see UNumberLimbs), so a 100 digit mantissa takes 12 
+	 * steps per row instead of 100.  Long operands use Karatsuba, Toom-Cook 3, or the number 
+	 * theoretic transform instead (see setMultiplyThresholds).  The exact product is then 
+	 * rounded to the length of the multiplicand, just as before, unless the thread's context 
+	 * has a precision (see UNumberContext).
 	 * 
 	 * @param that	The multiplier 
 	 */
 	public void mpy(UNumber that){
-		// The temporary product must be at least two digits longer than the result, one digit to 
-		// deal with the possible loss of precision when normalizing is required, and one for 
-		// rounding.
-//		System.out.println(this.d+"dddddd");
-		byte [] product = new byte[this.d.length+(that.d.length>2?that.d.length:2)];
-		byte [] multiplicand = this.d;
-		byte [] multiplier = that.d;
-		
+		mpy(that, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The multiply operation, with the exact product rounded to the precision of the context, or 
+	 * to the length of the multiplicand if it has none
+	 * 
+	 * @param that	The multiplier 
+	 * 
+	 * @param mc	The context
+	 */
+	public void mpy(UNumber that, UNumberContext mc){
+		mpy(that, mc.size(d.length), mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * The multiply shared by the public ones, which rounds the product to size digits
+	 */
+	private void mpy(UNumber that, int size, RoundingMode mode){
 		// If either the multiplicand or the multiplier is zero, 
 		// the product is zero, so return a default zero
-		
-//		System.out.println(Arrays.toString(multiplicand)+"om");
-//		System.out.println(Arrays.toString(multiplier)+"on");
-		if (multiplicand[0] == 0 || multiplier[0] == 0) {
-			for (int i = 0; i < this.d.length; i++) this.d[i] = 0;
-			dP = 0;
-			s = true;	
+		if (this.d[0] == 0 || that.d[0] == 0) {
+			setZero(size);
 			return;
 		}
 		
-		// The product is not zero, so compute the product using the by-hand algorithm
+		// If either operand has no more significant digits than fit in one limb, it is a small 
+		// integer times a power of ten, so the product takes a single pass (see mpyInt)
+		int n = this.significantLength();
+		int m = that.significantLength();
+		if (m <= UNumberLimbs.DIGITS) {
+			mpySmall(this.d, n, this.dP + that.dP - m, this.s == that.s, smallValue(that.d, m), 
+					size, mode);
+			return;
+		}
+		if (n <= UNumberLimbs.DIGITS) {
+			mpySmall(that.d, m, this.dP + that.dP - n, this.s == that.s, smallValue(this.d, n), 
+					size, mode);
+			return;
+		}
+		if (n <= COMPACT_DIGITS && m <= COMPACT_DIGITS) {
+			mpyCompact(smallValue(this.d, n), smallValue(that.d, m), this.dP + that.dP - n - m, 
+					this.s == that.s, size, mode);
+			return;
+		}
 		
-		// Zero the product
-		for (int p = 0; p < product.length; p++)
-			product[p] = 0;
+		// The product is not zero, so compute the product using the by-hand algorithm, nine 
+		// digits at a time.  If the two mantissas have the same digits, whatever their signs and 
+		// characteristics, the product is a square and the same limbs are passed as both operands, 
+		// so each cross product is computed once (see UNumberLimbs.multiply).  Only the 
+		// significant digits of the two mantissas are packed into limbs, since trailing zeros 
+		// only add trailing zeros to the product, so two three digit values take a single limb 
+		// product however long their mantissas are.  The limbs are multiplied, and the exact 
+		// product is unpacked back into the product array.  The product of an n digit 
+		// multiplicand and an m digit multiplier fits in n+m digits, so it is right aligned at 
+		// index n+m.
+		byte [] product = new byte[n + m];
+		int [] a = UNumberLimbs.pack(this.d, 0, n);
+		int [] b = this == that || n == m && java.util.Arrays.equals(this.d, 0, n, that.d, 0, m) ? 
+				a : UNumberLimbs.pack(that.d, 0, m);
+		int [] limbs = UNumberLimbs.multiply(a, b);
+		UNumberLimbs.unpack(limbs, product, 0, product.length);
 		
-		// For each digit in the multiplier
-		for (int r = multiplier.length - 1; r >= 0; r--) {
-			
-			// start with the proper digit in the product based on the location in the
-			// multiplicand and multiplier
-			int p = multiplicand.length + r;
-			
-			// Computer the product for each digit in the multiplicand and add it into the product
-			for (int d = multiplicand.length-1; d >=0; d--) {
-				product[p] += multiplicand[d] * multiplier[r];
+		// We now have the product, but it may not be normalized.  (There can be at most one zero 
+		// digit given the multiplicand and the multiplier were both non-zero and normalized.)  The 
+		// characteristic is the sum of the two powers of ten, less one if there was a leading 
+		// zero, and the exact product is rounded to the size.
+		int first = product[0] == 0 ? 1 : 0;
+		setRounded(product, first, product.length - first, this.dP + that.dP - first, 
+				this.s == that.s, size, mode, null);
+	}
+	
+	/**********
+	 * The square operation replaces this value with its square.  The square is a product whose 
+	 * two operands are the same, so each cross product of the digits is needed only once, which 
+	 * saves nearly half of the time of the general multiplication, in every one of its tiers.  
+	 * The square is rounded to the length of this value, as mpy rounds, unless the thread's 
+	 * context has a precision (see UNumberContext).
+	 */
+	public void square(){
+		square(UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The square operation, with the square rounded to the precision of the context, or to the 
+	 * length of this value if it has none
+	 * 
+	 * @param mc	The context
+	 */
+	public void square(UNumberContext mc){
+		mpy(this, mc.size(d.length), mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * Set this value to the product of the integers a and b, which have at most 18 digits each, 
+	 * times 10^dec, rounded to the size.  Each is split into two halves of nine digits, so the 
+	 * four partial products fit in a long, and the 36 digit product is put together from them 
+	 * in limbs of nine digits with no arrays but the one its digits are laid out in.
+	 */
+	private void mpyCompact(long a, long b, int dec, boolean sign, int size, RoundingMode mode){
+		long a1 = a / UNumberLimbs.BASE, a0 = a % UNumberLimbs.BASE;
+		long b1 = b / UNumberLimbs.BASE, b0 = b % UNumberLimbs.BASE;
+		long t = a0 * b0;
+		long p0 = t % UNumberLimbs.BASE;
+		t = t / UNumberLimbs.BASE + a1 * b0 + a0 * b1;	// Less than 2 x 10^18 + 10^9
+		long p1 = t % UNumberLimbs.BASE;
+		t = t / UNumberLimbs.BASE + a1 * b1;
+		long p2 = t % UNumberLimbs.BASE;
+		long p3 = t / UNumberLimbs.BASE;
 		
-				// Resolve any carries by ensuring each product digit is not larger than 9
-				// (Since none of the digits were larger than 9, we can stop as soon as we find
-				// one that is not larger than 9 as we resolve the carries working to the left.)
-				int c=p;
-				while (c > 0 && product[c] > 9) {		// Propagate the carries to the left
-					product[c-1] += product[c] / 10;	// Add the carry to the digit to the left
-					product[c--] %= 10;					// Use the unit's value for this digit
-				}
-				
-				// use the next product digit to the left;
-				p--;
-				
-			}
+		byte [] product = new byte[4 * UNumberLimbs.DIGITS];
+		putLimb(product, 4 * UNumberLimbs.DIGITS, p0);
+		putLimb(product, 3 * UNumberLimbs.DIGITS, p1);
+		putLimb(product, 2 * UNumberLimbs.DIGITS, p2);
+		putLimb(product, UNumberLimbs.DIGITS, p3);
+		int first = 0;
+		while (product[first] == 0) first++;
+		int count = product.length - first;
+		setRounded(product, first, count, dec + count, sign, size, mode, null);
+	}
+	
+	/**
+	 * Lay out the nine digits of a limb so that its units digit is just before index end
+	 */
+	private static void putLimb(byte [] digits, int end, long limb){
+		for (int i = end - 1; i >= end - UNumberLimbs.DIGITS; i--) {
+			digits[i] = (byte)(limb % 10);
+			limb /= 10;
 		}
-		
-		// We now have the product, but it may not be normalized.  The first digit of the product 
-		// must not be zero since the product is not zero.  If at this point that leading digit is 
-		// zero, then we must discard that one zero digit and adjust the size and the exponent 
-		// down one.  (There can be at most one zero digit given the multiplicand and the multiplier 
-		// were both non-zero and normalized.)
-		boolean wasNormalized = false;
-		if (product[0] == 0) {
-			// The product must be normalized and transferred into this object
-			for (int i = 0; i < product.length-1; i++) product[i] = product[i+1];
-			// It is not necessary to set the LSD to zero, because it will not be used... two 
-			// excess digits were set up in the product... one for normalization and one for 
-			// rounding.
-			product[product.length-1] = 0;
-			
-			// Signal that the value was normalized (needed to correct the characteristic)
-			wasNormalized = true;
+	}
+	
+	/**********
+	 * Multiply this value by an integer (this = this * k).  This is the by-hand algorithm with a 
+	 * single digit multiplier, done in one pass from the LSD toward the MSD, so it takes time in 
+	 * proportion to the number of significant digits, and mpy uses it whenever either operand has 
+	 * nine or fewer significant digits.  The product has as many digits as this value, unless 
+	 * the thread's context has a precision (see UNumberContext).
+	 * 
+	 * @param k	The multiplier
+	 */
+	public void mpyInt(int k){
+		mpyInt(k, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * Multiply this value by an integer, with the product rounded to the precision of the 
+	 * context, or to the length of this value if it has none
+	 * 
+	 * @param k		The multiplier
+	 * 
+	 * @param mc	The context
+	 */
+	public void mpyInt(int k, UNumberContext mc){
+		int size = mc.size(d.length);
+		if (k == 0 || d[0] == 0) setZero(size);
+		else mpySmall(d, significantLength(), dP, s == k > 0, Math.abs((long)k), size, 
+				mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * Set this value to the n significant digits D, whose value is D x 10^(dec-n), times the 
+	 * small integer m, rounded to the size.  Every digit is multiplied by the whole of m, and 
+	 * the carry, which is less than m, is passed on to the next digit to the left.
+	 */
+	private void mpySmall(byte [] digits, int n, int dec, boolean sign, long m, int size, 
+			RoundingMode mode){
+		// m has at most ten digits, so the product has at most ten more than D
+		byte [] product = new byte[n + 10];
+		int k = product.length - 1;
+		long carry = 0;
+		for (int i = n - 1; i >= 0; i--) {
+			long t = digits[i] * m + carry;
+			product[k--] = (byte)(t % 10);
+			carry = t / 10;
 		}
-		
-		// Since the product is longer than the result array, we need to discard the excess digits 
-		// and that leads us to wanting to round the result if the digit to the right of the LSD is 
-		// five or larger.
-		boolean roundingCarry=false;
-		if (product[this.d.length] >= 5) {
-			// Since the LSD was a 5 or larger, we must round and propagate the carry to the left.
-			int i = d.length-1;
-			product[i]++;
-			while (i > 0 && product[i] > 9) {
-				product[i-1]++;		// Increase the next digit to the left to compensate for > 9
-				product[i--]-=10;	// Decrease this digit by ten to balance
-			}
-			
-			// If the carry propagates all the way from the LSD to the MSD and we carry off the end, 
-			// all of those intermediate digits must have been "9"s before the rounding and they are 
-			// now zeros.  
-			if (i == 0 && product[0] > 9) {
-				// Set flag so we know we are doing this so we can add one to the characteristic
-				roundingCarry=true;
-				// Set the MSD to 1, since all the rest of them must be zeros
-				product[0] = 1;
-			}
+		while (carry > 0) {
+			product[k--] = (byte)(carry % 10);
+			carry /= 10;
 		}
-
-		// Compute the characteristic (the sum of the two powers of ten)
-		this.dP += that.dP;
-		if (wasNormalized) this.dP--;	// Adjust down if there was a leading zero in the product
-		if (roundingCarry) this.dP++;	// Adjust up if the rounding resulting in a carry off the 
-										// left end
-		
-		// The product must be transferred into this object
-		for (int i = 0; i < this.d.length; i++) this.d[i] = product[i];
-
-		// Compute the sign of the product
-		this.s = this.s == that.s;
+		int count = product.length - 1 - k;
+		setRounded(product, k + 1, count, dec - n + count, sign, size, mode, null);
 	}
-
 	
+	/**
+	 * The first n digits as an integer
+	 */
+	private static long smallValue(byte [] digits, int n){
+		long v = 0;
+		for (int i = 0; i < n; i++) v = v * 10 + digits[i];
+		return v;
+	}
 
 	/**********
-	 * The divide operation implements division by means of repeated subtraction, producing as 
-	 * many significant digits in the quotient as in the dividend (this object) and the quotient 
-	 * replaces the dividend.  This is a faster algorithm than the simpler Div2 below.  This 
-	 * algorithm assumes the numbers are normalized.
+	 * Set the length, in decimal digits, at which div switches from Knuth's Algorithm D to 
+	 * division by a Newton-Raphson reciprocal.  Both the divisor and the quotient must be at 
+	 * least this long.  Either way the quotient digits are exact before div rounds them, so 
+	 * this setting changes how fast div runs, never what it returns.
+	 * 
+	 * @param newtonDigits	Operands at least this long use the reciprocal (default 3600)
+	 */
+	public static void setDivideThreshold(int newtonDigits) {
+		UNumberLimbs.newtonThreshold = 
+				Math.max(2, (newtonDigits + UNumberLimbs.DIGITS - 1) / UNumberLimbs.DIGITS);
+	}
+	
+	/**********
+	 * The divide operation implements long division, producing as many significant digits in 
+	 * the quotient as in the dividend (this object), unless the thread's context has a precision 
+	 * (see UNumberContext), and the quotient replaces the dividend.  Rather than finding each 
+	 * quotient digit by repeated subtraction, the division is done on limbs of nine digits with 
+	 * Knuth's Algorithm D, which estimates each quotient limb directly, or for very long 
+	 * operands by multiplying by a Newton-Raphson reciprocal of the divisor (see 
+	 * setDivideThreshold).  This algorithm assumes the numbers are normalized.
 	 * 
 	 * @param that	The divisor 
 	 */
 	public void div(UNumber that){
-		byte [] dividend = new byte[this.d.length+that.d.length+1];
-		byte [] quotient = new byte[this.d.length+2];
-		byte [] divisor = that.d;
+		div(that, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The divide operation, with the quotient rounded to the precision of the context, or to the 
+	 * length of the dividend if it has none
+	 * 
+	 * @param that	The divisor 
+	 * 
+	 * @param mc	The context
+	 */
+	public void div(UNumber that, UNumberContext mc){
+		div(that, mc.size(d.length), mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * The divide operation, by a divisor that is used over and over.  The quotient is exactly the 
+	 * one div(UNumber) gives, but the divisor's digits are prepared and its reciprocal found only 
+	 * once, in the UNumberDivisor, so each division after the first costs about one 
+	 * multiplication.  The quotient has as many digits as the dividend, unless the thread's 
+	 * context has a precision (see UNumberContext).
+	 * 
+	 * @param that	The divisor 
+	 */
+	public void div(UNumberDivisor that){
+		div(that, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The divide operation by a prepared divisor, with the quotient rounded to the precision of 
+	 * the context, or to the length of the dividend if it has none
+	 * 
+	 * @param that	The divisor 
+	 * 
+	 * @param mc	The context
+	 */
+	public void div(UNumberDivisor that, UNumberContext mc){
+		div(that.divisor, that, mc.size(d.length), mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * The divide shared by the public ones, which rounds the quotient to size digits
+	 */
+	private void div(UNumber that, int size, RoundingMode mode){
+		div(that, null, size, mode);
+	}
+	
+	/**********
+	 * The divide, by way of the prepared divisor's reciprocal if there is one
+	 */
+	private void div(UNumber that, UNumberDivisor prepared, int size, RoundingMode mode){
+		// Check for divide by zero and return close to infinite.  A zero may have no digits at all, 
+		// as new UNumber(0) makes it.
+		if (that.d.length == 0 || that.d[0] == 0) {
+			setDivideByZero(size);
+			return;
+		}
+		if (this.d.length == 0 || this.d[0] == 0) {
+			setZero(size);
+			return;
+		}
 		
-		// Check for divide by zero and return close to infinite
-		if (that.d[0] == 0) {
-			for (int ndx = 0; ndx < this.d.length; ndx++) this.d[ndx] = 9;
-			this.dP = 999999;
-			this.s = true;
+		// A divisor with no more significant digits than fit in one limb is a small integer times 
+		// a power of ten, so the quotient takes a single pass (see divInt)
+		int m = that.significantLength();
+		if (m <= UNumberLimbs.DIGITS) {
+			divSmall(this.d, this.significantLength(), this.dP - that.dP + m, this.s == that.s, 
+					smallValue(that.d, m), size, mode);
 			return;
 		}
+		
+		// Extend the dividend with zeros to the right, one more than the number of significant 
+		// digits of the divisor, after first making it at least as long as the quotient is to be.  
+		// The trailing zeros of the divisor only scale the quotient by a power of ten, which the 
+		// characteristic already accounts for, so they are left out.
+		int n = Math.max(this.significantLength(), size);
+		byte [] dividend = new byte[n + m + 1];
+		byte [] quotient = new byte[n + 2];
+		System.arraycopy(this.d, 0, dividend, 0, Math.min(this.d.length, n));
 
-		// Make working copy of the dividend, which is destroyed during the process
-		for (int i = 0; i < this.d.length; i++) dividend[i] = this.d[i];
-		for (int i = this.d.length; i < dividend.length; i++) dividend[i] = 0;
-
-		// Initialize the quotient to zero, which will replace the dividend at the end of this 
-		// process
-		for (int i = 0; i < quotient.length; i++) quotient[i] = 0;
-
-		// Digit by digit, subtract the divisor from the dividend until a borrow occurs, add it 
-		// back in, shift the divisor right one digit, do it again, until all of the digits in the 
-		// quotient have been filled in.
-		for (int qIndex = 0; qIndex < quotient.length; qIndex++){
-			boolean okToContinue = true;
-			while (okToContinue && quotient[qIndex]<9){
-				boolean borrow = false;
-				for (int i = divisor.length-1; i>=0; i--){ 
-					// If the previous subtraction resulted in a borrow, we must subtract an 
-					// additional 1 from this digit
-					dividend[i+qIndex] = (byte)(dividend[i+qIndex] - divisor[i] - (borrow? 1: 0));
-					if (dividend[i+qIndex]<0){		// If the resulting subtraction is < 0, there 
-													// is a borrow here
-						dividend[i+qIndex] += 10;	// so add 10 to the result.  The result cannot 
-													// be less than -10 (0 - 9 - 1 = -10)
-						borrow = true;		// and set the borrow for the next digit subtraction
-					}
-					else borrow = false;	// If the digit subtraction is >= 0, there is no borrow
-				}
-
-				if (borrow){				// If a borrow is true at the end add back the divisor 
-					if (qIndex > 0 && dividend[qIndex-1]>0) {
-						dividend[qIndex-1]--;
-						quotient[qIndex]++;
-					}
-					else {
-						okToContinue = false;	// Stop the loop
-						boolean carry = false;
-						for (int i = divisor.length-1; i>=0; i--){ 
-							// If the previous addition resulted in a carry, we must add an 
-							// additional 1 to this digit
-							dividend[i+qIndex] = 
-									(byte)(dividend[i+qIndex] + divisor[i] + (carry? 1: 0));
-							if (dividend[i+qIndex]>9){		// If the resulting subtraction is > 9, 
-															// there is a carry here
-								dividend[i+qIndex] -= 10;	// so subtract 10 to the result.  The 
-															// result cannot be greater than 
-															// 19 (9 + 9 + 1 = +19)
-								carry = true;		// and set the carry for the next digit addition
-							}
-							else carry = false;	// If the digit addition is <= 9, there is no carry
-						}
-					}
-				}
-				else quotient[qIndex]++;		// If the subtraction was successful, count it
-			}
+		// The quotient digits are those of the integer dividend (the dividend digits followed by 
+		// as many zeros as the divisor has digits plus one) divided by the integer divisor, 
+		// truncated.  This is the same digit sequence the by-hand algorithm produces by repeated 
+		// subtraction, but it is computed on limbs of nine digits.  The quotient always fits in 
+		// the quotient array, since the normalized divisor is at least one tenth.
+		int [] u = UNumberLimbs.pack(dividend, 0, dividend.length);
+		int [] v = prepared == null ? UNumberLimbs.pack(that.d, 0, m) : prepared.limbs;
+		int [] limbs = prepared == null ? UNumberLimbs.divide(u, v) : prepared.quotient(u);
+		UNumberLimbs.unpack(limbs, quotient, 0, quotient.length);
+		
+		// We now have the quotient, but it may not be normalized.  (There can be at most one zero 
+		// digit given the dividend and the divisor were both non-zero and normalized.)  The 
+		// quotient is rounded to the size.  Only some rounding modes need to know whether the 
+		// division left a remainder, and then only when the digits dropped do not already say, 
+		// so the product that tells is only formed if it is needed.
+		int first = quotient[0] == 0 ? 1 : 0;
+		setRounded(quotient, first, quotient.length - first, this.dP - that.dP + 1 - first, 
+				this.s == that.s, size, mode, 
+				() -> UNumberLimbs.compare(UNumberLimbs.multiply(limbs, v), u) != 0);
+	}
+	
+	/**********
+	 * Divide this value by an integer (this = this / k).  This is the by-hand long division with 
+	 * a single digit divisor, done in one pass from the MSD toward the LSD, so it takes time in 
+	 * proportion to the number of digits in the quotient, and div uses it whenever the divisor 
+	 * has nine or fewer significant digits.  The quotient has as many digits as this value, 
+	 * unless the thread's context has a precision (see UNumberContext).  Dividing by zero gives 
+	 * the same close to infinite value as div.
+	 * 
+	 * @param k	The divisor
+	 */
+	public void divInt(int k){
+		divInt(k, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * Divide this value by an integer, with the quotient rounded to the precision of the 
+	 * context, or to the length of this value if it has none
+	 * 
+	 * @param k		The divisor
+	 * 
+	 * @param mc	The context
+	 */
+	public void divInt(int k, UNumberContext mc){
+		int size = mc.size(d.length);
+		if (k == 0) setDivideByZero(size);
+		else if (d[0] == 0) setZero(size);
+		else divSmall(d, significantLength(), dP, s == k > 0, Math.abs((long)k), size, 
+				mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * Set this value to the n significant digits D, whose value is 0.D x 10^dec, divided by the 
+	 * integer m, which is at most 2^31, rounded to the size.  The digits of D, and then zeros, 
+	 * are brought down nine at a time, and each group gives nine quotient digits and a remainder 
+	 * less than m, so a 2^31 x 10^9 long always holds the partial dividend.  Only the quotient 
+	 * digits that are needed for the rounding are produced.
+	 */
+	private void divSmall(byte [] digits, int n, int dec, boolean sign, long m, int size, 
+			RoundingMode mode){
+		// m has at most ten digits, so the first quotient digit that is not zero comes by the 
+		// time eleven digits of D have been brought down, and the size plus one after it are 
+		// needed for the rounding
+		int groups = (size + 1 + 10 + UNumberLimbs.DIGITS - 1) / UNumberLimbs.DIGITS;
+		byte [] quotient = new byte[groups * UNumberLimbs.DIGITS];
+		long remainder = 0;
+		for (int j = 0; j < quotient.length; j += UNumberLimbs.DIGITS) {
+			long t = remainder * UNumberLimbs.BASE + group(digits, j, n);
+			long q = t / m;
+			remainder = t - q * m;
+			putLimb(quotient, j + UNumberLimbs.DIGITS, q);
+		}
+		int lead = 0;
+		while (quotient[lead] == 0) lead++;
+		
+		// The quotient goes on past these digits if there is a remainder, or if digits of D are 
+		// yet to be brought down.  This is found before this value, which may be D, is replaced.
+		boolean inexact = remainder != 0 || isInexact(digits, quotient.length, n, null);
+		setRounded(quotient, lead, quotient.length - lead, dec - lead, sign, size, mode, 
+				() -> inexact);
+	}
+	
+	/**
+	 * The nine digits from index j as an integer, with zeros past the first n digits
+	 */
+	private static long group(byte [] digits, int j, int n){
+		long v = 0;
+		for (int i = j; i < j + UNumberLimbs.DIGITS; i++) v = v * 10 + (i < n ? digits[i] : 0);
+		return v;
+	}
+	
+	/**********
+	 * Set this value to the close to infinite result of a divide by zero, all nines with a 
+	 * characteristic of 999999
+	 */
+	private void setDivideByZero(int size){
+		if (d.length != size) d = new byte[size];
+		java.util.Arrays.fill(d, (byte)9);
+		dP = 999999;
+		s = true;
+	}
+	
+	/**********
+	 * The square root operation replaces this value with its square root, with as many 
+	 * significant digits as this value has, unless the thread's context has a precision (see 
+	 * UNumberContext).
+	 */
+	public void sqrt(){
+		sqrt(UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The square root operation, with the root rounded to the precision of the context, or to 
+	 * the length of this value if it has none
+	 * 
+	 * @param mc	The context
+	 */
+	public void sqrt(UNumberContext mc){
+		sqrt(mc.size(d.length), mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * The square root operation replaces this value with its square root, rounded half up to 
+	 * the specified number of significant digits, whatever the thread's context.
+	 * 
+	 * @param size	The number of significant digits in the result
+	 */
+	public void sqrt(int size){
+		sqrt(size, RoundingMode.HALF_UP);
+	}
+	
+	/**********
+	 * The square root operation replaces this value with its square root, rounded to the 
+	 * specified number of significant digits.  If the most significant digit dropped is 5 or 
+	 * greater, the result is rounded up, just as mpy and div round, unless the rounding mode 
+	 * says otherwise.
+	 * 
+	 * The characteristic is first made even, which may put a zero in front of the mantissa, so 
+	 * the value is f x 10^(2k) with 0.01 <= f < 1 and the result is sqrt(f) x 10^k.  The square 
+	 * root of f comes from Newton's method for the reciprocal square root, y = y + y(1 - f y^2)/2, 
+	 * which needs only multiplications.  A double gives the first 14 digits, and since each step 
+	 * doubles the number of correct digits, each step is done with twice the digits of the one 
+	 * before, so all of the steps together cost about as much as two of the last one.  Then sqrt(f) is 
+	 * f y.  That is correct to within a unit or two in the last place, so it is made exactly 
+	 * right, digits one past the size included, by squaring it and comparing with f.  
+	 * 
+	 * @param size	The number of significant digits in the result
+	 * 
+	 * @param mode	How the digits that are dropped are rounded
+	 */
+	private void sqrt(int size, RoundingMode mode){
+		// The square root of zero is zero
+		if (d.length == 0 || d[0] == 0) {
+			setZero(size);
+			return;
 		}
+		if (!s) throw new ArithmeticException("The square root of a negative value");
 		
-		this.dP = this.dP - that.dP + 1;
-		this.s = this.s == that.s;
+		// f, as 2t digits where t has one more digit than the result for the rounding
+		int t = size + 1;
+		boolean odd = dP % 2 != 0;
+		byte [] f = new byte[2 * t];
+		System.arraycopy(d, 0, f, odd ? 1 : 0, Math.min(d.length, f.length - (odd ? 1 : 0)));
+		int resultDP = (odd ? dP + 1 : dP) / 2;
+		UNumber fraction = new UNumber(java.util.Arrays.copyOfRange(f, odd ? 1 : 0, f.length), 
+				odd ? -1 : 0, true);		// f, normalized
 		
-		// We now have the quotient, but it may not be normalized.  The first digit of the product 
-		// must not be zero since the quotient is not zero.  If at this point that leading digit is 
-		// zero, then we must discard that one zero digit and adjust the size and the exponent down 
-		// one.  (There can be at most one zero digit given the multiplicand and the multiplier 
-		// were both non-zero and normalized.)
-		boolean wasNormalized = false;
-		if (quotient[0] == 0) {
-			// The product must be normalized and transferred into this object
-			for (int i = 0; i < quotient.length-1; i++) quotient[i] = quotient[i+1];
-			quotient[quotient.length-1] = 0;
-			// signal that the value was normalized (needed to correct the characteristic)
-			wasNormalized = true;
+		// Newton's method for y = 1/sqrt(f), starting from the double value
+		int target = t + SQRT_GUARD_DIGITS;
+		UNumber y = new UNumber(1 / Math.sqrt(new UNumber(fraction, 17).getDouble()), 17);
+		UNumber one = new UNumber(1);
+		UNumber half = new UNumber("5", 0, true);
+		int correct = 14;				// The digits of y that are surely correct
+		while (correct < target) {
+			// Each step doubles the correct digits, less a digit or two of rounding
+			int p = Math.min(2 * correct, target + 2);
+			y = new UNumber(y, p);
+			UNumber e = new UNumber(y);
+			e.mpy(e, p, RoundingMode.HALF_UP);				// y^2, a square
+			e.mpy(new UNumber(fraction, p), p, RoundingMode.HALF_UP);	// f y^2, close to one
+			e.add(one, true);
+			e.mpy(y, e.d.length, RoundingMode.HALF_UP);
+			e.mpy(half, e.d.length, RoundingMode.HALF_UP);	// (f y^2 - 1) y / 2
+			y.add(e, true);
+			correct = Math.min(2 * correct - 1, p - 2);
 		}
 		
-		// Since the quotient is longer than the result array, we need to discard the excess 
-		// digits and that leads us to wanting to round the result if the digit to the right of 
-		// the LSD is five or larger.
-		boolean roundingCarry=false;
-		if (quotient[this.d.length] >= 5) {
-			// Since the LSD was a 5 or larger, we must round and propagate the carry to the left.
-			int i = d.length-1;
-			quotient[i]++;
-			while (i > 0 && quotient[i] > 9) {
-				quotient[i-1]++;		// Increase the next digit to the left to compensate for > 9
-				quotient[i--]-=10;		// Decrease this digit by ten to balance
-			}
-			
-			// If the carry propagates all the way from the LSD to the MSD and we carry off the 
-			// end, all of those intermediate digits must have been "9"s before the rounding and 
-			// they are now zeros.  
-			if (i == 0 && quotient[0] > 9) {
-				// Set flag so we know we are doing this so we can add one to the characteristic
-				roundingCarry=true;
-				// Set the MSD to 1, since all the rest of them must be zeros
-				quotient[0] = 1;
-			}
+		// sqrt(f) = f y, as the integer floor(sqrt(f) x 10^t), which has t digits
+		UNumber root = new UNumber(fraction, target);
+		root.mpy(y, target, RoundingMode.HALF_UP);
+		byte [] digits = new byte[t];
+		for (int i = 0; i < t; i++) {
+			int j = i - root.dP;		// The digit of root that has the place value of digit i
+			digits[i] = j >= 0 && j < root.d.length ? root.d[j] : 0;
 		}
-
-		// Compute the characteristic (the sum of the two powers of ten)
-		if (wasNormalized) this.dP--;	// Adjust down if there was a leading zero in the quotient
-		if (roundingCarry) this.dP++;	// Adjust up if the rounding resulting in a carry off the 
-										//left end
+		int [] n = UNumberLimbs.pack(f, 0, f.length);
+		int [] exact = UNumberLimbs.correctSquareRoot(n, UNumberLimbs.pack(digits, 0, t));
+		UNumberLimbs.unpack(exact, digits, 0, t);
 		
-		// The quotient must be transferred into this object
-		for (int i = 0; i < this.d.length; i++) this.d[i] = quotient[i];
+		// The root goes on past these digits if digits of this value did not fit in f, or if the 
+		// square of the root falls short of f
+		boolean truncated = isInexact(d, f.length - (odd ? 1 : 0), d.length, null);
+		setRounded(digits, 0, t, resultDP, true, size, mode, () -> truncated || 
+				UNumberLimbs.compare(UNumberLimbs.multiply(exact, exact), n) != 0);
 	}
 	
 	/**********
-	 * This lessThan routine tries to avoid doing a subtraction in order to do things faster.  
-	 * Therefore checks of sign bits, then the decimal points, and then the first digits are done 
-	 * before falling into a subtract as a last resort.  If one value is negative and the other is 
-	 * positive, there is no need to go any further.  If they are of the same size, but the 
-	 * characteristics of the normalized values are not the same, there is no need to go any further.  
-	 * Given the same size and the same characteristic for normalized numbers, if the first digit can 
-	 * resolve the issue, try that.  Only in the case where the signs, characteristics, *and* the 
-	 * first digits are the same do we resort to subtraction and a check of the sign bit.
+	 * Scale this value by a power of ten.  Since the value is held as a decimal mantissa and a 
+	 * power of ten, this only changes the characteristic, and no digits are touched.  A 
+	 * characteristic that would not fit in an int throws an ArithmeticException, and the value is 
+	 * not changed.
+	 * 
+	 * @param k	The power of ten, which may be negative
+	 */
+	public void scaleByPowerOfTen(int k){
+		if (d.length == 0 || d[0] == 0) return;		// Zero stays zero
+		dP = characteristic((long)dP + k);
+	}
+	
+	/**********
+	 * A characteristic computed in a long, once it is checked to fit in an int
+	 */
+	private static int characteristic(long dec){
+		if (dec < Integer.MIN_VALUE || dec > Integer.MAX_VALUE)
+			throw new ArithmeticException("The characteristic " + dec + " is out of range");
+		return (int)dec;
+	}
+	
+	/**********
+	 * The power operation replaces this value with this value raised to an integer power, with 
+	 * as many significant digits as this value has, unless the thread's context has a precision 
+	 * (see UNumberContext).  The power is computed exactly by repeated squaring of the mantissa, 
+	 * so x^13 takes five multiplications instead of twelve, and the exact result is rounded 
+	 * once, at the end, where a chain of mpy calls would round at every step.  A negative power 
+	 * is the reciprocal of the exact positive power, so it is rounded once, by div.  A result 
+	 * whose characteristic does not fit in an int throws an ArithmeticException.
+	 * 
+	 * @param k	The power, which may be negative
+	 */
+	public void pow(int k){
+		pow(k, UNumberContext.getThreadContext());
+	}
+	
+	/**********
+	 * The power operation, with the result rounded to the precision of the context, or to the 
+	 * length of this value if it has none
+	 * 
+	 * @param k		The power, which may be negative
+	 * 
+	 * @param mc	The context
+	 */
+	public void pow(int k, UNumberContext mc){
+		pow(k, mc.size(d.length), mc.getRoundingMode());
+		checkExponent(mc);
+	}
+	
+	/**********
+	 * The power shared by the public ones, which rounds the result to size digits
+	 */
+	private void pow(int k, int size, RoundingMode mode){
+		boolean isZero = d.length == 0 || d[0] == 0;
+		size = Math.max(size, 1);					// A zero of new UNumber(0) has no digits
+		if (isZero && k > 0) {						// Zero to a positive power is zero
+			setZero(size);
+			return;
+		}
+		if (k == 0 || isZero) {
+			// Anything to the power zero is one (0^0 is taken to be one), and zero to a negative 
+			// power is one divided by zero
+			UNumber zero = new UNumber(this);
+			setZero(size);
+			d[0] = 1;
+			dP = 1;
+			if (k < 0) div(zero, size, mode);
+			return;
+		}
+		
+		// The exact power of the mantissa, read as an integer, by repeated squaring
+		long n = Math.abs((long)k);
+		int length = significantLength();
+		int [] base = UNumberLimbs.pack(d, 0, length);
+		int [] power = {1};
+		while (true) {
+			if ((n & 1) != 0) power = trim(UNumberLimbs.multiply(power, base));
+			n >>= 1;
+			if (n == 0) break;
+			base = trim(UNumberLimbs.multiply(base, base));
+		}
+		int numLimbs = UNumberLimbs.significantLength(power);
+		byte [] digits = new byte[numLimbs * UNumberLimbs.DIGITS];
+		UNumberLimbs.unpack(java.util.Arrays.copyOf(power, numLimbs), digits, 0, digits.length);
+		int first = 0;
+		while (digits[first] == 0) first++;
+		
+		// The integer of the significant digits is this value times 10^(length-dP), so the power 
+		// has the characteristic of its own digits plus k(dP-length)
+		int exponent = characteristic((long)(digits.length - first) + 
+				Math.abs((long)k) * (dP - length));
+		boolean sign = s || (k & 1) == 0;
+		if (k > 0) {
+			setRounded(digits, first, digits.length - first, exponent, sign, size, mode, null);
+			return;
+		}
+		
+		// A negative power is one divided by the exact positive power
+		UNumber exact = new UNumber(java.util.Arrays.copyOfRange(digits, first, digits.length), 
+				exponent, sign);
+		setZero(size);
+		d[0] = 1;
+		dP = 1;
+		div(exact, size, mode);
+	}
+	
+	/**********
+	 * The limbs without their leading zero limbs, so a square of them is no longer than it needs
+	 * to be
+	 */
+	private static int [] trim(int[] limbs){
+		int n = UNumberLimbs.significantLength(limbs);
+		return n == limbs.length ? limbs : java.util.Arrays.copyOf(limbs, n);
+	}
+	
+	/**********
+	 * Set this value to a standard zero of the given size
+	 */
+	private void setZero(int size){
+		if (d == null || d.length != size) d = new byte[size];
+		else java.util.Arrays.fill(d, (byte)0);
+		dP = 0;
+		s = true;
+	}
+	
+	/**********
+	 * Set this value to digits[from] through digits[from+count-1], with the given characteristic 
+	 * and sign, rounded half up to the size (see below).
+	 */
+	private void setRounded(byte [] digits, int from, int count, int dec, boolean sign, int size){
+		setRounded(digits, from, count, dec, sign, size, RoundingMode.HALF_UP, null);
+	}
+	
+	/**********
+	 * Set this value to digits[from] through digits[from+count-1], with the given characteristic 
+	 * and sign, rounded to the size by the rounding mode.  Should the rounding carry all the way 
+	 * off the left end, the result becomes a one followed by zeros and the characteristic goes 
+	 * up by one.  The mantissa array is reused when it is already the right size.  This is also 
+	 * how UNumberAccumulator rounds its sum.
+	 * 
+	 * @param remainder	Says whether the value goes on past the last of the digits, for results 
+	 * 					that are not exact, such as a quotient, or null if the digits are exact.  It 
+	 * 					is only asked when the rounding mode and the digits dropped need it.
+	 */
+	void setRounded(byte [] digits, int from, int count, int dec, boolean sign, int size, 
+			RoundingMode mode, BooleanSupplier remainder){
+		byte [] r = d != null && d.length == size ? d : new byte[size];
+		int kept = Math.min(size, count);
+		System.arraycopy(digits, from, r, 0, kept);
+		java.util.Arrays.fill(r, kept, size, (byte)0);
+		d = r;
+		dP = dec;
+		s = sign;
+		
+		// The first digit dropped decides most of the rounding modes by itself
+		int dropped = count > size ? digits[from + size] : 0;
+		boolean up;
+		switch (mode) {
+		case HALF_UP:		up = dropped >= 5; break;
+		case HALF_DOWN:		up = dropped > 5 || dropped == 5 && 
+									isInexact(digits, from + size + 1, from + count, remainder); 
+							break;
+		case HALF_EVEN:		up = dropped > 5 || dropped == 5 && ((d[size - 1] & 1) != 0 || 
+									isInexact(digits, from + size + 1, from + count, remainder)); 
+							break;
+		case UP:			up = dropped != 0 || isInexact(digits, from + size + 1, from + count, 
+									remainder); 
+							break;
+		case CEILING:		up = sign && (dropped != 0 || isInexact(digits, from + size + 1, 
+									from + count, remainder)); 
+							break;
+		case FLOOR:			up = !sign && (dropped != 0 || isInexact(digits, from + size + 1, 
+									from + count, remainder)); 
+							break;
+		case UNNECESSARY:	if (dropped != 0 || isInexact(digits, from + size + 1, from + count, 
+									remainder)) 
+								throw new ArithmeticException("Rounding necessary");
+							up = false;
+							break;
+		default:			up = false;			// DOWN
+		}
+		if (!up) return;
+		
+		int i = size - 1;
+		d[i]++;
+		while (i > 0 && d[i] > 9) {
+			d[i-1]++;		// Increase the next digit to the left to compensate for > 9
+			d[i--] -= 10;	// Decrease this digit by ten to balance
+		}
+		if (d[0] > 9) {		// A carry off the left end
+			d[0] = 1;
+			dP++;
+		}
+	}
+	
+	/**
+	 * Are any of digits[from] through digits[to-1] not zero, or does the value go on past them?
+	 */
+	private static boolean isInexact(byte [] digits, int from, int to, BooleanSupplier remainder){
+		for (int i = from; i < to; i++) if (digits[i] != 0) return true;
+		return remainder != null && remainder.getAsBoolean();
+	}
+	
+	/**********
+	 * Check that the characteristic of a result is within the range of the context
+	 * 
+	 * @param mc	The context
+	 */
+	void checkExponent(UNumberContext mc){
+		if (d.length > 0 && d[0] != 0 && Math.abs((long)dP) > mc.getMaxExponent())
+			throw new ArithmeticException("The characteristic " + dP + 
+					" is out of the range of the context");
+	}
+	
+	/**********
+	 * This lessThan routine compares the two values without doing a subtraction.  The sign bits, 
+	 * then the characteristics, and then the digits of the mantissas are checked, and the first 
+	 * one that differs decides the answer (see compare).
 	 * 
 	 * @param that	The right operand in the "this lessThan that" relational test
 	 * 
 	 * @return boolean true if this is indeed less than that
 	 */
 	public boolean lessThan(UNumber that){
-		if (this.s)
-			if (that.s) {
-				// Both operands are positive
-				if (this.dP > that.dP)								// Not Less than if this has a larger
-					return false;									// characteristic
-				else if (this.dP < that.dP) 						// Less than if this has a smaller
-					return true;									// characteristic
-				else 
-					// Both operands have the same magnitude
-					if (this.d[0] < that.d[0]) 						// If the first digit of this is less
-						return true;								// than that, it is less than
-					else if (this.d[0] > that.d[0]) 				// If the first digit of this is greater
-						return false;								// than that, it is not less than
-					else {
-						// same sign, magnitude, and first significant digit
-						UNumber temp = new UNumber(this);			// We will have to use subtraction
-						temp.sub(that);								// to see which is less than
-						if (temp.s) return false;					// If positive, this is not less than
-						return true;
-					}				
-			}
-			else {
-				// The left is positive and the right is negative, so this is not less than
-				return false;
-			}
-		else
-			if (that.s) {
-				// The left is negative and the right is positive, so this is less than
-				return true;
-			}
-			else {
-				// Both operands are negative
-				if (this.dP > that.dP) 								// Less than if this has a greater
-					return true;									// characteristic
-				else if (this.dP < that.dP)							// Not less than if this does not have a 
-					return false;									// greater characteristic
-				else 
-					// Both operands have the same magnitude
-					if (this.d[0] < that.d[0]) 						// If the first digit of this is less than
-						return false;								// that, it is not less than (negative!)
-					else if (this.d[0] > that.d[0])					// If the first digit of this is greater 
-						return true;								// than that, it is less than
-					else {
-						// same sign, magnitude, and first significant digit
-						UNumber temp = new UNumber(this);			// We will have to use subtraction
-						temp.sub(that);								// to see which is greater
-						if (temp.s) return true;					// If positive, is it less than
-						return false;
-					}				
-			}
+		return compare(that) < 0;
 	}
 
 	/**********
-	 * This greaterThan routine tries to avoid doing a subtraction in order to do things faster.  
-	 * This code follows the same process as the less than code above
+	 * This greaterThan routine compares the two values without doing a subtraction.  This code 
+	 * follows the same process as the less than code above
 	 * 
 	 * @param that	The right operand in the "this greater than that" relational test
 	 * 
 	 * @return boolean true if this is indeed greater than that
 	 */
 	public boolean greaterThan(UNumber that){
-		if (this.s)
-			if (that.s) {
-				// Both operands are positive
-				if (this.dP > that.dP) 								// Greater if this has a larger 
-					return true;									// characteristic
-				else if (this.dP < that.dP) 						// Not greater if this has a smaller
-					return false;									// characteristic
-				else 
-					// Both operands have the same magnitude
-					if (this.d[0] < that.d[0]) 						// If the first digit of this is less
-						return false;								// than that, it is not greater
-					else if (this.d[0] > that.d[0])					// If the first digit of this is greater
-						return true;								// than that, it is greater
-					else {
-						// same sign, magnitude, and first significant digit
-						UNumber temp = new UNumber(this);			// We will have to use subtraction
-						temp.sub(that);								// to see which is greater
-						if (temp.s) return true;					// If positive, this is greater
-						return false;
-					}				
-			}
-			else {
-				// The left is positive and the right is negative, so this is greater
-				return true;
-			}
-		else
-			if (that.s) {
-				// The left is negative and the right is positive, so this is not greater
-				return false;
-			}
-			else {
-				// Both operands are negative
-				if (this.dP > that.dP) 								// Not greater if this has a greater
-					return false;									// characteristic
-				else if (this.dP < that.dP) 						// Greater if this does not have a
-					return true;									// greater characteristic
-				else 
-					// Both operands have the same magnitude
-					if (this.d[0] < that.d[0]) 						// If the first digit of this is less
-						return true;								// than that, it is greater (negative!)
-					else if (this.d[0] > that.d[0]) 				// If the first digit of this is greater
-						return false;								// than that, it is not greater
-					else {
-						// same sign, magnitude, and first significant digit
-						UNumber temp = new UNumber(this);			// We will have to use subtraction
-						temp.sub(that);								// to see which is greater
-						if (temp.s) return false;					// If positive, it is not greater
-						return true;
-					}				
-			}
+		return compare(that) > 0;
+	}
+	
+	/**********
+	 * This is the comparison shared by lessThan, greaterThan, and compareTo.  It never allocates 
+	 * and never does arithmetic.  If either value is zero, the sign of the other decides.  If one 
+	 * value is negative and the other is positive, there is no need to go any further.  If the 
+	 * characteristics of the normalized values are not the same, the one with the larger 
+	 * characteristic has the larger magnitude.  Only if the signs and characteristics are the 
+	 * same do we compare the mantissas, digit by digit from the MSD (see compareDigits).  For 
+	 * negative values, the larger magnitude is the smaller value.
+	 * 
+	 * @param that	The right operand
+	 * 
+	 * @return -1, 0, or 1 as this is less than, equal to, or greater than that
+	 */
+	private int compare(UNumber that){
+		// A zero can have any characteristic, so it must be checked for first
+		boolean thisIsZero = this.d.length == 0 || this.d[0] == 0;
+		boolean thatIsZero = that.d.length == 0 || that.d[0] == 0;
+		if (thisIsZero || thatIsZero) {
+			if (thisIsZero && thatIsZero) return 0;
+			if (thisIsZero) return that.s ? -1 : 1;
+			return this.s ? 1 : -1;
+		}
+		
+		// Compare the signs of the operands
+		if (this.s != that.s) return this.s ? 1 : -1;
+		
+		// The signs are the same, so compare the magnitudes
+		int magnitude;
+		if (this.dP != that.dP) magnitude = this.dP > that.dP ? 1 : -1;
+		else magnitude = compareDigits(that);
+		return this.s ? magnitude : -magnitude;
+	}
+	
+	/**********
+	 * Compare the mantissas digit by digit from the MSD.  The mantissas may be of different 
+	 * lengths, so once the shorter one runs out its missing digits count as zeros.  This means 
+	 * trailing zeros never change the outcome.
+	 * 
+	 * @param that	The right operand
+	 * 
+	 * @return -1, 0, or 1 as the mantissa of this is less than, equal to, or greater than that of 
+	 * 		that
+	 */
+	private int compareDigits(UNumber that){
+		int common = Math.min(this.d.length, that.d.length);
+		for (int i = 0; i < common; i++)
+			if (this.d[i] != that.d[i]) return this.d[i] > that.d[i] ? 1 : -1;
+		
+		// All of the common digits match, so any non-zero digit in the longer one decides
+		for (int i = common; i < this.d.length; i++)
+			if (this.d[i] != 0) return 1;
+		for (int i = common; i < that.d.length; i++)
+			if (that.d[i] != 0) return -1;
+		return 0;
 	}
 	
 	/**********
@@ -1282,87 +1900,16 @@ public class UNumber implements Comparable<UNumber> {
 	 * This method is used for the absolute.
 	 */
 	public UNumber abs1(UNumber measuredValue) {
-		String s = measuredValue + "";
-		int x = -1;
-		UNumber xy = new UNumber(x);
-		if(s.substring(0,1).equals("-")) {
-			measuredValue.mpy(xy);
-			return measuredValue;
-		}
+		measuredValue.s = true;
 		return measuredValue;
 	}
 	/**********
-	 * This compareTo routine satisfies the "Comparable" interface
+	 * This compareTo routine satisfies the "Comparable" interface.  Values that are equal, even 
+	 * if their mantissas are of different lengths, compare as zero, so it is consistent with 
+	 * sorting and binary searching.
 	 */
 	public int compareTo(UNumber that) {
-		/* The following is the implementation via subtraction.  We believe it is slower than what
-		 * we have provided below
-			UNumber result = new UNumber(this);
-			result.sub(that);
-			if (result.s) return 1;
-			result = new UNumber(that);
-			result.sub(this);
-			if (result.s) return -1;
-			else return 0;
-		*/
-		
-		// Compare the signs of the operands
-		if (this.s)
-			if (that.s) {
-				// Both operands are positive
-				if (this.dP > that.dP) 								// Greater if this has a larger 
-					return 1;										// characteristic
-				else if (this.dP < that.dP) 						// Not greater if this has a smaller
-					return -1;										// characteristic
-				else 
-					// Both operands have the same magnitude
-					if (this.d[0] < that.d[0]) 						// If the first digit of this is less
-						return -1;									// than that, it is not greater
-					else if (this.d[0] > that.d[0])					// If the first digit of this is greater
-						return 1;									// than that, it is greater
-					else {
-						// same sign, magnitude, and first significant digit
-						UNumber temp = new UNumber(this);			// We will have to use subtraction
-						temp.sub(that);								// to see which is greater
-						if (temp.s) return 1;						// If positive, this is greater
-						temp = new UNumber(that);
-						temp.sub(this);
-						if (temp.s) return -1;						// If positive, that is greater
-						return 0;
-					}				
-			}
-			else {
-				// The left is positive and the right is negative, so this is greater
-				return 1;
-			}
-		else
-			if (that.s) {
-				// The left is negative and the right is positive, so this is not greater
-				return -1;
-			}
-			else {
-				// Both operands are negative
-				if (this.dP > that.dP) 								// Not greater if this has a greater
-					return -1;										// characteristic
-				else if (this.dP < that.dP) 						// Greater if this does not have a
-					return 1;										// greater characteristic
-				else 
-					// Both operands have the same magnitude
-					if (this.d[0] < that.d[0]) 						// If the first digit of this is less
-						return 1;									// than that, it is greater (negative!)
-					else if (this.d[0] > that.d[0]) 				// If the first digit of this is greater
-						return -1;									// than that, it is not greater
-					else {
-						// same sign, magnitude, and first significant digit
-						UNumber temp = new UNumber(this);			// We will have to use subtraction
-						temp.sub(that);								// to see which is greater
-						if (temp.s) return 1;						// If positive, this is greater
-						temp = new UNumber(that);
-						temp.sub(this);
-						if (temp.s) return -1;						// If positive, that is greater
-						return 0;
-					}				
-			}
+		return compare(that);
 	}
 
 	/**********
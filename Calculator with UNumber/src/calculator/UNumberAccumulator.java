@@ -0,0 +1,204 @@
+package calculator;
+
+/**
+ * <p> Title: UNumberAccumulator Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: A running sum of UNumber values and products of UNumber values that is kept
+ * 		exactly.  Each UNumber mpy and add rounds its result, so a long sum of products, such as
+ * 		a dot product, an error propagation, or a polynomial, collects one rounding error per
+ * 		step.  The accumulator keeps the exact, unnormalized sum and rounds only once, when the
+ * 		result is taken out as a UNumber. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.02	The sum is rounded by a UNumberContext
+ * 
+ * @version 1.01	Only the significant digits of each term are packed
+ * 
+ * @version 1.00	Exact sums of values and products with a single final rounding
+ *
+ */
+public class UNumberAccumulator {
+
+	/**
+	 * The sum is held as a signed integer times a power of ten.  A UNumber with the n digit
+	 * mantissa D and characteristic dP has the value D x 10^(dP-n), and the product of two of
+	 * them is the product of the two integers times the product of the two powers of ten, so
+	 * every term can be added in exactly once the powers of ten are lined up.
+	 */
+	private int [] magnitude = new int[1];	// The integer, as limbs (see UNumberLimbs)
+	private int exponent = 0;				// The power of ten of the integer's units digit
+	private boolean negative = false;		// The sign of the sum
+
+	/**********
+	 * This default constructor sets up a sum of zero
+	 */
+	public UNumberAccumulator() {
+	}
+
+	/**********
+	 * Set the sum back to zero so the accumulator can be used again
+	 */
+	public void clear() {
+		java.util.Arrays.fill(magnitude, 0);
+		exponent = 0;
+		negative = false;
+	}
+
+	/**********
+	 * Add a value to the sum (sum = sum + x)
+	 *
+	 * @param x	The value to add, which is not changed
+	 */
+	public void add(UNumber x) {
+		int n = x.significantLength();
+		accumulate(UNumberLimbs.pack(x.d, 0, n), x.dP - n, !x.s);
+	}
+
+	/**********
+	 * Subtract a value from the sum (sum = sum - x)
+	 *
+	 * @param x	The value to subtract, which is not changed
+	 */
+	public void sub(UNumber x) {
+		int n = x.significantLength();
+		accumulate(UNumberLimbs.pack(x.d, 0, n), x.dP - n, x.s);
+	}
+
+	/**********
+	 * Add the exact product of two values to the sum (sum = sum + a * b)  Unlike mpy, the
+	 * product is not rounded to the length of a.
+	 *
+	 * @param a	The multiplicand, which is not changed
+	 * @param b	The multiplier, which is not changed
+	 */
+	public void addProduct(UNumber a, UNumber b) {
+		accumulate(product(a, b), a.dP - a.significantLength() + b.dP - b.significantLength(), 
+				a.s != b.s);
+	}
+
+	/**********
+	 * Subtract the exact product of two values from the sum (sum = sum - a * b)
+	 *
+	 * @param a	The multiplicand, which is not changed
+	 * @param b	The multiplier, which is not changed
+	 */
+	public void subProduct(UNumber a, UNumber b) {
+		accumulate(product(a, b), a.dP - a.significantLength() + b.dP - b.significantLength(), 
+				a.s == b.s);
+	}
+
+	/**
+	 * The exact product of the significant digits of the two mantissas, read as integers
+	 */
+	private static int[] product(UNumber a, UNumber b) {
+		return UNumberLimbs.multiply(UNumberLimbs.pack(a.d, 0, a.significantLength()),
+				UNumberLimbs.pack(b.d, 0, b.significantLength()));
+	}
+
+	/**********
+	 * Add the signed term (term x 10^termExponent) into the sum.  The operand with the larger
+	 * power of ten is scaled up so both have the same power, and then the magnitudes are added
+	 * or subtracted just as add does it by hand.
+	 */
+	private void accumulate(int[] term, int termExponent, boolean termNegative) {
+		if (UNumberLimbs.significantLength(term) == 0) return;		// Adding zero does nothing
+		if (UNumberLimbs.significantLength(magnitude) == 0) {
+			magnitude = term;
+			exponent = termExponent;
+			negative = termNegative;
+			return;
+		}
+
+		// Line up the powers of ten
+		if (termExponent > exponent)
+			term = UNumberLimbs.scaleByPowerOfTen(term, termExponent - exponent);
+		else if (termExponent < exponent) {
+			magnitude = UNumberLimbs.scaleByPowerOfTen(magnitude, exponent - termExponent);
+			exponent = termExponent;
+		}
+
+		if (negative == termNegative) {
+			// The signs are the same, so add the magnitudes, making room for a carry if needed
+			int size = Math.max(UNumberLimbs.significantLength(magnitude),
+					UNumberLimbs.significantLength(term)) + 1;
+			if (magnitude.length < size) magnitude = java.util.Arrays.copyOf(magnitude, size);
+			UNumberLimbs.addInto(magnitude, term, 0);
+		}
+		else if (UNumberLimbs.compare(magnitude, term) >= 0)
+			// The signs differ and the sum is the larger, so it keeps its sign
+			UNumberLimbs.subtractFrom(magnitude, term);
+		else {
+			// The signs differ and the term is the larger, so the sum takes the term's sign
+			int [] difference = java.util.Arrays.copyOf(term, term.length);
+			UNumberLimbs.subtractFrom(difference, magnitude);
+			magnitude = difference;
+			negative = termNegative;
+		}
+	}
+
+	/**********
+	 * The sum as a UNumber, rounded by the thread's context (see UNumberContext).  With the
+	 * default context, this is the exact sum, with as many digits as it takes to hold it.
+	 *
+	 * @return the sum
+	 */
+	public UNumber toUNumber() {
+		return toUNumber(UNumberContext.getThreadContext());
+	}
+
+	/**********
+	 * The sum as a UNumber, rounded to the precision of the context by its rounding mode.  With
+	 * no precision, this is the exact sum, with as many digits as it takes to hold it.
+	 *
+	 * @param mc	The context
+	 *
+	 * @return the sum
+	 * @throws ArithmeticException if the characteristic of the sum is out of the context's range
+	 */
+	public UNumber toUNumber(UNumberContext mc) {
+		return toUNumber(mc.getPrecision(), mc);
+	}
+
+	/**********
+	 * The sum as a UNumber with the specified number of significant digits, rounded by the
+	 * rounding mode of the thread's context, which rounds half up unless one has been set.
+	 *
+	 * @param size	The number of significant digits in the result.  Zero or less means all of
+	 * 				the digits in the exact sum.
+	 *
+	 * @return the sum
+	 * @throws ArithmeticException if the characteristic of the sum is out of the context's range
+	 */
+	public UNumber toUNumber(int size) {
+		return toUNumber(size, UNumberContext.getThreadContext());
+	}
+
+	/**
+	 * The sum rounded to size digits, or all of them if size is zero or less.  This is the only
+	 * place the sum is rounded, and it is rounded just as the result of an operation is (see
+	 * UNumber.setRounded).
+	 */
+	private UNumber toUNumber(int size, UNumberContext mc) {
+		// Lay out all of the digits of the exact sum and find the first one that is not zero
+		int numLimbs = UNumberLimbs.significantLength(magnitude);
+		byte [] digits = new byte[numLimbs * UNumberLimbs.DIGITS];
+		UNumberLimbs.unpack(java.util.Arrays.copyOf(magnitude, numLimbs), digits, 0, digits.length);
+		int first = 0;
+		while (first < digits.length && digits[first] == 0) first++;
+		int numDigits = digits.length - first;
+
+		// A zero sum is a standard zero of the requested size
+		if (size <= 0) size = Math.max(numDigits, 1);
+		UNumber result = new UNumber(new byte[size], 0, true);
+		if (numDigits == 0) return result;
+
+		result.setRounded(digits, first, numDigits, numDigits + exponent, !negative, size,
+				mc.getRoundingMode(), null);
+		result.checkExponent(mc);
+		return result;
+	}
+}
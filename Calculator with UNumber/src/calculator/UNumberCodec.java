@@ -0,0 +1,389 @@
+package calculator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p> Title: UNumberCodec Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: A compact binary form of UNumber and CalculatorValue values, for moving them
+ * 		through files, sockets, and buffers without the cost of formatting them as text and
+ * 		recognizing the text again.  A UNumber is
+ *
+ * 			byte	the version, in the high four bits, and the sign, in the low bit (1 if negative)
+ * 			varint	the characteristic, dP, zigzag encoded, so a small negative one is short too
+ * 			varint	the number of significant digits, n
+ * 			varint	the number of zeros after them, which keep the length of the mantissa
+ * 			the n significant digits, two to a byte, the first in the high four bits
+ *
+ * 		where a varint is seven bits to a byte, the low seven first, with the high bit of each
+ * 		byte set if another byte follows.  A measured value of 17 digits, most of them zeros, such
+ * 		as 149600000, is six bytes, where its string is 23 characters.
+ *
+ * 		A CalculatorValue is a byte with the version, then the measured value and the error
+ * 		term, each as a UNumber, and then the unit, as a varint id.  The ids are those of the
+ * 		units the calculator offers (see Units), in an order that is never changed, so that a
+ * 		value written by one version of the program is read by the next; new units go at the
+ * 		end.  Id zero is a unit that is not in the table, and its name follows, as a varint
+ * 		length and that many bytes of UTF-8.  A unit that is read is the table's string, so the
+ * 		values that are read share one string for each unit.  The error messages and the input
+ * 		that caused them are not written; a value that is read has none.
+ *
+ * 		Values are written to and read from a ByteBuffer, heap or direct, at its position, or a
+ * 		DataOutput and DataInput.  The packed digits are moved with one bulk get or put, and are
+ * 		never turned into text.  An encoding of a later version, or a damaged one, including one
+ * 		with a mantissa longer than MAX_DIGITS or a unit name longer than MAX_UNIT_BYTES, or either
+ * 		one longer than the rest of the buffer, is rejected with an IllegalArgumentException before
+ * 		they are allocated, and a buffer or a stream that ends early with a
+ * 		BufferUnderflowException or an EOFException. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.00	Binary encoding of UNumber and CalculatorValue values
+ *
+ */
+public final class UNumberCodec {
+
+	/**
+	 * The version of the encoding, in the high four bits of the first byte of each value
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * The longest mantissa a value that is read may have.  A damaged length is rejected against
+	 * it before any memory is allocated for the digits.
+	 */
+	static final int MAX_DIGITS = 1 << 27;
+
+	/**
+	 * The longest name, in bytes of UTF-8, that a unit which is not in the table may have, when
+	 * it is written or read
+	 */
+	static final int MAX_UNIT_BYTES = 1024;
+
+	/**
+	 * The units, by id less one.  Never reorder this table or remove a unit from it.
+	 */
+	private static final String [] UNITS = {"", "kilometer", "meter", "feet", "hours", "minutes",
+			"seconds", "grams", "pounds", "kilograms", "seconds-2", "meter/seconds",
+			"kilometer/hours", "meter/seconds-2", "kilometer/hours-2", "Newton", "Dyne",
+			"meter-3/kilograms.seconds-2", "kilometer-3/seconds-2", "meter-2", "kilometer-2",
+			"feet-2", "kilograms.meter/seconds", "grams.centimeter/seconds", "meter-3",
+			"kilometer-3", "feet-3", "No Units"};
+
+	private static final Map<String, Integer> UNIT_IDS = new HashMap<>();
+	static {
+		for (int i = 0; i < UNITS.length; i++) UNIT_IDS.put(UNITS[i], i + 1);
+	}
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberCodec() {
+	}
+
+	/**********
+	 * The number of bytes the encoding of a value takes
+	 *
+	 * @param v		The value
+	 * @return the number of bytes
+	 */
+	public static int encodedSize(UNumber v) {
+		int n = v.significantLength();
+		return 1 + varintSize(zigzag(v.dP)) + varintSize(n) + varintSize(v.d.length - n)
+				+ (n + 1) / 2;
+	}
+
+	/**********
+	 * The number of bytes the encoding of a calculator value takes
+	 *
+	 * @param v		The value
+	 * @return the number of bytes
+	 */
+	public static int encodedSize(CalculatorValue v) {
+		Integer id = UNIT_IDS.get(v.unit);
+		int unit = 1;
+		if (id == null) {
+			int length = unitBytes(v.unit).length;
+			unit += varintSize(length) + length;
+		}
+		return 1 + encodedSize(v.measuredValue) + encodedSize(v.errorTerm) + unit;
+	}
+
+	/**********
+	 * Write a value to a buffer, at its position, which is moved past it
+	 *
+	 * @param v		The value
+	 * @param out	The buffer, with at least encodedSize(v) bytes remaining
+	 */
+	public static void write(UNumber v, ByteBuffer out) {
+		int n = v.significantLength();
+		out.put((byte)(VERSION << 4 | (v.s ? 0 : 1)));
+		putVarint(out, zigzag(v.dP));
+		putVarint(out, n);
+		putVarint(out, v.d.length - n);
+		out.put(pack(v.d, n));
+	}
+
+	/**********
+	 * Read a value from a buffer, at its position, which is moved past it
+	 *
+	 * @param in	The buffer
+	 * @return the value
+	 */
+	public static UNumber readUNumber(ByteBuffer in) {
+		boolean sign = (checkVersion(in.get()) & 1) == 0;
+		int dP = unzigzag(getVarint(in));
+		int n = getVarint(in);
+		int zeros = getVarint(in);
+		checkLength(n, zeros);
+		if ((n + 1) / 2 > in.remaining())
+			throw new IllegalArgumentException("The length of the mantissa is damaged");
+		byte [] packed = new byte[(n + 1) / 2];
+		in.get(packed);
+		return new UNumber(unpack(packed, n, zeros), dP, sign);
+	}
+
+	/**********
+	 * Write a value to a stream
+	 *
+	 * @param v		The value
+	 * @param out	The stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public static void write(UNumber v, DataOutput out) throws IOException {
+		ByteBuffer bytes = ByteBuffer.allocate(encodedSize(v));
+		write(v, bytes);
+		out.write(bytes.array());
+	}
+
+	/**********
+	 * Read a value from a stream
+	 *
+	 * @param in	The stream
+	 * @return the value
+	 * @throws IOException if the stream cannot be read or ends before the value does
+	 */
+	public static UNumber readUNumber(DataInput in) throws IOException {
+		boolean sign = (checkVersion(in.readByte()) & 1) == 0;
+		int dP = unzigzag(readVarint(in));
+		int n = readVarint(in);
+		int zeros = readVarint(in);
+		checkLength(n, zeros);
+		byte [] packed = new byte[(n + 1) / 2];
+		in.readFully(packed);
+		return new UNumber(unpack(packed, n, zeros), dP, sign);
+	}
+
+	/**********
+	 * Write a calculator value to a buffer, at its position, which is moved past it
+	 *
+	 * @param v		The value
+	 * @param out	The buffer, with at least encodedSize(v) bytes remaining
+	 */
+	public static void write(CalculatorValue v, ByteBuffer out) {
+		out.put((byte)(VERSION << 4));
+		write(v.measuredValue, out);
+		write(v.errorTerm, out);
+		Integer id = UNIT_IDS.get(v.unit);
+		if (id != null) putVarint(out, id);
+		else {
+			byte [] name = unitBytes(v.unit);
+			putVarint(out, 0);
+			putVarint(out, name.length);
+			out.put(name);
+		}
+	}
+
+	/**********
+	 * Read a calculator value from a buffer, at its position, which is moved past it
+	 *
+	 * @param in	The buffer
+	 * @return the value
+	 */
+	public static CalculatorValue readCalculatorValue(ByteBuffer in) {
+		checkVersion(in.get());
+		CalculatorValue v = new CalculatorValue(readUNumber(in));
+		v.errorTerm = readUNumber(in);
+		int id = getVarint(in);
+		if (id != 0) v.unit = unit(id);
+		else {
+			int length = getVarint(in);
+			checkUnitLength(length);
+			if (length > in.remaining())
+				throw new IllegalArgumentException("The length of the unit is damaged");
+			byte [] name = new byte[length];
+			in.get(name);
+			v.unit = new String(name, StandardCharsets.UTF_8);
+		}
+		return v;
+	}
+
+	/**********
+	 * Write a calculator value to a stream
+	 *
+	 * @param v		The value
+	 * @param out	The stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public static void write(CalculatorValue v, DataOutput out) throws IOException {
+		ByteBuffer bytes = ByteBuffer.allocate(encodedSize(v));
+		write(v, bytes);
+		out.write(bytes.array());
+	}
+
+	/**********
+	 * Read a calculator value from a stream
+	 *
+	 * @param in	The stream
+	 * @return the value
+	 * @throws IOException if the stream cannot be read or ends before the value does
+	 */
+	public static CalculatorValue readCalculatorValue(DataInput in) throws IOException {
+		checkVersion(in.readByte());
+		CalculatorValue v = new CalculatorValue(readUNumber(in));
+		v.errorTerm = readUNumber(in);
+		int id = readVarint(in);
+		if (id != 0) v.unit = unit(id);
+		else {
+			int length = readVarint(in);
+			checkUnitLength(length);
+			byte [] name = new byte[length];
+			in.readFully(name);
+			v.unit = new String(name, StandardCharsets.UTF_8);
+		}
+		return v;
+	}
+
+	/*********************************************************************************************/
+
+	/**
+	 * The first n digits, two to a byte, the first in the high four bits
+	 */
+	private static byte [] pack(byte[] d, int n) {
+		byte [] packed = new byte[(n + 1) / 2];
+		int i = 0;
+		for (; i + 1 < n; i += 2) packed[i >> 1] = (byte)(d[i] << 4 | d[i + 1]);
+		if (i < n) packed[i >> 1] = (byte)(d[i] << 4);
+		return packed;
+	}
+
+	/**
+	 * The mantissa of n packed digits and then the zeros after them
+	 */
+	private static byte [] unpack(byte[] packed, int n, int zeros) {
+		byte [] d = new byte[n + zeros];
+		int i = 0;
+		for (; i + 1 < n; i += 2) {
+			int b = packed[i >> 1];
+			d[i] = digit(b >> 4);
+			d[i + 1] = digit(b);
+		}
+		if (i < n) d[i] = digit(packed[i >> 1] >> 4);
+		return d;
+	}
+
+	/**
+	 * Check the lengths of a mantissa that is read, its significant digits and the zeros after
+	 * them, against MAX_DIGITS
+	 */
+	private static void checkLength(int n, int zeros) {
+		if (n < 0 || zeros < 0 || (long)n + zeros > MAX_DIGITS)
+			throw new IllegalArgumentException("The length of the mantissa is damaged");
+	}
+
+	/**
+	 * Check the length of a unit name that is read against MAX_UNIT_BYTES
+	 */
+	private static void checkUnitLength(int length) {
+		if (length < 0 || length > MAX_UNIT_BYTES)
+			throw new IllegalArgumentException("The length of the unit is damaged");
+	}
+
+	/**
+	 * The low four bits of a packed byte as a digit
+	 */
+	private static byte digit(int b) {
+		int digit = b & 0xF;
+		if (digit > 9) throw new IllegalArgumentException("A packed digit is damaged");
+		return (byte)digit;
+	}
+
+	/**
+	 * The first byte of a value, once its version has been checked
+	 */
+	private static int checkVersion(byte first) {
+		if ((first >> 4 & 0xF) != VERSION)
+			throw new IllegalArgumentException("The encoding is not of version " + VERSION);
+		return first;
+	}
+
+	/**
+	 * The unit with an id from the table
+	 */
+	private static String unit(int id) {
+		if (id < 0 || id > UNITS.length)
+			throw new IllegalArgumentException("The unit id " + id + " is unknown");
+		return UNITS[id - 1];
+	}
+
+	private static byte [] unitBytes(String unit) {
+		byte [] name = unit.getBytes(StandardCharsets.UTF_8);
+		if (name.length > MAX_UNIT_BYTES)
+			throw new IllegalArgumentException("The unit is longer than " + MAX_UNIT_BYTES + " bytes");
+		return name;
+	}
+
+	/**
+	 * A signed int as an unsigned one, with the small magnitudes, of either sign, small
+	 */
+	private static int zigzag(int v) {
+		return v << 1 ^ v >> 31;
+	}
+
+	private static int unzigzag(int v) {
+		return v >>> 1 ^ -(v & 1);
+	}
+
+	private static int varintSize(int v) {
+		int size = 1;
+		while ((v >>>= 7) != 0) size++;
+		return size;
+	}
+
+	private static void putVarint(ByteBuffer out, int v) {
+		while ((v & ~0x7F) != 0) {
+			out.put((byte)(v & 0x7F | 0x80));
+			v >>>= 7;
+		}
+		out.put((byte)v);
+	}
+
+	private static int getVarint(ByteBuffer in) {
+		int v = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.get();
+			v |= (b & 0x7F) << shift;
+			if (b >= 0) return v;
+		}
+		throw new IllegalArgumentException("A varint is damaged");
+	}
+
+	private static int readVarint(DataInput in) throws IOException {
+		int v = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readByte();
+			v |= (b & 0x7F) << shift;
+			if (b >= 0) return v;
+		}
+		throw new IllegalArgumentException("A varint is damaged");
+	}
+}
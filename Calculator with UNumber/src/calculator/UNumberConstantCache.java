@@ -0,0 +1,288 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * <p> Title: UNumberConstantCache Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The file in which UNumberConstants keeps the constants it has computed, so a
+ * 		later run of the program can read a million digits of π in a few milliseconds instead of
+ * 		computing them for seconds.  The file is mapped into memory, and only its directory is read
+ * 		when it is opened.  The digits of a constant are unpacked from the mapped bytes when the
+ * 		constant is first used.
+ *
+ * 		The file holds, big-endian:
+ *
+ * 			int		MAGIC, "UNCC"
+ * 			short	VERSION
+ * 			short	the number of constants
+ * 			for each constant:
+ * 				short	the length of its name, then the name, in ASCII
+ * 				int		the characteristic, dP
+ * 				int		the number of digits
+ * 				long	the offset of the digits in the file
+ * 				int		the CRC-32 of the packed digits
+ * 			int		the CRC-32 of all of the bytes before it
+ * 			the digits of each constant, two to a byte, the first in the high four bits
+ *
+ * 		A file with another magic number or version, or with a directory that does not match its
+ * 		checksum, is treated as empty, and a constant whose digits do not match their checksum
+ * 		is computed again.
+ *
+ * 		A new file is written beside the old one, the name of the cache with ".tmp" after it, with
+ * 		the old one's permissions, and then moved over it in one step, so a reader sees either
+ * 		the old file or the new one, never part of one.  Writers hold a lock on a second file,
+ * 		the name of the cache with ".lock" after it, and each writer reads the file again under
+ * 		the lock and keeps the longer of each constant, so two programs that write at once lose
+ * 		neither one's digits. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.01	A new file keeps the permissions of the one it replaces
+ *
+ * @version 1.00	A memory-mapped file of packed constant digits, with checksums
+ *
+ */
+final class UNumberConstantCache {
+
+	static final int MAGIC = 0x554E4343;		// "UNCC"
+	static final short VERSION = 1;
+
+	/**
+	 * The bytes of a directory record past its name: dP, digits, offset, and checksum
+	 */
+	private static final int RECORD_BYTES = 4 + 4 + 8 + 4;
+
+	/**
+	 * A constant as the cache keeps it: its digits packed two to a byte, either in the mapped
+	 * file or in memory, to be written
+	 */
+	static final class Entry {
+		final String name;
+		final int dP;
+		final int digits;
+		final ByteBuffer packed;		// The packed digits, from position zero to the limit
+		final int crc;
+
+		Entry(String name, int dP, int digits, ByteBuffer packed, int crc) {
+			this.name = name;
+			this.dP = dP;
+			this.digits = digits;
+			this.packed = packed;
+			this.crc = crc;
+		}
+
+		/**
+		 * The entry for a positive value
+		 */
+		static Entry of(String name, UNumber v) {
+			ByteBuffer packed = ByteBuffer.wrap(pack(v.d));
+			return new Entry(name, v.dP, v.d.length, packed, checksum(packed));
+		}
+
+		/**
+		 * Do the packed digits match their checksum?
+		 */
+		boolean isIntact() {
+			return checksum(packed) == crc;
+		}
+
+		/**
+		 * The value, or null if the packed digits do not match their checksum
+		 */
+		UNumber decode() {
+			if (!isIntact()) return null;
+			byte [] d = unpack(packed, digits);
+			return d == null ? null : new UNumber(d, dP, true);
+		}
+	}
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberConstantCache() {
+	}
+
+	/**
+	 * The entries of a cache file, by name.  The file is mapped and only its directory is read.
+	 * A missing file, or one that is not a cache of this version, has no entries.
+	 */
+	static Map<String, Entry> load(Path file) {
+		Map<String, Entry> entries = new LinkedHashMap<>();
+		if (file == null || !Files.isRegularFile(file)) return entries;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (map.getInt() != MAGIC || map.getShort() != VERSION) return entries;
+			int count = map.getShort() & 0xFFFF;
+			Map<String, Entry> found = new LinkedHashMap<>();
+			for (int i = 0; i < count; i++) {
+				byte [] name = new byte[map.getShort() & 0xFFFF];
+				map.get(name);
+				int dP = map.getInt();
+				int digits = map.getInt();
+				long offset = map.getLong();
+				int crc = map.getInt();
+				int length = (digits + 1) / 2;
+				if (digits < 0 || offset < 0 || offset + length > map.capacity()) return entries;
+				ByteBuffer packed = map.duplicate();
+				packed.position((int)offset).limit((int)offset + length);
+				String key = new String(name, StandardCharsets.US_ASCII);
+				found.put(key, new Entry(key, dP, digits, packed.slice(), crc));
+			}
+			int end = map.position();
+			ByteBuffer directory = map.duplicate();
+			directory.position(0).limit(end);
+			if (map.getInt() == checksum(directory)) entries.putAll(found);
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			// The file cannot be read or is not a cache, so it has no entries
+		}
+		return entries;
+	}
+
+	/**
+	 * Add entries to a cache file, keeping whichever is longer of each entry and the one the
+	 * file already has, unless the one the file has does not match its checksum.  The file is
+	 * read and written again under the lock, so the entries other writers have added are kept
+	 * too.
+	 */
+	static synchronized void store(Path file, Collection<Entry> entries) throws IOException {
+		Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+		try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE)) {
+			FileLock lock = lockChannel.lock();
+			try {
+				merge(file, entries);
+			} finally {
+				lock.release();
+			}
+		}
+	}
+
+	/**
+	 * Write the file again with the entries merged into it, under the lock
+	 */
+	private static void merge(Path file, Collection<Entry> entries) throws IOException {
+		Map<String, Entry> merged = load(file);
+		for (Entry e: entries) {
+			Entry old = merged.get(e.name);
+			if (old == null || old.digits <= e.digits || !old.isIntact()) merged.put(e.name, e);
+		}
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.deleteIfExists(temp);			// Left by a writer that did not finish
+		Files.createFile(temp);
+		try {
+			copyPermissions(file, temp);
+			write(temp, merged.values());
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Give the new file the permissions of the one it replaces, so a cache that other accounts
+	 * can read stays readable to them.  A new cache keeps the permissions it was created with.
+	 */
+	private static void copyPermissions(Path from, Path to) throws IOException {
+		if (!Files.exists(from)) return;
+		try {
+			Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+		} catch (UnsupportedOperationException e) {
+			// The file system has no POSIX permissions, so there are none to keep
+		}
+	}
+
+	/**
+	 * Write a cache file of the entries
+	 */
+	private static void write(Path file, Collection<Entry> entries) throws IOException {
+		byte [][] names = new byte[entries.size()][];
+		int size = 4 + 2 + 2 + 4;
+		int i = 0;
+		for (Entry e: entries) {
+			names[i] = e.name.getBytes(StandardCharsets.US_ASCII);
+			size += 2 + names[i++].length + RECORD_BYTES;
+		}
+		ByteBuffer directory = ByteBuffer.allocate(size);
+		directory.putInt(MAGIC).putShort(VERSION).putShort((short)entries.size());
+		long offset = size;
+		i = 0;
+		for (Entry e: entries) {
+			ByteBuffer packed = e.packed.duplicate();
+			packed.rewind();
+			directory.putShort((short)names[i].length).put(names[i++]);
+			directory.putInt(e.dP).putInt(e.digits).putLong(offset).putInt(e.crc);
+			offset += packed.remaining();
+		}
+		ByteBuffer before = directory.duplicate();
+		before.flip();
+		directory.putInt(checksum(before));
+		directory.flip();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (directory.hasRemaining()) channel.write(directory);
+			for (Entry e: entries) {
+				ByteBuffer packed = e.packed.duplicate();
+				packed.rewind();
+				while (packed.hasRemaining()) channel.write(packed);
+			}
+			channel.force(false);
+		}
+	}
+
+	/**
+	 * The digits packed two to a byte, the first in the high four bits
+	 */
+	static byte [] pack(byte[] d) {
+		byte [] packed = new byte[(d.length + 1) / 2];
+		for (int i = 0; i < d.length; i++)
+			packed[i >> 1] |= (i & 1) == 0 ? d[i] << 4 : d[i];
+		return packed;
+	}
+
+	/**
+	 * The digits of a packed buffer, or null if one of them is not a decimal digit
+	 */
+	static byte [] unpack(ByteBuffer packed, int digits) {
+		byte [] d = new byte[digits];
+		ByteBuffer in = packed.duplicate();
+		in.rewind();
+		for (int i = 0; i < digits; i += 2) {
+			int b = in.get();
+			int high = (b >> 4) & 0xF;
+			int low = b & 0xF;
+			if (high > 9 || low > 9) return null;
+			d[i] = (byte)high;
+			if (i + 1 < digits) d[i + 1] = (byte)low;
+		}
+		return d;
+	}
+
+	/**
+	 * The CRC-32 of the bytes from the position of a buffer to its limit.  The position of the
+	 * buffer is not changed.
+	 */
+	private static int checksum(ByteBuffer bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes.duplicate());
+		return (int)crc.getValue();
+	}
+}
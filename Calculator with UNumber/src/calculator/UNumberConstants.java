@@ -0,0 +1,321 @@
+package calculator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * <p> Title: UNumberConstants Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The constants that the transcendental and orbital computations need, to any
+ * 		number of significant digits.  π, e, ln(2), and ln(10) are computed, each the first time
+ * 		it is asked for, and the value is kept, so a later request for no more digits is only
+ * 		rounded from it.  A request for more digits computes the constant again, with at least
+ * 		twice as many digits as before, so a run of requests that each ask for a few more digits
+ * 		computes it only a few times.  π comes from Chudnovsky's series, which gives 14 digits a
+ * 		term, e from the series of 1/k!, and the logarithms from the series of atanh(1/m), all
+ * 		summed by binary splitting (see UNumberMath).
+ *
+ * 		The physical constants G, the astronomical unit, and the Sun's GM, in SI units, are
+ * 		measured or defined with only so many digits, and a request for more gets those digits.
+ *
+ * 		Each constant has its own lock, so a thread that needs a longer value than has been
+ * 		found waits while another thread computes it, rather than computing it too, and then
+ * 		uses that value if it is long enough.  A thread that finds a long enough value does not
+ * 		lock at all, and different constants are computed at the same time.
+ *
+ * 		The computed constants can be kept in a file from one run of the program to the next
+ * 		(see setCacheFile and UNumberConstantCache), so a constant that an earlier run computed
+ * 		is read from the file instead of being computed again.  The file named by the system
+ * 		property calculator.constants.cache, if there is one, is used from the start. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.01	The computed constants kept in a memory-mapped file from run to run
+ *
+ * @version 1.00	π, e, ln(2), ln(10), G, AU, and GM of the Sun, computed once and kept
+ *
+ */
+public final class UNumberConstants {
+
+	/**
+	 * The extra digits a computed constant is kept with past the digits asked for, so that it
+	 * can be rounded correctly by any rounding mode
+	 */
+	private static final int GUARD_DIGITS = 12;
+
+	/**
+	 * The file the computed constants are kept in, or null if they are not kept
+	 */
+	private static volatile Path cacheFile;
+
+	static {
+		String name = System.getProperty("calculator.constants.cache");
+		if (name != null) setCacheFile(Paths.get(name));
+	}
+
+	/**
+	 * The constants
+	 */
+	public enum Constant {
+		/** π, by Chudnovsky's series */
+		PI(UNumberConstants::chudnovskyPi),
+
+		/** e, the base of the natural logarithms */
+		E(UNumberConstants::eulerE),
+
+		/** ln(2) */
+		LN2(UNumberConstants::ln2),
+
+		/** ln(10) */
+		LN10(UNumberConstants::ln10),
+
+		/** The Newtonian constant of gravitation, 6.67430E-11 m^3 kg^-1 s^-2 (CODATA 2018) */
+		G("667430", -10),
+
+		/** The astronomical unit, exactly 149597870700 m (IAU 2012, Resolution B2) */
+		AU("149597870700", 12),
+
+		/** The heliocentric gravitational constant, 1.32712442099E+20 m^3 s^-2 (IAU 2009, TCB) */
+		GM_SUN("132712442099", 21);
+
+		private final IntFunction<UNumber> computation;	// Computes the constant to p digits
+		private final Object lock = new Object();		// Held while the constant is computed
+
+		/**
+		 * The longest value found so far.  It is replaced, never changed, so a thread sees
+		 * either the old value or the new one whole.
+		 */
+		private volatile UNumber value;
+
+		/**
+		 * The constant as the cache file has it, not yet unpacked, or null if the file does not
+		 * have it
+		 */
+		private volatile UNumberConstantCache.Entry stored;
+
+		Constant(IntFunction<UNumber> computation) {
+			this.computation = computation;
+		}
+
+		Constant(String digits, int dec) {
+			this.computation = null;
+			this.value = new UNumber(digits, dec, true);
+		}
+
+		/**
+		 * Is this constant computed, so that it has as many digits as are asked for?
+		 */
+		public boolean isComputed() {
+			return computation != null;
+		}
+
+		/**
+		 * The value of the constant with at least the specified number of digits, or all of them
+		 * for a measured constant.  If no value that long has been found, it is read from the
+		 * cache file, or computed, once, and written to the cache file.
+		 */
+		UNumber value(int digits) {
+			UNumber v = value;
+			if (computation == null || v != null && v.length() >= digits) return v;
+			synchronized (lock) {
+				v = value;
+				if (v == null || v.length() < digits) {
+					UNumberConstantCache.Entry e = stored;
+					UNumber cached = e != null && e.digits >= digits ? e.decode() : null;
+					stored = null;
+					if (cached != null) v = cached;
+					else {
+						v = computation.apply(Math.max(digits, v == null ? 0 : 2 * v.length()));
+						keep(this, v);
+					}
+					value = v;
+				}
+			}
+			return v;
+		}
+	}
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberConstants() {
+	}
+
+	/**********
+	 * A constant rounded half up to the specified number of significant digits.  A measured
+	 * constant has no more digits than it was measured to, whatever the digits asked for.
+	 *
+	 * @param c			The constant
+	 * @param digits	The number of significant digits, at least one
+	 * @return the constant
+	 */
+	public static UNumber get(Constant c, int digits) {
+		if (digits < 1) throw new IllegalArgumentException("The digits must be at least one");
+		UNumber v = c.value(digits + GUARD_DIGITS);
+		return UNumberMath.rounded(v, c.isComputed() ? digits : Math.min(digits, v.length()));
+	}
+
+	/**********
+	 * A constant rounded to the precision of the context by its rounding mode, with its
+	 * characteristic checked against the range of the context.  A computed constant has no end
+	 * of digits, so the context must have a precision.  A measured constant has no more digits
+	 * than it was measured to.
+	 *
+	 * @param c		The constant
+	 * @param mc	The context
+	 * @return the constant
+	 */
+	public static UNumber get(Constant c, UNumberContext mc) {
+		int digits = mc.getPrecision();
+		if (digits == 0 && c.isComputed()) throw new ArithmeticException(c + " has no exact value");
+		UNumber result = new UNumber(c.value(digits + GUARD_DIGITS));
+		if (!c.isComputed() && (digits == 0 || digits > result.length())) digits = result.length();
+		result.round(new UNumberContext(digits, mc.getRoundingMode(), mc.getMaxExponent()));
+		return result;
+	}
+
+	/**********
+	 * Keep the computed constants in a file, from this run of the program to the next.  The
+	 * constants the file has are read from it, each when it is first used, instead of being
+	 * computed, and the constants computed from now on are added to it.  A file that cannot be
+	 * read is treated as empty, and one that cannot be written is left as it is.
+	 *
+	 * @param file	The cache file, or null to keep no file
+	 */
+	public static synchronized void setCacheFile(Path file) {
+		cacheFile = file;
+		Map<String, UNumberConstantCache.Entry> entries = UNumberConstantCache.load(file);
+		for (Constant c: Constant.values())
+			if (c.isComputed()) c.stored = entries.get(c.name());
+	}
+
+	/**********
+	 * The file the computed constants are kept in
+	 *
+	 * @return the cache file, or null if there is none
+	 */
+	public static Path getCacheFile() {
+		return cacheFile;
+	}
+
+	/**
+	 * Add a constant just computed to the cache file, if there is one
+	 */
+	private static void keep(Constant c, UNumber v) {
+		Path file = cacheFile;
+		if (file == null) return;
+		try {
+			UNumberConstantCache.store(file, 
+					Collections.singletonList(UNumberConstantCache.Entry.of(c.name(), v)));
+		} catch (IOException e) {
+			// The file cannot be written, so the constant is only kept in memory
+		}
+	}
+
+	/*********************************************************************************************/
+
+	/**
+	 * Chudnovsky's series for π, 640320^(3/2) / (12 π) equal to the sum for k from zero of
+	 *
+	 * 		(-1)^k (6k)! (13591409 + 545140134 k) / ((3k)! (k!)^3 640320^(3k))
+	 *
+	 * Term k is the one before it times -(6k-5)(2k-1)(6k-1) / (k^3 640320^3 / 24), with
+	 * a(k) = 13591409 + 545140134 k, and then π = 426880 sqrt(10005) / sum
+	 */
+	private static final int [] CHUDNOVSKY_Q = UNumberMath.limbs(640320L * 640320 * 640320 / 24);
+
+	/**
+	 * π with p significant digits
+	 */
+	private static UNumber chudnovskyPi(int p) {
+		int w = p + GUARD_DIGITS;
+		UNumberContext mc = new UNumberContext(w);
+		int n = (int)(w / 14.18) + 2;
+		UNumberMath.Split s = UNumberMath.split(k -> {
+			int [] a = UNumberMath.limbs(13591409 + 545140134L * k);
+			if (k == 0) return new UNumberMath.Split(UNumberMath.ONE_LIMB, false,
+					UNumberMath.ONE_LIMB, null, 0, a);
+			int [] pk = UNumberMath.trim(UNumberLimbs.multiply(
+					UNumberMath.limbs((6L * k - 5) * (2 * k - 1)), UNumberMath.limbs(6L * k - 1)));
+			int [] qk = UNumberMath.trim(UNumberLimbs.multiply(
+					UNumberMath.limbs((long)k * k * k), CHUDNOVSKY_Q));
+			return new UNumberMath.Split(pk, true, qk, null, 0,
+					UNumberMath.trim(UNumberLimbs.multiply(pk, a)));
+		}, 0, n, false);
+		UNumber [] sum = UNumberMath.fraction(s, w);
+		UNumber result = new UNumber(10005);
+		result.sqrt(mc);
+		result.mpyInt(426880, mc);
+		result.mpy(sum[1], mc);
+		result.div(sum[0], mc);
+		return UNumberMath.rounded(result, p);
+	}
+
+	/**
+	 * e with p significant digits, by the series 1 + 1 + 1/2! + 1/3! + ...
+	 */
+	private static UNumber eulerE(int p) {
+		int w = p + GUARD_DIGITS;
+		UNumberMath.Split s = UNumberMath.split(k -> new UNumberMath.Split(UNumberMath.ONE_LIMB,
+				false, k == 0 ? UNumberMath.ONE_LIMB : UNumberMath.limbs(k), null, 0),
+				0, UNumberMath.terms(0, w), false);
+		return UNumberMath.rounded(UNumberMath.quotient(s, w), p);
+	}
+
+	/**
+	 * ln(2) with p significant digits, by ln(2) = 14 atanh(1/31) + 10 atanh(1/49) +
+	 * 6 atanh(1/161)
+	 */
+	private static UNumber ln2(int p) {
+		return logarithm(14, 10, 6, p);
+	}
+
+	/**
+	 * ln(10) with p significant digits, by ln(10) = 46 atanh(1/31) + 34 atanh(1/49) +
+	 * 20 atanh(1/161)
+	 */
+	private static UNumber ln10(int p) {
+		return logarithm(46, 34, 20, p);
+	}
+
+	/**
+	 * a atanh(1/31) + b atanh(1/49) + c atanh(1/161) with p significant digits.  Since
+	 * atanh(1/m) = ln((m+1)/(m-1))/2 and 16/15, 25/24, and 81/80 are products of powers of 2, 3,
+	 * and 5, the logarithm of any such product is a sum of this form.
+	 */
+	private static UNumber logarithm(int a, int b, int c, int p) {
+		int w = p + GUARD_DIGITS;
+		UNumberContext mc = new UNumberContext(w);
+		UNumber result = arctangentOfInverse(31, true, w);
+		result.mpyInt(a, mc);
+		UNumber t = arctangentOfInverse(49, true, w);
+		t.mpyInt(b, mc);
+		result.add(t, mc);
+		t = arctangentOfInverse(161, true, w);
+		t.mpyInt(c, mc);
+		result.add(t, mc);
+		return UNumberMath.rounded(result, p);
+	}
+
+	/**
+	 * atan(1/m), or atanh(1/m) if hyperbolic, with w significant digits, by the series
+	 * 1/m - 1/(3 m^3) + 1/(5 m^5) - ..., with all of the signs positive for atanh
+	 */
+	private static UNumber arctangentOfInverse(int m, boolean hyperbolic, int w) {
+		int n = (int)(w / (2 * Math.log10(m))) + 2;
+		int [] first = UNumberMath.limbs(m);
+		int [] square = UNumberMath.limbs((long)m * m);
+		UNumberMath.Split s = UNumberMath.split(k -> k == 0 ?
+				new UNumberMath.Split(UNumberMath.ONE_LIMB, false, first, UNumberMath.ONE_LIMB, 0) :
+				new UNumberMath.Split(UNumberMath.ONE_LIMB, !hyperbolic, square,
+						UNumberMath.limbs(2 * k + 1), 0), 0, n, false);
+		return UNumberMath.quotient(s, w);
+	}
+}
@@ -0,0 +1,143 @@
+package calculator;
+
+import java.math.RoundingMode;
+
+/**
+ * <p> Title: UNumberContext Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The precision, rounding mode, and largest characteristic the UNumber
+ * 		operations are to use.  Without a context, the length of a result depends on the
+ * 		operation: add grows by a digit on a carry, mpy keeps the length of the multiplicand,
+ * 		and div that of the dividend, so the cost of a long chain of operations is hard to
+ * 		predict.  With a precision, every result is rounded to exactly that many digits, so
+ * 		neither the time nor the memory a chain takes can grow from one step to the next.
+ *
+ * 		A context can be passed to each operation, or set for a thread, in which case the
+ * 		operations that are not given one use the thread's context.  A context never changes
+ * 		once it is made. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.00	Precision, rounding mode, and largest characteristic for UNumber operations
+ *
+ */
+public final class UNumberContext {
+
+	/**
+	 * The context with no precision and no limit on the characteristic.  Each operation keeps
+	 * the result length it has always had and rounds half up, so this is the default.
+	 */
+	public static final UNumberContext UNLIMITED =
+			new UNumberContext(0, RoundingMode.HALF_UP, Integer.MAX_VALUE);
+
+	/**
+	 * The context of each thread, which starts out as UNLIMITED
+	 */
+	private static final ThreadLocal<UNumberContext> threadContext =
+			ThreadLocal.withInitial(() -> UNLIMITED);
+
+	private final int precision;				// The digits in a result, or 0 for the default
+	private final RoundingMode roundingMode;	// How the digits that are dropped are rounded
+	private final int maxExponent;				// The largest characteristic, plus or minus
+
+	/**********
+	 * This constructor makes a context that rounds half up, with no limit on the characteristic
+	 *
+	 * @param precision		The number of significant digits in a result, or zero for the length
+	 * 						each operation would give without a context
+	 */
+	public UNumberContext(int precision) {
+		this(precision, RoundingMode.HALF_UP, Integer.MAX_VALUE);
+	}
+
+	/**********
+	 * This constructor makes a context with no limit on the characteristic
+	 *
+	 * @param precision		The number of significant digits in a result, or zero for the length
+	 * 						each operation would give without a context
+	 * @param roundingMode	How the digits that are dropped are rounded
+	 */
+	public UNumberContext(int precision, RoundingMode roundingMode) {
+		this(precision, roundingMode, Integer.MAX_VALUE);
+	}
+
+	/**********
+	 * This constructor makes a context
+	 *
+	 * @param precision		The number of significant digits in a result, or zero for the length
+	 * 						each operation would give without a context
+	 * @param roundingMode	How the digits that are dropped are rounded
+	 * @param maxExponent	The largest characteristic a result may have, plus or minus
+	 */
+	public UNumberContext(int precision, RoundingMode roundingMode, int maxExponent) {
+		if (precision < 0) throw new IllegalArgumentException("The precision is negative");
+		if (roundingMode == null) throw new IllegalArgumentException("There is no rounding mode");
+		if (maxExponent < 0) throw new IllegalArgumentException("The maximum exponent is negative");
+		this.precision = precision;
+		this.roundingMode = roundingMode;
+		this.maxExponent = maxExponent;
+	}
+
+	/**********
+	 * The context of the current thread
+	 *
+	 * @return the context, which is UNLIMITED unless one has been set
+	 */
+	public static UNumberContext getThreadContext() {
+		return threadContext.get();
+	}
+
+	/**********
+	 * Set the context the UNumber operations of the current thread use when they are not given
+	 * one
+	 *
+	 * @param context	The context, or null for UNLIMITED
+	 */
+	public static void setThreadContext(UNumberContext context) {
+		threadContext.set(context == null ? UNLIMITED : context);
+	}
+
+	public int getPrecision() {
+		return precision;
+	}
+
+	public RoundingMode getRoundingMode() {
+		return roundingMode;
+	}
+
+	public int getMaxExponent() {
+		return maxExponent;
+	}
+
+	/**********
+	 * The number of digits in the result of an operation
+	 *
+	 * @param defaultSize	The length the operation gives without a precision
+	 * @return the length
+	 */
+	int size(int defaultSize) {
+		return precision > 0 ? precision : defaultSize;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof UNumberContext)) return false;
+		UNumberContext that = (UNumberContext)o;
+		return precision == that.precision && roundingMode == that.roundingMode
+				&& maxExponent == that.maxExponent;
+	}
+
+	@Override
+	public int hashCode() {
+		return (precision * 31 + roundingMode.hashCode()) * 31 + maxExponent;
+	}
+
+	@Override
+	public String toString() {
+		return "precision=" + precision + " roundingMode=" + roundingMode
+				+ " maxExponent=" + maxExponent;
+	}
+}
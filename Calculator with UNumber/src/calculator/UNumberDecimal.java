@@ -0,0 +1,275 @@
+package calculator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * <p> Title: UNumberDecimal Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The conversion of a double to the decimal digits of a UNumber.  A double is
+ * 		an integer times a power of two, so almost no double has a short decimal expansion.  The
+ * 		shortest conversion finds the decimal value with the fewest digits that still reads back
+ * 		as the same double, which is what a person typed in the first place.  This is done with
+ * 		the Schubfach algorithm of Raffaello Giulietti: the value and the two ends of the interval
+ * 		of reals that round to it are scaled by a power of ten, using a 126 bit approximation of
+ * 		that power, and the result is read off with a few integer operations.  The exact
+ * 		conversion instead gives every digit of the binary value. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.01	The smallest subnormal values get one digit when one is enough
+ *
+ * @version 1.00	Shortest and exact conversion of a double
+ *
+ */
+final class UNumberDecimal {
+
+	/**
+	 * The layout of a double: a 52 bit fraction field and an 11 bit biased exponent field.  A
+	 * finite, non-zero double is c x 2^q, where c has at most P bits and q is at least Q_MIN.
+	 */
+	private static final int P = 53;
+	private static final int Q_MIN = -1074;
+	private static final long C_MIN = 1L << (P - 1);
+	private static final long FRACTION_MASK = C_MIN - 1;
+	private static final int BQ_MASK = 0x7FF;
+
+	/**
+	 * Subnormal values whose c is below this have too few bits for the interval test to find a
+	 * two digit result, so c is scaled up by ten first.  The test only tries a shorter result
+	 * when there are at least three digits, so a two digit subnormal result, scaled or not, then
+	 * has its last digit dropped if one digit still reads back as the value (see oneDigit).
+	 */
+	private static final long C_TINY = 3;
+
+	/**
+	 * The powers of ten needed for doubles run from 10^K_MIN to 10^K_MAX.  For each one, 10^-k is
+	 * held as g x 2^r, where g is a 126 bit integer that is one larger than the exact, so
+	 * (g - 1) x 2^r <= 10^-k < g x 2^r.  The high 63 bits of g are in G[2i] and the low 63 bits
+	 * in G[2i+1], where i is k - K_MIN.  The table is computed once, exactly, with BigInteger.
+	 */
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	private static final long MASK_63 = (1L << 63) - 1;
+	private static final long [] G = powersOfTen();
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberDecimal() {
+	}
+
+	/**********
+	 * The shortest decimal value that reads back as v.  When two values of that length both do,
+	 * the one closer to v is used, and an exact tie goes to the one with an even last digit.
+	 *
+	 * @param v	The finite value to convert
+	 *
+	 * @return the value as a UNumber whose mantissa holds just the digits needed
+	 */
+	static UNumber shortest(double v) {
+		long bits = Double.doubleToRawLongBits(v);
+		boolean sign = bits >= 0;
+		long t = bits & FRACTION_MASK;
+		int bq = (int)(bits >>> (P - 1)) & BQ_MASK;
+		if (bq == BQ_MASK) throw new IllegalArgumentException(v + " is not a finite value");
+
+		if (bq != 0) {
+			// A normal value: the implied leading one bit is put back in
+			int mq = -Q_MIN + 1 - bq;
+			long c = C_MIN | t;
+
+			// An integer that fits in a long needs no scaling at all
+			if (0 < mq && mq < P) {
+				long f = c >> mq;
+				if (f << mq == c) return toUNumber(f, 0, sign);
+			}
+			return toDecimal(-mq, c, 0, sign);
+		}
+		if (t != 0)
+			// A subnormal value
+			return oneDigit(t < C_TINY ? toDecimal(Q_MIN, 10 * t, -1, sign)
+					: toDecimal(Q_MIN, t, 0, sign), v);
+
+		// Plus or minus zero
+		return new UNumber(new byte[1], 0, true);
+	}
+
+	/**
+	 * The shortest decimal for c x 2^q, whose result is scaled by 10^dk
+	 */
+	private static UNumber toDecimal(int q, long c, int dk, boolean sign) {
+		// The reals that round to v lie between (cb - cbl) and (cb + cbr), all in units of 2^q/4.
+		// These ends are in the interval when c is even, because a tie rounds to even.
+		int out = (int)c & 1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != C_MIN || q == Q_MIN) {
+			cbl = cb - 2;
+			k = floorLog10Pow2(q);
+		}
+		else {
+			// At a power of two the gap below is half the gap above
+			cbl = cb - 1;
+			k = floorLog10ThreeQuartersPow2(q);
+		}
+
+		// Scale the three values by 10^-k, so vb is about 4 x v x 10^-k
+		int h = q + floorLog2Pow10(-k) + 2;
+		long g1 = G[(k - K_MIN) << 1];
+		long g0 = G[((k - K_MIN) << 1) + 1];
+		long vb = roundOdd(g1, g0, cb << h);
+		long vbl = roundOdd(g1, g0, cbl << h);
+		long vbr = roundOdd(g1, g0, cbr << h);
+
+		// First try one digit fewer than the integer part s of v x 10^-k, then s itself
+		long s = vb >> 2;
+		if (s >= 100) {
+			long sp10 = 10 * Math.multiplyHigh(s, 115292150460684698L << 4);	// s / 10 x 10
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) return toUNumber(upin ? sp10 : tp10, k + dk, sign);
+		}
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) return toUNumber(uin ? s : t, k + dk, sign);
+
+		// Both s and s + 1 read back as v, so pick the closer one, and the even one on a tie
+		long cmp = vb - ((s + t) << 1);
+		return toUNumber(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, sign);
+	}
+
+	/**
+	 * The one digit value closest to v, if it reads back as v, or else x, the two digit one.
+	 * The reals that round to v lie on both sides of it, so if the closer of the one digit
+	 * values does not read back as v, neither does the other.
+	 */
+	private static UNumber oneDigit(UNumber x, double v) {
+		if (x.d.length != 2) return x;
+		BigDecimal exact = new BigDecimal(Math.abs(v));
+		BigDecimal lower = BigDecimal.valueOf(x.d[0], 1 - x.dP);
+		BigDecimal upper = BigDecimal.valueOf(x.d[0] + 1, 1 - x.dP);
+		int cmp = exact.subtract(lower).compareTo(upper.subtract(exact));
+		BigDecimal closer = cmp < 0 || cmp == 0 && (x.d[0] & 1) == 0 ? lower : upper;
+		if (closer.doubleValue() != Math.abs(v)) return x;
+		return toUNumber(closer.unscaledValue().longValue(), -closer.scale(), x.s);
+	}
+
+	/**
+	 * (g x cp) / 2^127, with the lowest bit forced to one if any of the dropped bits are not zero
+	 * (round to odd), so comparisons against exact multiples of four are not fooled
+	 */
+	private static long roundOdd(long g1, long g0, long cp) {
+		long x1 = Math.multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = Math.multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+	}
+
+	/**
+	 * The decimal f x 10^e as a UNumber, without the trailing zeros of f
+	 */
+	private static UNumber toUNumber(long f, int e, boolean sign) {
+		while (f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+		int n = 1;
+		for (long p = 10; n < 19 && p <= f; p *= 10) n++;
+		byte [] digits = new byte[n];
+		for (int i = n - 1; i >= 0; i--) {
+			digits[i] = (byte)(f % 10);
+			f /= 10;
+		}
+		return new UNumber(digits, n + e, sign);
+	}
+
+	/**********
+	 * Every digit of v.  A double is c x 2^q, and when q is negative this is c x 5^-q x 10^q, so
+	 * the digits are those of an integer.  This can be as many as 767 significant digits.
+	 *
+	 * @param v	The finite value to convert
+	 *
+	 * @return the value as a UNumber whose mantissa holds every digit, with no trailing zeros
+	 */
+	static UNumber exact(double v) {
+		long bits = Double.doubleToRawLongBits(v);
+		boolean sign = bits >= 0;
+		long t = bits & FRACTION_MASK;
+		int bq = (int)(bits >>> (P - 1)) & BQ_MASK;
+		if (bq == BQ_MASK) throw new IllegalArgumentException(v + " is not a finite value");
+		if (bq == 0 && t == 0) return new UNumber(new byte[1], 0, true);
+
+		long c = bq != 0 ? C_MIN | t : t;
+		int q = (bq != 0 ? bq : 1) + Q_MIN - 1;
+		int tz = Long.numberOfTrailingZeros(c);
+		c >>= tz;
+		q += tz;
+		String digits;
+		int e = 0;
+		if (q >= 0) digits = BigInteger.valueOf(c).shiftLeft(q).toString();
+		else {
+			digits = BigInteger.valueOf(5).pow(-q).multiply(BigInteger.valueOf(c)).toString();
+			e = q;
+		}
+
+		int n = digits.length();
+		while (digits.charAt(n - 1) == '0') n--;
+		byte [] mantissa = new byte[n];
+		for (int i = 0; i < n; i++) mantissa[i] = (byte)(digits.charAt(i) - '0');
+		return new UNumber(mantissa, digits.length() + e, sign);
+	}
+
+	/**
+	 * floor(e x log10(2)), good for |e| <= 5456721
+	 */
+	private static int floorLog10Pow2(int e) {
+		return (int)(e * 661971961083L >> 41);
+	}
+
+	/**
+	 * floor(log10(3/4 x 2^e)), good for |e| <= 2759023
+	 */
+	private static int floorLog10ThreeQuartersPow2(int e) {
+		return (int)(e * 661971961083L + -274743187321L >> 41);
+	}
+
+	/**
+	 * floor(e x log2(10)), good for |e| <= 1838394
+	 */
+	private static int floorLog2Pow10(int e) {
+		return (int)(e * 913124641741L >> 38);
+	}
+
+	/**
+	 * Build the table of 126 bit approximations of the powers of ten (see G)
+	 */
+	private static long[] powersOfTen() {
+		long [] g = new long[(K_MAX - K_MIN + 1) << 1];
+		BigInteger mask63 = BigInteger.valueOf(MASK_63);
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			// 10^-k = beta x 2^r with 2^125 <= beta < 2^126, and g = floor(beta) + 1
+			int r = floorLog2Pow10(-k) - 125;
+			BigInteger beta;
+			if (k <= 0) {
+				BigInteger p = BigInteger.TEN.pow(-k);
+				beta = r >= 0 ? p.shiftRight(r) : p.shiftLeft(-r);
+			}
+			else
+				beta = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+			BigInteger gk = beta.add(BigInteger.ONE);
+			g[(k - K_MIN) << 1] = gk.shiftRight(63).longValue();
+			g[((k - K_MIN) << 1) + 1] = gk.and(mask63).longValue();
+		}
+		return g;
+	}
+}
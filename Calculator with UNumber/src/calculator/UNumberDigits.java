@@ -0,0 +1,151 @@
+package calculator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * <p> Title: UNumberDigits Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The carry and borrow passes of add and sub.  Add and sub first combine the
+ * 		digits of the two operands lane by lane, with no carries, which the compiler turns into
+ * 		vector instructions.  What is left is to resolve the carries, which by hand is one digit
+ * 		at a time, each waiting on the one to its right.  Here eight digits are read as one long
+ * 		and all eight carries are found at once with a single binary addition: a digit that is
+ * 		10 or more generates a carry into the digit to its left, a 9 passes a carry through, and
+ * 		the carry out of the addition of those flags does the passing through for the whole
+ * 		word.  So the chain of waiting is one step per eight digits instead of one per digit. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.00	Word at a time carry and borrow resolution
+ *
+ */
+final class UNumberDigits {
+
+	/**
+	 * Eight digits of a mantissa as a long.  The mantissa is MSD first, so reading it big endian
+	 * puts the least significant digit of the eight in the low byte.
+	 */
+	private static final VarHandle WORD =
+			MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+	private static final int LANES = 8;
+
+	private static final long ONES = 0x0101010101010101L;	// A 1 in each byte (lane)
+	private static final long HIGHS = 0x8080808080808080L;	// The top bit of each lane
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberDigits() {
+	}
+
+	/**********
+	 * Resolve the carries of a sum of digits.  Each of d[from] through d[to-1] is the sum of two
+	 * digits, so it is between 0 and 18.  Each is replaced by a digit, working from d[to-1]
+	 * toward d[from], and the carry out of d[from] is returned.
+	 *
+	 * @param d		The digits
+	 * @param from	The index of the most significant digit
+	 * @param to	One past the index of the least significant digit
+	 *
+	 * @return the carry out of the most significant digit, 0 or 1
+	 */
+	static int resolveCarries(byte[] d, int from, int to) {
+		// The digits past the last whole word, one at a time.  A digit plus the carry in is at
+		// most 19, and it carries out exactly when adding 6 to it reaches 16.
+		int carry = 0;
+		int i = to;
+		for (int end = to - (to - from) % LANES; i > end; ) {
+			int sum = d[--i] + carry;
+			carry = (sum + 6) >> 4;
+			d[i] = (byte)(sum - 10 * carry);
+		}
+
+		// The rest eight at a time
+		for (i -= LANES; i >= from; i -= LANES) {
+			long v = (long)WORD.get(d, i);
+			long carries = carriesIn(atLeast10(v), equals9(v), carry);
+			long t = v + carries;							// At most 19 in each lane
+			long over = atLeast10(t);
+			WORD.set(d, i, t - over * 10);
+			carry = (int)(over >>> 56);
+		}
+		return carry;
+	}
+
+	/**********
+	 * Resolve the borrows of a difference of digits.  Each of d[from] through d[to-1] is a digit
+	 * of the first operand plus 9 less the digit of the second, so it is between 0 and 18, and 9
+	 * stands for a difference of zero.  Each is replaced by a digit, working from d[to-1] toward
+	 * d[from], and the borrow out of d[from] is returned.
+	 *
+	 * @param d		The digits
+	 * @param from	The index of the most significant digit
+	 * @param to	One past the index of the least significant digit
+	 *
+	 * @return the borrow out of the most significant digit, 0 or 1
+	 */
+	static int resolveBorrows(byte[] d, int from, int to) {
+		// With t = u + 1 - borrow, which is between 0 and 19, the digit borrows out exactly when
+		// t is less than 10, and the result digit is t, or t - 10 when it does not borrow
+		int borrow = 0;
+		int i = to;
+		for (int end = to - (to - from) % LANES; i > end; ) {
+			int t = d[--i] + 1 - borrow;
+			int over = (t + 6) >> 4;
+			d[i] = (byte)(t - 10 * over);
+			borrow = 1 - over;
+		}
+
+		// The rest eight at a time.  A lane below 9 generates a borrow and a 9 passes one through.
+		for (i -= LANES; i >= from; i -= LANES) {
+			long u = (long)WORD.get(d, i);
+			long borrows = carriesIn(ONES - atLeast9(u), equals9(u), borrow);
+			long t = u + ONES - borrows;					// Between 0 and 19 in each lane
+			long over = atLeast10(t);
+			WORD.set(d, i, t - over * 10);
+			borrow = 1 - (int)(over >>> 56);
+		}
+		return borrow;
+	}
+
+	/**
+	 * The carry into each lane, as a 1 in the lanes that take one.  generate has a 1 in each lane
+	 * that carries out whatever comes in, and propagate has 0xFF in each lane that carries out only
+	 * what comes in.  Adding the generated carries, shifted up a lane, to propagate lets each one
+	 * ripple through the 0xFF lanes, turning them to 0x00, until it stops in the first lane that is
+	 * not.  A lane cannot both be generated into and rippled into, since a lane that ripples does
+	 * not generate.  So the lanes that changed are those that took a carry.
+	 */
+	private static long carriesIn(long generate, long propagate, int carry) {
+		long r = propagate + (generate << 8 | carry);
+		return (r ^ propagate) & ONES;
+	}
+
+	/**
+	 * A 1 in each lane that is at least 10, for lanes of no more than 19
+	 */
+	private static long atLeast10(long v) {
+		return (v + 0x7676767676767676L & HIGHS) >>> 7;
+	}
+
+	/**
+	 * A 1 in each lane that is at least 9, for lanes of no more than 18
+	 */
+	private static long atLeast9(long v) {
+		return (v + 0x7777777777777777L & HIGHS) >>> 7;
+	}
+
+	/**
+	 * 0xFF in each lane that is 9, for lanes of no more than 18
+	 */
+	private static long equals9(long v) {
+		long x = v ^ 0x0909090909090909L;						// Zero in the lanes that are 9
+		long zero = ~(x + 0x7F7F7F7F7F7F7F7FL) & HIGHS;		// x is at most 27, so no carries
+		return (zero >>> 7) * 0xFF;
+	}
+}
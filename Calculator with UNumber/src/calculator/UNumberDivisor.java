@@ -0,0 +1,123 @@
+package calculator;
+
+/**
+ * <p> Title: UNumberDivisor Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: A divisor prepared for dividing many values.  Each UNumber div packs the
+ * 		digits of the divisor into limbs and divides by them from scratch, which for a long
+ * 		divisor costs several multiplications.  A UNumberDivisor packs the digits once and keeps
+ * 		a reciprocal of the divisor, so each division is a multiplication by the reciprocal, which
+ * 		gives the quotient to within a few units, and a second multiplication that puts it right
+ * 		(Barrett's method).  The quotients are exactly those div gives.  A divisor of less than
+ * 		about a hundred digits is quick to divide by in any case, and is only packed once.
+ *
+ * 		The reciprocal is found the first time it is needed, with the precision that division
+ * 		needs, and found again only when a later division needs a longer quotient.  A divisor
+ * 		never changes once it is made, so one can be shared by any number of threads. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.00	A divisor with its reciprocal, for repeated division
+ *
+ */
+public final class UNumberDivisor {
+
+	/**
+	 * The divisor length, in limbs, from which the reciprocal is used.  A shorter divisor, or one 
+	 * much shorter than the quotient, is divided by quicker with Knuth's Algorithm D, since the 
+	 * reciprocal is as long as the quotient.
+	 */
+	private static final int RECIPROCAL_LIMBS = 11;
+
+	final UNumber divisor;		// A copy of the divisor
+	final int [] limbs;			// Its significant digits, as limbs (see UNumberLimbs)
+
+	/**
+	 * The reciprocal with the most precision found so far, with that precision.  It is replaced,
+	 * never changed, so a thread sees either the old one or the new one whole.
+	 */
+	private volatile Reciprocal reciprocal;
+
+	private static final class Reciprocal {
+		final int [] x;			// The limbs of the reciprocal (see UNumberLimbs.reciprocalOf)
+		final int t;			// Its precision, in limbs
+
+		Reciprocal(int[] x, int t) {
+			this.x = x;
+			this.t = t;
+		}
+	}
+
+	/**********
+	 * This constructor prepares a divisor.  The value is copied, so later changes to it do not
+	 * change the divisor.
+	 *
+	 * @param divisor	The divisor
+	 */
+	public UNumberDivisor(UNumber divisor) {
+		this.divisor = new UNumber(divisor);
+		limbs = UNumberLimbs.pack(divisor.d, 0, divisor.significantLength());
+	}
+
+	/**********
+	 * The divisor
+	 *
+	 * @return a copy of the divisor
+	 */
+	public UNumber getDivisor() {
+		return new UNumber(divisor);
+	}
+
+	/**********
+	 * The quotient of a value and this divisor, with as many digits as the value, unless the
+	 * thread's context has a precision (see UNumberContext).  The value is not changed.
+	 *
+	 * @param x		The dividend
+	 * @return the quotient
+	 */
+	public UNumber divide(UNumber x) {
+		return divide(x, UNumberContext.getThreadContext());
+	}
+
+	/**********
+	 * The quotient of a value and this divisor, rounded to the precision of the context, or to
+	 * the length of the value if it has none.  The value is not changed.
+	 *
+	 * @param x		The dividend
+	 * @param mc	The context
+	 * @return the quotient
+	 */
+	public UNumber divide(UNumber x, UNumberContext mc) {
+		UNumber quotient = new UNumber(x);
+		quotient.div(this, mc);
+		return quotient;
+	}
+
+	/**********
+	 * floor(u / v), where v is the limbs of the divisor, for UNumber div.  The reciprocal is
+	 * found, or found again, first if this quotient needs more precision than it has.
+	 *
+	 * @param u		The dividend limbs
+	 * @return the quotient limbs
+	 */
+	int[] quotient(int[] u) {
+		int nq = UNumberLimbs.significantLength(u) - limbs.length + 1;
+		if (limbs.length < RECIPROCAL_LIMBS || nq > 2 * limbs.length) 
+			return UNumberLimbs.divide(u, limbs);
+		int t = nq + 2;
+		Reciprocal r = reciprocal;
+		if (r == null || r.t < t) {
+			r = new Reciprocal(UNumberLimbs.reciprocalOf(limbs, t), t);
+			reciprocal = r;
+		}
+		return UNumberLimbs.divide(u, limbs, r.x, r.t);
+	}
+
+	@Override
+	public String toString() {
+		return divisor.toString();
+	}
+}
@@ -0,0 +1,768 @@
+package calculator;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * <p> Title: UNumberLimbs Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The arithmetic kernels behind UNumber.  The mantissa of a UNumber is kept as
+ * 		one decimal digit per byte, which is easy to read and to round, but costly to loop over.
+ * 		These routines pack a run of those digits into "limbs" of nine decimal digits each
+ * 		(base 10^9, stored in an int), do the work on the limbs, and unpack the result. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.08	Division by a reciprocal found once for many dividends
+ * 
+ * @version 1.07	Very long products are split across the cores of the machine
+ * 
+ * @version 1.06	Squaring computes each cross product once, in every tier
+ * 
+ * @version 1.05	Correction of an integer square root estimate
+ * 
+ * @version 1.04	Scaling by a power of ten, for the accumulator
+ * 
+ * @version 1.03	Division by Knuth's Algorithm D and by Newton-Raphson reciprocal
+ * 
+ * @version 1.02	The number theoretic transform tier for very long operands
+ * 
+ * @version 1.01	Karatsuba and Toom-Cook 3 tiers for long operands
+ * 
+ * @version 1.00	Packing, unpacking, and schoolbook multiplication of limbs
+ *
+ */
+final class UNumberLimbs {
+
+	/**
+	 * A limb array holds an unsigned integer with the least significant limb in element zero.
+	 * Each limb holds a value from 0 to BASE-1, so the product of two limbs plus two more limbs
+	 * always fits in a long.
+	 */
+	static final int BASE = 1000000000;	// The radix of a limb
+	static final int DIGITS = 9;		// The number of decimal digits in one limb
+
+	/**
+	 * The shorter operand length, in limbs, at which multiply switches from the by-hand 
+	 * algorithm to Karatsuba, from Karatsuba to Toom-Cook 3, and from Toom-Cook 3 to the number 
+	 * theoretic transform.  See UNumber.setMultiplyThresholds.
+	 */
+	static int karatsubaThreshold = 48;
+	static int toomCook3Threshold = 128;
+	static int nttThreshold = 1024;
+
+	/**
+	 * The shorter operand length, in limbs, at which multiply splits its work across the common 
+	 * ForkJoinPool.  See UNumber.setParallelThreshold.
+	 */
+	static int parallelThreshold = 11112;
+
+	/**
+	 * The divisor and quotient length, in limbs, at which divide switches from Knuth's Algorithm 
+	 * D to a Newton-Raphson reciprocal.  See UNumber.setDivideThreshold.
+	 */
+	static int newtonThreshold = 400;
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberLimbs() {
+	}
+
+	/**********
+	 * Pack the digits d[from] through d[to-1] into limbs.  The digits are read as an integer,
+	 * with d[to-1] as the units digit, so the last limb (the most significant) may hold fewer
+	 * than nine digits.
+	 *
+	 * @param d		The mantissa digits, MSD first
+	 * @param from	The index of the first (most significant) digit to pack
+	 * @param to	One past the index of the last (least significant) digit to pack
+	 *
+	 * @return the limbs, least significant limb first
+	 */
+	static int[] pack(byte[] d, int from, int to) {
+		int [] limbs = new int[(to - from + DIGITS - 1) / DIGITS];
+		int end = to;
+		for (int k = 0; k < limbs.length; k++) {
+			// Each limb takes the next nine digits working from the LSD toward the MSD
+			int start = Math.max(end - DIGITS, from);
+			int v = 0;
+			for (int i = start; i < end; i++) v = v * 10 + d[i];
+			limbs[k] = v;
+			end = start;
+		}
+		return limbs;
+	}
+
+	/**********
+	 * Unpack the integer held in the limbs into d[from] through d[to-1], right aligned so the
+	 * units digit lands in d[to-1].  Positions to the left of the value are set to zero.  The
+	 * caller must make the digit range large enough to hold the value.
+	 *
+	 * @param limbs	The limbs, least significant limb first
+	 * @param d		The digit array to receive the value
+	 * @param from	The index of the most significant digit position to fill
+	 * @param to	One past the index of the units digit position
+	 */
+	static void unpack(int[] limbs, byte[] d, int from, int to) {
+		int ndx = to;
+		for (int k = 0; k < limbs.length && ndx > from; k++) {
+			int v = limbs[k];
+			for (int i = 0; i < DIGITS && ndx > from; i++) {
+				d[--ndx] = (byte)(v % 10);		// Peel off the units digit of the limb
+				v /= 10;
+			}
+		}
+		while (ndx > from) d[--ndx] = 0;		// Fill in any leading zeros
+	}
+
+	/**********
+	 * The exact product of two limb integers.  The algorithm is chosen by the length of the 
+	 * shorter operand: the by-hand algorithm for short operands, Karatsuba above the Karatsuba 
+	 * threshold, Toom-Cook 3 above the Toom-Cook 3 threshold, and the number theoretic transform 
+	 * (UNumberNTT) above the NTT threshold.  A product too long for one transform is split up by 
+	 * Toom-Cook 3 until the pieces fit.  Outside of the transform, a much longer operand is cut 
+	 * into pieces the size of the shorter one so each piece is a balanced product.
+	 * 
+	 * When a and b are the same array, the product is a square, and every tier takes advantage 
+	 * of it: the by-hand algorithm computes each cross product a[i]*a[j] once and doubles it, 
+	 * Karatsuba and Toom-Cook 3 split the operand once and pass the same pieces as both operands 
+	 * of each smaller product, so those are squares too, and the transform is done once per prime.
+	 * 
+	 * From the parallel threshold up, the independent smaller products are computed at the same 
+	 * time on the common ForkJoinPool, as is the work of the transform.  Each piece of work 
+	 * writes only its own result, and the results are combined in the same order as always, so 
+	 * the product does not depend on how many cores there are.
+	 *
+	 * @param a		The multiplicand limbs
+	 * @param b		The multiplier limbs
+	 *
+	 * @return the a.length + b.length limbs of the product
+	 */
+	static int[] multiply(int[] a, int[] b) {
+		// Work with the longer operand as "a" and discard any leading zero limbs
+		if (a.length < b.length) {int [] t = a; a = b; b = t;}
+		int na = significantLength(a);
+		int nb = significantLength(b);
+		int [] product = new int[a.length + b.length];
+		if (na == 0 || nb == 0) return product;
+		if (na < nb) {int [] t = a; a = b; b = t; int n = na; na = nb; nb = n;}
+
+		boolean parallel = nb >= parallelThreshold;
+		if (nb < karatsubaThreshold) {
+			if (a == b) schoolbookSquare(a, na, product);
+			else schoolbook(a, na, b, nb, product, 0);
+		}
+		else if (nb >= nttThreshold && na + nb <= UNumberNTT.MAX_LENGTH)
+			UNumberNTT.multiply(a, na, b, nb, product, parallel);
+		else if (na >= 2 * nb) {
+			// Unbalanced, so cut a into pieces of nb limbs and add in each piece's product
+			int [] shorter = java.util.Arrays.copyOf(b, nb);
+			int [][] pieces = new int[(na + nb - 1) / nb][];
+			int [][] multipliers = new int[pieces.length][];
+			for (int k = 0; k < pieces.length; k++) {
+				pieces[k] = java.util.Arrays.copyOfRange(a, k * nb, Math.min((k + 1) * nb, na));
+				multipliers[k] = shorter;
+			}
+			int [][] products = multiplyAll(pieces, multipliers, parallel);
+			for (int k = 0; k < products.length; k++) addInto(product, products[k], k * nb);
+		}
+		else if (nb < toomCook3Threshold)
+			karatsuba(a, na, b, nb, product);
+		else
+			toomCook3(a, na, b, nb, product);
+		return product;
+	}
+
+	/**********
+	 * The by-hand algorithm, nine digits by nine digits.  The carry for a row is kept in a long 
+	 * and passed from one limb to the next instead of being rippled through the digits after 
+	 * each step.  The product of a[0..na-1] and b[0..nb-1] is added into the product starting 
+	 * at limb "offset".
+	 */
+	private static void schoolbook(int[] a, int na, int[] b, int nb, int[] product, int offset) {
+		for (int i = 0; i < na; i++) {
+			long ai = a[i];
+			if (ai == 0) continue;				// A zero limb adds nothing to the product
+			long carry = 0;
+			int p = offset + i;
+			for (int j = 0; j < nb; j++, p++) {
+				long t = ai * b[j] + product[p] + carry;
+				product[p] = (int)(t % BASE);
+				carry = t / BASE;
+			}
+			// Resolve the row's last carry into the limbs to the left
+			while (carry != 0) {
+				long t = product[p] + carry;
+				product[p++] = (int)(t % BASE);
+				carry = t / BASE;
+			}
+		}
+	}
+
+	/**********
+	 * The by-hand algorithm for the square of a[0..n-1].  Each cross product a[i]*a[j] with i < j 
+	 * appears twice in the square, so the rows only run to the right of the diagonal, which is 
+	 * half the work, and the sum is then doubled and the squares of the limbs added in.
+	 */
+	private static void schoolbookSquare(int[] a, int n, int[] product) {
+		for (int i = 0; i < n - 1; i++) {
+			long ai = a[i];
+			if (ai == 0) continue;
+			long carry = 0;
+			int p = 2 * i + 1;
+			for (int j = i + 1; j < n; j++, p++) {
+				long t = ai * a[j] + product[p] + carry;
+				product[p] = (int)(t % BASE);
+				carry = t / BASE;
+			}
+			product[p] = (int)carry;			// Nothing is to the left of the row yet
+		}
+		
+		// Double the cross products and add the squares on the diagonal
+		long carry = 0;
+		for (int i = 0; i < n; i++) {
+			long square = (long)a[i] * a[i];
+			long t = 2L * product[2 * i] + square % BASE + carry;
+			product[2 * i] = (int)(t % BASE);
+			t = 2L * product[2 * i + 1] + square / BASE + t / BASE;
+			product[2 * i + 1] = (int)(t % BASE);
+			carry = t / BASE;
+		}
+	}
+
+	/**********
+	 * Karatsuba multiplication.  Splitting both operands at h limbs, a = a1*B^h + a0 and 
+	 * b = b1*B^h + b0, the product needs only three half size products: a0*b0, a1*b1, and 
+	 * (a0+a1)*(b0+b1), since the middle term is the last one less the other two.  For a square, 
+	 * the three are squares as well.
+	 */
+	private static void karatsuba(int[] a, int na, int[] b, int nb, int[] product) {
+		int h = (na + 1) / 2;
+		int [] a0 = java.util.Arrays.copyOfRange(a, 0, h);
+		int [] a1 = java.util.Arrays.copyOfRange(a, h, na);
+		boolean square = a == b;
+		int [] b0 = square ? a0 : java.util.Arrays.copyOfRange(b, 0, Math.min(h, nb));
+		int [] b1 = square ? a1 : java.util.Arrays.copyOfRange(b, Math.min(h, nb), nb);
+		int [] sumA = add(a0, a1);
+
+		int [][] z = multiplyAll(new int[][] {a0, sumA, a1}, 
+				new int[][] {b0, square ? sumA : add(b0, b1), b1}, nb >= parallelThreshold);
+		int [] z0 = z[0], z1 = z[1], z2 = z[2];
+		subtractFrom(z1, z0);
+		subtractFrom(z1, z2);
+
+		addInto(product, z0, 0);
+		addInto(product, z1, h);
+		addInto(product, z2, 2 * h);
+	}
+
+	/**********
+	 * Toom-Cook 3 multiplication.  Each operand is split into three parts of k limbs and read as 
+	 * a polynomial in x = B^k, such as a(x) = a2*x^2 + a1*x + a0.  The product polynomial has 
+	 * five coefficients, so it is fixed by its value at five points, 0, 1, -1, -2, and infinity, 
+	 * each of which needs one third size product.  The coefficients are then recovered using 
+	 * Bodrato's interpolation sequence, whose only divisions are exact divisions by 2 and 3.  For 
+	 * a square, b(x) is a(x), so it is evaluated once and the five products are squares.
+	 */
+	private static void toomCook3(int[] a, int na, int[] b, int nb, int[] product) {
+		int k = (na + 2) / 3;
+		Signed [] pa = evaluate(part(a, na, 0, k), part(a, na, k, k), part(a, na, 2 * k, k));
+		Signed [] pb = a == b ? pa : 
+			evaluate(part(b, nb, 0, k), part(b, nb, k, k), part(b, nb, 2 * k, k));
+
+		// The five products
+		int [][] x = new int[5][], y = new int[5][];
+		for (int i = 0; i < 5; i++) {x[i] = pa[i].mag; y[i] = pb[i].mag;}
+		int [][] z = multiplyAll(x, y, nb >= parallelThreshold);
+		Signed r0 = new Signed(z[0]), r1 = new Signed(z[1]), rInf = new Signed(z[4]);
+		Signed rm1 = new Signed(z[2], pa[2].negative != pb[2].negative);
+		Signed rm2 = new Signed(z[3], pa[3].negative != pb[3].negative);
+
+		// Interpolate the coefficients of x^1, x^2, and x^3
+		Signed c3 = Signed.divide(Signed.subtract(rm2, r1), 3);
+		Signed c1 = Signed.divide(Signed.subtract(r1, rm1), 2);
+		Signed c2 = Signed.subtract(rm1, r0);
+		c3 = Signed.add(Signed.divide(Signed.subtract(c2, c3), 2), Signed.times2(rInf));
+		c2 = Signed.subtract(Signed.add(c2, c1), rInf);
+		c1 = Signed.subtract(c1, c3);
+
+		// Every coefficient of the product of two non-negative polynomials is non-negative
+		addInto(product, r0.mag, 0);
+		addInto(product, c1.mag, k);
+		addInto(product, c2.mag, 2 * k);
+		addInto(product, c3.mag, 3 * k);
+		addInto(product, rInf.mag, 4 * k);
+	}
+
+	/**********
+	 * The products x[k] * y[k] of pairs of limb integers.  When parallel is true, they are 
+	 * computed at the same time on the common ForkJoinPool.  Each product is exact and goes into 
+	 * its own element, so the results are the same either way.
+	 */
+	private static int[][] multiplyAll(int[][] x, int[][] y, boolean parallel) {
+		int [][] products = new int[x.length][];
+		forEach(x.length, parallel, k -> products[k] = multiply(x[k], y[k]));
+		return products;
+	}
+
+	/**********
+	 * Run task(0) through task(count-1), at the same time on the common ForkJoinPool when 
+	 * parallel is true, and otherwise one after another.  A task that is itself run this way 
+	 * waits for its own tasks by helping with them, so the pool is never starved.
+	 *
+	 * @param count		The number of tasks
+	 * @param parallel	True to run the tasks at the same time
+	 * @param task		The task, given its number
+	 */
+	static void forEach(int count, boolean parallel, IntConsumer task) {
+		IntStream tasks = IntStream.range(0, count);
+		(parallel ? tasks.parallel() : tasks).forEach(task);
+	}
+
+	/**
+	 * The values of the polynomial p2*x^2 + p1*x + p0 at 0, 1, -1, -2, and infinity
+	 */
+	private static Signed[] evaluate(int[] p0, int[] p1, int[] p2) {
+		Signed v0 = new Signed(p0);
+		Signed t = Signed.add(v0, new Signed(p2));
+		Signed v1 = Signed.add(t, new Signed(p1));
+		Signed vm1 = Signed.subtract(t, new Signed(p1));
+		Signed vm2 = Signed.subtract(Signed.times2(Signed.add(vm1, new Signed(p2))), v0);
+		return new Signed[] {v0, v1, vm1, vm2, new Signed(p2)};
+	}
+
+	/**********
+	 * The quotient of two limb integers, floor(u / v).  A one limb divisor uses short division.  
+	 * Other divisors use Knuth's Algorithm D, which estimates each quotient limb from the leading 
+	 * limbs of the remainder and the divisor and is off by at most one after a simple test.  
+	 * When both the divisor and the quotient are at least the Newton threshold long, the 
+	 * quotient is found from a Newton-Raphson reciprocal of the divisor instead, so its cost 
+	 * follows that of multiply.
+	 *
+	 * @param u		The dividend limbs
+	 * @param v		The divisor limbs, which must not be zero
+	 *
+	 * @return the quotient limbs
+	 */
+	static int[] divide(int[] u, int[] v) {
+		int nu = significantLength(u);
+		int nv = significantLength(v);
+		if (nu < nv) return new int[1];				// The quotient is zero
+		if (nv == 1) return divideSmall(u, nu, v[0]);
+		if (nv >= newtonThreshold && nu - nv + 1 >= newtonThreshold) 
+			return newtonDivide(u, nu, v, nv);
+		return knuthDivide(u, nu, v, nv);
+	}
+
+	/**
+	 * Short division of the first n limbs of x by a single limb
+	 */
+	private static int[] divideSmall(int[] x, int n, long divisor) {
+		int [] q = new int[Math.max(n, 1)];
+		long remainder = 0;
+		for (int i = n - 1; i >= 0; i--) {
+			long v = remainder * BASE + x[i];
+			q[i] = (int)(v / divisor);
+			remainder = v % divisor;
+		}
+		return q;
+	}
+
+	/**
+	 * The first n limbs of x times a single limb, with room for the carry
+	 */
+	private static int[] multiplySmall(int[] x, int n, long factor) {
+		int [] r = new int[n + 1];
+		long carry = 0;
+		for (int i = 0; i < n; i++) {
+			long t = x[i] * factor + carry;
+			r[i] = (int)(t % BASE);
+			carry = t / BASE;
+		}
+		r[n] = (int)carry;
+		return r;
+	}
+
+	/**********
+	 * Knuth's Algorithm D (The Art of Computer Programming, Vol. 2, 4.3.1).  Both operands are 
+	 * first scaled so the divisor's leading limb is at least BASE/2, which is what keeps each 
+	 * quotient limb estimate within one of the true value.
+	 */
+	private static int[] knuthDivide(int[] u, int nu, int[] v, int nv) {
+		long scale = BASE / ((long)v[nv - 1] + 1);
+		int [] un = multiplySmall(u, nu, scale);		// The remainder, nu + 1 limbs
+		int [] vn = multiplySmall(v, nv, scale);		// The top limb of this product is zero
+		long vTop = vn[nv - 1];
+		long vNext = vn[nv - 2];
+		int [] q = new int[nu - nv + 1];
+
+		for (int j = nu - nv; j >= 0; j--) {
+			// Estimate the quotient limb from the top two limbs of the remainder, then refine it 
+			// with the third, which leaves it at most one too large
+			long num = (long)un[j + nv] * BASE + un[j + nv - 1];
+			long qHat = num / vTop;
+			long rHat = num % vTop;
+			while (qHat >= BASE || qHat * vNext > rHat * BASE + un[j + nv - 2]) {
+				qHat--;
+				rHat += vTop;
+				if (rHat >= BASE) break;
+			}
+
+			// Subtract qHat times the divisor from the remainder
+			long carry = 0;
+			int borrow = 0;
+			for (int i = 0; i < nv; i++) {
+				long p = qHat * vn[i] + carry;
+				carry = p / BASE;
+				long t = un[i + j] - p % BASE - borrow;
+				if (t < 0) {t += BASE; borrow = 1;}
+				else borrow = 0;
+				un[i + j] = (int)t;
+			}
+			long top = un[j + nv] - carry - borrow;
+
+			// If the remainder went negative, qHat was one too large, so add the divisor back
+			if (top < 0) {
+				qHat--;
+				int c = 0;
+				for (int i = 0; i < nv; i++) {
+					int t = un[i + j] + vn[i] + c;
+					if (t >= BASE) {t -= BASE; c = 1;}
+					else c = 0;
+					un[i + j] = t;
+				}
+				top += c;
+			}
+			un[j + nv] = (int)top;
+			q[j] = (int)qHat;
+		}
+		return q;
+	}
+
+	/**********
+	 * Division by way of the reciprocal.  With t limbs of working precision, W is the divisor 
+	 * cut (or extended) to t limbs, X = floor(B^2t / W) is found by Newton's method, and the 
+	 * quotient estimate is U * X scaled back down.  The estimate is within a few units of the 
+	 * true quotient, and one multiplication to form the remainder tells us how to correct it.
+	 */
+	private static int[] newtonDivide(int[] u, int nu, int[] v, int nv) {
+		int t = nu - nv + 3;				// The quotient's limbs and two guard limbs
+		return divide(u, v, reciprocalOf(v, t), t);
+	}
+
+	/**********
+	 * The reciprocal of a divisor that divide(u, v, x, t) needs, X = floor(B^2t / W), where W is 
+	 * v cut (or extended) to t limbs.  A reciprocal of t limbs of precision serves any dividend 
+	 * whose quotient has no more than t - 2 limbs.
+	 *
+	 * @param v		The divisor limbs, which must not be zero
+	 * @param t		The precision, in limbs
+	 *
+	 * @return the limbs of the reciprocal
+	 */
+	static int[] reciprocalOf(int[] v, int t) {
+		int nv = significantLength(v);
+		int [] w = new int[t];
+		if (nv >= t) System.arraycopy(v, nv - t, w, 0, t);
+		else System.arraycopy(v, 0, w, t - nv, nv);
+		return reciprocal(w, t);
+	}
+
+	/**********
+	 * The quotient of two limb integers, floor(u / v), given the reciprocal of v (Barrett's 
+	 * method).  The quotient is estimated with one multiplication, by the reciprocal, and put 
+	 * right with another, which forms the remainder.  A reciprocal with more precision than 
+	 * this quotient needs is first cut down to what it needs.
+	 *
+	 * @param u		The dividend limbs
+	 * @param v		The divisor limbs, which must not be zero
+	 * @param x		The reciprocal of v, from reciprocalOf(v, t)
+	 * @param t		The precision of the reciprocal, at least two limbs more than the quotient
+	 *
+	 * @return the quotient limbs
+	 */
+	static int[] divide(int[] u, int[] v, int[] x, int t) {
+		int nu = significantLength(u);
+		int nv = significantLength(v);
+		if (nu < nv) return new int[1];				// The quotient is zero
+		int nq = nu - nv + 1;						// The quotient has at most this many limbs
+		if (t > nq + 2) {
+			// X / B^(t-(nq+2)) is, less a unit or so, the reciprocal with nq + 2 limbs
+			x = java.util.Arrays.copyOfRange(x, t - (nq + 2), x.length);
+			t = nq + 2;
+		}
+
+		// V is approximately W * B^(nv-t), so U / V is approximately U * X / B^(t+nv).  Only the 
+		// top limbs of U matter to the estimate, so drop the rest
+		int drop = Math.max(0, nu - (t + 2));
+		int [] product = multiply(java.util.Arrays.copyOfRange(u, drop, nu), x);
+		int shift = t + nv - drop;
+		int [] q = new int[nq + 1];
+		if (shift < product.length)
+			System.arraycopy(product, shift, q, 0, Math.min(q.length, product.length - shift));
+
+		// Form q * v and correct q until 0 <= u - q*v < v
+		int [] uu = java.util.Arrays.copyOf(u, nu + 1);
+		int [] vv = java.util.Arrays.copyOf(v, nv);
+		int [] qv = java.util.Arrays.copyOf(multiply(q, vv), nu + 2);
+		while (compare(qv, uu) > 0) {
+			subtractFrom(q, ONE);
+			subtractFrom(qv, vv);
+		}
+		subtractFrom(uu, qv);						// uu is now the remainder
+		while (compare(uu, vv) >= 0) {
+			addInto(q, ONE, 0);
+			subtractFrom(uu, vv);
+		}
+		return q;
+	}
+
+	/**********
+	 * floor(B^2t / w) for a t limb w whose leading limb is not zero, by Newton's method with 
+	 * precision doubling.  The reciprocal of the top half of w (plus guard limbs) is found 
+	 * first, and a single Newton step X + X*(B^2t - w*X) / B^2t brings it to full precision, 
+	 * after which it is off by only a few units and is corrected exactly.
+	 */
+	private static int[] reciprocal(int[] w, int t) {
+		int [] unit = new int[2 * t + 1];			// B^2t
+		unit[2 * t] = 1;
+		int h = (t + 5) / 2;						// Enough limbs that one step reaches t
+		if (h >= t || t < newtonThreshold) return knuthDivide(unit, 2 * t + 1, w, t);
+
+		// Start from the reciprocal of the top h limbs, scaled up to t limbs of precision
+		int [] xh = reciprocal(java.util.Arrays.copyOfRange(w, t - h, t), h);
+		int [] x = new int[t + 2];
+		System.arraycopy(xh, 0, x, t - h, Math.min(xh.length, t + 2 - (t - h)));
+
+		// One Newton step.  The error term B^2t - w*X may be either sign.
+		int [] wx = multiply(w, x);
+		int [] correction;
+		boolean tooSmall = compare(wx, unit) <= 0;
+		if (tooSmall) {
+			correction = java.util.Arrays.copyOf(unit, Math.max(unit.length, wx.length));
+			subtractFrom(correction, wx);
+		} else {
+			correction = wx;
+			subtractFrom(correction, unit);
+		}
+		int [] delta = multiply(x, correction);
+		delta = delta.length > 2 * t ? java.util.Arrays.copyOfRange(delta, 2 * t, delta.length) 
+				: new int[1];
+		x = java.util.Arrays.copyOf(x, t + 3);
+		if (tooSmall) addInto(x, delta, 0);
+		else if (compare(x, delta) > 0) subtractFrom(x, delta);
+		else x = new int[t + 3];
+
+		// Correct X until 0 <= B^2t - w*X < w
+		int [] p = java.util.Arrays.copyOf(multiply(w, x), 2 * t + 2);
+		while (compare(p, unit) > 0) {
+			subtractFrom(x, ONE);
+			subtractFrom(p, w);
+		}
+		int [] r = java.util.Arrays.copyOf(unit, 2 * t + 2);
+		subtractFrom(r, p);
+		while (compare(r, w) >= 0) {
+			addInto(x, ONE, 0);
+			subtractFrom(r, w);
+		}
+		return x;
+	}
+
+	private static final int [] ONE = {1};
+
+	/**********
+	 * Correct an estimate of the integer square root of n, so that s^2 <= n < (s+1)^2.  Each 
+	 * step costs a squaring, so the estimate must already be within a unit or two.
+	 *
+	 * @param n		The limbs of the value
+	 * @param s		The limbs of the estimate, which must not be zero
+	 *
+	 * @return the limbs of the integer square root
+	 */
+	static int[] correctSquareRoot(int[] n, int[] s) {
+		while (true) {
+			int [] square = multiply(s, s);			// Takes the squaring kernels
+			if (compare(square, n) > 0) {
+				s = java.util.Arrays.copyOf(s, s.length);
+				subtractFrom(s, ONE);
+				continue;
+			}
+			// (s+1)^2 = s^2 + 2s + 1, so it is larger than n when n - s^2 is no more than 2s
+			int [] remainder = java.util.Arrays.copyOf(n, Math.max(n.length, square.length));
+			subtractFrom(remainder, square);
+			if (compare(remainder, add(s, s)) <= 0) return s;
+			s = add(s, ONE);
+		}
+	}
+
+	/**********
+	 * x times 10^k, as a new limb array.  Whole limbs are shifted and the rest of the power 
+	 * of ten is a single limb multiplication.
+	 *
+	 * @param x		The limbs to scale
+	 * @param k		The power of ten, which must not be negative
+	 *
+	 * @return the scaled limbs
+	 */
+	static int[] scaleByPowerOfTen(int[] x, int k) {
+		int n = significantLength(x);
+		int shift = k / DIGITS;
+		int [] r = new int[n + shift + 1];
+		System.arraycopy(x, 0, r, shift, n);
+		int factor = 1;
+		for (int i = 0; i < k % DIGITS; i++) factor *= 10;
+		if (factor > 1) {
+			long carry = 0;
+			for (int i = shift; i < r.length; i++) {
+				long t = (long)r[i] * factor + carry;
+				r[i] = (int)(t % BASE);
+				carry = t / BASE;
+			}
+		}
+		return r;
+	}
+
+	/**
+	 * Limbs "from" through "from+k-1" of the first n limbs of x, which may run past the end
+	 */
+	private static int[] part(int[] x, int n, int from, int k) {
+		if (from >= n) return new int[0];
+		return java.util.Arrays.copyOfRange(x, from, Math.min(from + k, n));
+	}
+
+	/**********
+	 * The number of limbs in x once any leading (most significant) zero limbs are ignored
+	 */
+	static int significantLength(int[] x) {
+		int n = x.length;
+		while (n > 0 && x[n - 1] == 0) n--;
+		return n;
+	}
+
+	/**********
+	 * Compare the magnitudes of two limb integers, ignoring leading zero limbs
+	 *
+	 * @return -1, 0, or 1 as x is less than, equal to, or greater than y
+	 */
+	static int compare(int[] x, int[] y) {
+		int nx = significantLength(x);
+		int ny = significantLength(y);
+		if (nx != ny) return nx < ny ? -1 : 1;
+		for (int i = nx - 1; i >= 0; i--)
+			if (x[i] != y[i]) return x[i] < y[i] ? -1 : 1;
+		return 0;
+	}
+
+	/**********
+	 * The sum of two limb integers as a new limb array with room for a carry
+	 */
+	static int[] add(int[] x, int[] y) {
+		if (x.length < y.length) {int [] t = x; x = y; y = t;}
+		int [] sum = new int[x.length + 1];
+		int carry = 0;
+		for (int i = 0; i < x.length; i++) {
+			int v = x[i] + (i < y.length ? y[i] : 0) + carry;	// At most 2*BASE-1, fits an int
+			if (v >= BASE) {v -= BASE; carry = 1;}
+			else carry = 0;
+			sum[i] = v;
+		}
+		sum[x.length] = carry;
+		return sum;
+	}
+
+	/**********
+	 * Add x * B^offset into r.  The caller makes r long enough to hold the sum.
+	 */
+	static void addInto(int[] r, int[] x, int offset) {
+		int n = significantLength(x);
+		int carry = 0;
+		int i = 0;
+		for (; i < n; i++) {
+			int v = r[offset + i] + x[i] + carry;
+			if (v >= BASE) {v -= BASE; carry = 1;}
+			else carry = 0;
+			r[offset + i] = v;
+		}
+		for (int p = offset + i; carry != 0; p++) {		// Ripple the last carry to the left
+			int v = r[p] + 1;
+			if (v == BASE) r[p] = 0;
+			else {r[p] = v; carry = 0;}
+		}
+	}
+
+	/**********
+	 * Subtract y from r in place.  The caller guarantees that r is not less than y.
+	 */
+	static void subtractFrom(int[] r, int[] y) {
+		int n = significantLength(y);
+		int borrow = 0;
+		int i = 0;
+		for (; i < n; i++) {
+			int v = r[i] - y[i] - borrow;
+			if (v < 0) {v += BASE; borrow = 1;}
+			else borrow = 0;
+			r[i] = v;
+		}
+		for (; borrow != 0; i++) {						// Ripple the last borrow to the left
+			if (r[i] == 0) r[i] = BASE - 1;
+			else {r[i]--; borrow = 0;}
+		}
+	}
+
+	/**********
+	 * A signed limb integer, needed only for the intermediate values of Toom-Cook 3, some of 
+	 * which are negative.
+	 */
+	private static final class Signed {
+		final int [] mag;			// The magnitude
+		final boolean negative;		// True if the value is less than zero
+
+		Signed(int[] mag) {
+			this(mag, false);
+		}
+
+		Signed(int[] mag, boolean negative) {
+			this.mag = mag;
+			this.negative = negative && significantLength(mag) > 0;
+		}
+
+		static Signed add(Signed x, Signed y) {
+			if (x.negative == y.negative) return new Signed(UNumberLimbs.add(x.mag, y.mag), x.negative);
+			// The signs differ, so subtract the smaller magnitude from the larger
+			if (compare(x.mag, y.mag) >= 0) return new Signed(difference(x.mag, y.mag), x.negative);
+			return new Signed(difference(y.mag, x.mag), y.negative);
+		}
+
+		static Signed subtract(Signed x, Signed y) {
+			return add(x, new Signed(y.mag, !y.negative));
+		}
+
+		static Signed times2(Signed x) {
+			return new Signed(UNumberLimbs.add(x.mag, x.mag), x.negative);
+		}
+
+		/**
+		 * Divide by a small divisor that is known to divide the value exactly
+		 */
+		static Signed divide(Signed x, int divisor) {
+			int [] q = new int[x.mag.length];
+			long remainder = 0;
+			for (int i = x.mag.length - 1; i >= 0; i--) {
+				long v = remainder * BASE + x.mag[i];
+				q[i] = (int)(v / divisor);
+				remainder = v % divisor;
+			}
+			return new Signed(q, x.negative);
+		}
+
+		private static int[] difference(int[] x, int[] y) {
+			int [] r = java.util.Arrays.copyOf(x, x.length);
+			subtractFrom(r, y);
+			return r;
+		}
+	}
+}
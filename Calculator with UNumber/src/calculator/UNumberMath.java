@@ -0,0 +1,897 @@
+package calculator;
+
+/**
+ * <p> Title: UNumberMath Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: The elementary transcendental functions of UNumber values: exp, ln, sin,
+ * 		cos, tan, atan, atan2, and pow to a power that need not be an integer, each to a requested
+ * 		number of significant digits.  Without them, a computation such as Kepler's equation or a
+ * 		period of a^1.5 has to fall back to double and its 16 digits.
+ *
+ * 		Each function first reduces its argument to a small one.  exp(x) is 10^k exp(r), with k
+ * 		the nearest integer to x / ln(10), so |r| is at most ln(10)/2 and the power of ten only
+ * 		goes into the characteristic.  sin and cos take x less the nearest multiple of π/2, which
+ * 		leaves |r| at most π/4.  The reduced argument is then cut into pieces at 8, 16, 32, ...
+ * 		digits after the decimal point, r = r0 + r1 + r2 + ..., so exp(r) is the product of the
+ * 		exp(rj), and sin and cos follow from the angle sum formulas.  Each piece is a numerator of
+ * 		a few digits over a power of ten, or is small enough that its series needs few terms, and
+ * 		its power series is summed exactly, as one fraction, by binary splitting: the terms are
+ * 		split in two, each half is summed into a fraction, and the two fractions are combined, so
+ * 		the work is done by a few multiplications of long integers instead of by many divisions.
+ * 		The cost of a function is a small multiple of log n multiplications of n digits for each
+ * 		of the log n pieces.
+ *
+ * 		ln and atan are found by Newton's method from exp and from sin and cos, with the digits
+ * 		doubled at each step, so each costs about twice one evaluation at the full precision.  π
+ * 		and ln(10) come from UNumberConstants, which sums their series the same way and keeps
+ * 		them. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.01	π and ln(10) from UNumberConstants, with binary splitting shared with it
+ *
+ * @version 1.00	exp, ln, sin, cos, tan, atan, atan2, and pow to a requested precision
+ *
+ */
+public final class UNumberMath {
+
+	/**
+	 * The extra digits each function carries past the digits of its result
+	 */
+	private static final int GUARD_DIGITS = 12;
+
+	/**
+	 * The digits after the decimal point in the first piece of a reduced argument, so the
+	 * numerator of the first piece is a single limb
+	 */
+	private static final int FIRST_PIECE = 8;
+
+	private static final UNumber ONE = new UNumber(1);
+	static final int [] ONE_LIMB = {1};
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberMath() {
+	}
+
+	/**********
+	 * e to the power x, rounded half up to the specified number of significant digits
+	 *
+	 * @param x			The power, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return exp(x)
+	 */
+	public static UNumber exp(UNumber x, int digits) {
+		return exp(x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * e to the power x, rounded to the precision of the context, or to the length of x if it has
+	 * none
+	 *
+	 * @param x		The power, which is not changed
+	 * @param mc	The context
+	 * @return exp(x)
+	 */
+	public static UNumber exp(UNumber x, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x)) return finish(new UNumber(1), digits, mc);
+		return finish(expOf(x, digits + GUARD_DIGITS), digits, mc);
+	}
+
+	/**********
+	 * The natural logarithm of x, rounded half up to the specified number of significant digits
+	 *
+	 * @param x			The value, which must be positive and is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return ln(x)
+	 */
+	public static UNumber ln(UNumber x, int digits) {
+		return ln(x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * The natural logarithm of x, rounded to the precision of the context, or to the length of x
+	 * if it has none
+	 *
+	 * @param x		The value, which must be positive and is not changed
+	 * @param mc	The context
+	 * @return ln(x)
+	 */
+	public static UNumber ln(UNumber x, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x) || !x.s)
+			throw new ArithmeticException("The logarithm of a value that is not positive");
+		return finish(lnOf(x, digits + GUARD_DIGITS), digits, mc);
+	}
+
+	/**********
+	 * The sine of x, in radians, rounded half up to the specified number of significant digits
+	 *
+	 * @param x			The angle, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return sin(x)
+	 */
+	public static UNumber sin(UNumber x, int digits) {
+		return sin(x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * The sine of x, in radians, rounded to the precision of the context, or to the length of x
+	 * if it has none
+	 *
+	 * @param x		The angle, which is not changed
+	 * @param mc	The context
+	 * @return sin(x)
+	 */
+	public static UNumber sin(UNumber x, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x)) return finish(zero(), digits, mc);
+		return finish(sinCos(x, digits + GUARD_DIGITS)[0], digits, mc);
+	}
+
+	/**********
+	 * The cosine of x, in radians, rounded half up to the specified number of significant digits
+	 *
+	 * @param x			The angle, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return cos(x)
+	 */
+	public static UNumber cos(UNumber x, int digits) {
+		return cos(x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * The cosine of x, in radians, rounded to the precision of the context, or to the length of
+	 * x if it has none
+	 *
+	 * @param x		The angle, which is not changed
+	 * @param mc	The context
+	 * @return cos(x)
+	 */
+	public static UNumber cos(UNumber x, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x)) return finish(new UNumber(1), digits, mc);
+		return finish(sinCos(x, digits + GUARD_DIGITS)[1], digits, mc);
+	}
+
+	/**********
+	 * The tangent of x, in radians, rounded half up to the specified number of significant digits
+	 *
+	 * @param x			The angle, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return tan(x)
+	 */
+	public static UNumber tan(UNumber x, int digits) {
+		return tan(x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * The tangent of x, in radians, rounded to the precision of the context, or to the length of
+	 * x if it has none
+	 *
+	 * @param x		The angle, which is not changed
+	 * @param mc	The context
+	 * @return tan(x)
+	 */
+	public static UNumber tan(UNumber x, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x)) return finish(zero(), digits, mc);
+		int w = digits + GUARD_DIGITS;
+		UNumber [] sc = sinCos(x, w);
+		sc[0].div(sc[1], new UNumberContext(w));
+		return finish(sc[0], digits, mc);
+	}
+
+	/**********
+	 * The arctangent of x, in radians between -π/2 and π/2, rounded half up to the specified
+	 * number of significant digits
+	 *
+	 * @param x			The tangent, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return atan(x)
+	 */
+	public static UNumber atan(UNumber x, int digits) {
+		return atan(x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * The arctangent of x, in radians between -π/2 and π/2, rounded to the precision of the
+	 * context, or to the length of x if it has none
+	 *
+	 * @param x		The tangent, which is not changed
+	 * @param mc	The context
+	 * @return atan(x)
+	 */
+	public static UNumber atan(UNumber x, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x)) return finish(zero(), digits, mc);
+		return finish(atanOf(x, digits + GUARD_DIGITS), digits, mc);
+	}
+
+	/**********
+	 * The angle of the point (x, y) from the positive x axis, in radians between -π and π,
+	 * rounded half up to the specified number of significant digits
+	 *
+	 * @param y			The ordinate, which is not changed
+	 * @param x			The abscissa, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return atan2(y, x)
+	 */
+	public static UNumber atan2(UNumber y, UNumber x, int digits) {
+		return atan2(y, x, new UNumberContext(digits));
+	}
+
+	/**********
+	 * The angle of the point (x, y) from the positive x axis, in radians between -π and π,
+	 * rounded to the precision of the context, or to the length of the longer of y and x if it
+	 * has none.  As with Math.atan2, the angle of the origin is zero.
+	 *
+	 * @param y		The ordinate, which is not changed
+	 * @param x		The abscissa, which is not changed
+	 * @param mc	The context
+	 * @return atan2(y, x)
+	 */
+	public static UNumber atan2(UNumber y, UNumber x, UNumberContext mc) {
+		int digits = Math.max(size(mc, y), size(mc, x));
+		int w = digits + GUARD_DIGITS;
+		if (isZero(x)) {
+			if (isZero(y)) return finish(zero(), digits, mc);
+			UNumber angle = halfPi(w);					// Straight up or straight down
+			angle.s = y.s;
+			return finish(angle, digits, mc);
+		}
+		UNumber angle = zero();
+		if (!isZero(y)) {
+			UNumber ratio = new UNumber(y);
+			ratio.div(x, new UNumberContext(w));
+			angle = atanOf(ratio, w);
+		}
+
+		// To the left of the y axis, the angle is a half turn from that of y/x
+		if (!x.s) {
+			UNumber halfTurn = UNumberConstants.get(UNumberConstants.Constant.PI, w);
+			if (y.s) angle.add(halfTurn, new UNumberContext(w));
+			else angle.sub(halfTurn, new UNumberContext(w));
+		}
+		return finish(angle, digits, mc);
+	}
+
+	/**********
+	 * x to the power y, rounded half up to the specified number of significant digits
+	 *
+	 * @param x			The base, which is not changed
+	 * @param y			The power, which is not changed
+	 * @param digits	The number of significant digits in the result
+	 * @return x^y
+	 */
+	public static UNumber pow(UNumber x, UNumber y, int digits) {
+		return pow(x, y, new UNumberContext(digits));
+	}
+
+	/**********
+	 * x to the power y, rounded to the precision of the context, or to the length of x if it has
+	 * none.  A power that is an integer small enough for an int is done exactly by UNumber pow
+	 * and rounded once.  Any other power is exp(y ln(x)), which needs x to be positive, unless y
+	 * is an integer, in which case the sign of the result is that of x^y.  Zero to the power zero
+	 * is one, zero to a positive power is zero, and zero to a negative power, integer or not,
+	 * throws an ArithmeticException.
+	 *
+	 * @param x		The base, which is not changed
+	 * @param y		The power, which is not changed
+	 * @param mc	The context
+	 * @return x^y
+	 */
+	public static UNumber pow(UNumber x, UNumber y, UNumberContext mc) {
+		int digits = size(mc, x);
+		if (isZero(x)) {
+			if (isZero(y)) return finish(new UNumber(1), digits, mc);
+			if (y.s) return finish(zero(), digits, mc);
+			throw new ArithmeticException("Zero to a negative power");
+		}
+		boolean integer = isInteger(y);
+		if (integer && y.dP <= 9) {
+			UNumber result = new UNumber(x);
+			result.pow(intValue(y),
+					new UNumberContext(digits, mc.getRoundingMode(), mc.getMaxExponent()));
+			return result;
+		}
+		if (!x.s && !integer)
+			throw new ArithmeticException("A negative value to a power that is not an integer");
+
+		// y ln(x) needs as many more digits as it has before the decimal point, for exp to have
+		// all of the digits after it
+		int w = digits + GUARD_DIGITS;
+		double magnitude = Math.abs(toDouble(y) * lnEstimate(x));
+		if (!(magnitude < 1e10))
+			throw new ArithmeticException("The characteristic of the power is out of range");
+		int whole = magnitude > 1 ? (int)Math.log10(magnitude) + 1 : 0;
+		UNumber base = new UNumber(x);
+		base.s = true;
+		UNumber power = lnOf(base, w + whole);
+		power.mpy(y, new UNumberContext(w + whole));
+		UNumber result = expOf(power, w);
+		result.s = x.s || !isOdd(y);
+		return finish(result, digits, mc);
+	}
+
+	/*********************************************************************************************/
+
+	/**
+	 * exp(x) with w significant digits, for x not zero
+	 */
+	private static UNumber expOf(UNumber x, int w) {
+		// exp(x) = 10^k exp(r), with r = x - k ln(10) and k the nearest integer to x / ln(10)
+		double k = Math.rint(toDouble(x) / Math.log(10));
+		if (!(Math.abs(k) < Integer.MAX_VALUE))
+			throw new ArithmeticException("The characteristic of exp(x) is out of range");
+		UNumber r = new UNumber(x);
+		if (k != 0) {
+			// k ln(10) is about as large as x, so it needs as many more digits as x has before the
+			// decimal point for r to be right to w digits after it
+			int p = w + Math.max(x.dP, 0) + 2;
+			UNumberContext mc = new UNumberContext(p);
+			UNumber shift = UNumberConstants.get(UNumberConstants.Constant.LN10, p);
+			shift.mpyInt((int)k, mc);
+			r.sub(shift, mc);
+		}
+		UNumber result = expReduced(r, w);
+		result.scaleByPowerOfTen((int)k);
+		return result;
+	}
+
+	/**
+	 * exp(r) with w significant digits, for |r| no more than about ln(10)/2.  r is cut into
+	 * pieces at FIRST_PIECE, 2 FIRST_PIECE, 4 FIRST_PIECE, ... digits after the decimal point,
+	 * down to the w-th digit, and exp(r) is the product of the exponentials of the pieces.  Each
+	 * of those is a fraction, and the numerators and the denominators are multiplied separately,
+	 * so there is only one division, at the end.
+	 */
+	private static UNumber expReduced(UNumber r, int w) {
+		UNumberContext mc = new UNumberContext(w);
+		byte [] fixed = fixed(r, w);
+		UNumber numerator = new UNumber(1);
+		UNumber denominator = new UNumber(1);
+		for (int from = 0, end = Math.min(FIRST_PIECE, w); from <= w;
+				from = end + 1, end = Math.min(2 * end, w)) {
+			int first = firstDigit(fixed, from, end);
+			if (first > end) continue;				// This piece is zero
+			int [] p = UNumberLimbs.pack(fixed, from, end + 1);
+			double log10 = Math.log10(fixed[first] + 1) - first;
+			UNumber [] piece = expSeries(p, end, !r.s, log10, w);
+			numerator.mpy(piece[0], mc);
+			denominator.mpy(piece[1], mc);
+		}
+		numerator.div(denominator, mc);
+		return numerator;
+	}
+
+	/**
+	 * exp(x) as a fraction, numerator and then denominator, each with w significant digits, for 
+	 * x = ±p / 10^e, with |x| < 10^log10, by the series 1 + x + x^2/2! + x^3/3! + ...
+	 */
+	private static UNumber [] expSeries(int[] p, int e, boolean negative, double log10, int w) {
+		int n = terms(log10, w);
+		Split s = split(k -> k == 0 ? new Split(ONE_LIMB, false, ONE_LIMB, null, 0) :
+				new Split(p, negative, limbs(k), null, e), 0, n, false);
+		return fraction(s, w);
+	}
+
+	/**
+	 * sin(x) and cos(x), in that order, with w significant digits, for x not zero
+	 */
+	private static UNumber [] sinCos(UNumber x, int w) {
+		// r = x - k π/2, with k the nearest integer to x / (π/2), needs as many more digits of π
+		// as x has before the decimal point, and then as many more as r has zeros after it
+		int whole = Math.max(x.dP, 0);
+		int p = w + whole + 2;
+		UNumber halfPi = halfPi(p);
+		UNumber quotient = new UNumber(x);
+		quotient.div(halfPi, new UNumberContext(whole + 2));
+		UNumber k = nearestInteger(quotient);
+		UNumber r = x;
+		int quadrant = 0;
+		if (!isZero(k)) {
+			quadrant = quadrant(k);
+			r = reduce(x, k, halfPi, p);
+			if (!isZero(r) && r.dP < 0) {
+				p -= r.dP;
+				r = reduce(x, k, halfPi(p), p);
+			}
+		}
+		UNumber [] sc = sinCosReduced(r, w);
+
+		// sin(r + k π/2) and cos(r + k π/2) are sin(r) and cos(r), swapped for odd k and negated
+		// by the quadrant
+		UNumber sin = sc[quadrant % 2];
+		UNumber cos = sc[1 - quadrant % 2];
+		if (quadrant == 1 || quadrant == 2) cos.s = !cos.s;
+		if (quadrant == 2 || quadrant == 3) sin.s = !sin.s;
+		return new UNumber [] {sin, cos};
+	}
+
+	/**
+	 * sin(r) and cos(r), in that order, with w significant digits, for |r| no more than about
+	 * π/4.  r is cut into pieces as for exp, and the sine and cosine of each piece are folded in
+	 * with the angle sum formulas.  The sines and cosines are kept as numerators over a common
+	 * denominator, so there is only one division, at the end.  r may be very small, so the pieces
+	 * start after its leading zeros, and the sine keeps w significant digits.
+	 */
+	private static UNumber [] sinCosReduced(UNumber r, int w) {
+		if (isZero(r)) return new UNumber [] {zero(), new UNumber(1)};
+		UNumberContext mc = new UNumberContext(w);
+		int fraction = w + Math.max(-r.dP, 0);
+		byte [] fixed = fixed(r, fraction);
+		UNumber sin = null;
+		UNumber cos = null;
+		UNumber denominator = null;
+		for (int from = 0, end = Math.min(Math.max(-r.dP, 0) + FIRST_PIECE, fraction);
+				from <= fraction; from = end + 1, end = Math.min(2 * end, fraction)) {
+			int first = firstDigit(fixed, from, end);
+			if (first > end) continue;
+			int [] p = UNumberLimbs.pack(fixed, from, end + 1);
+			double log10 = Math.log10(fixed[first] + 1) - first;
+			UNumber [] piece = sinCosSeries(p, end, log10, w);
+			if (sin == null) {
+				sin = piece[0];
+				cos = piece[1];
+				denominator = piece[2];
+				continue;
+			}
+
+			// sin(a + b) = sin a cos b + cos a sin b, and cos(a + b) = cos a cos b - sin a sin b
+			UNumber sinSum = new UNumber(sin);
+			sinSum.mpy(piece[1], mc);
+			UNumber t = new UNumber(cos);
+			t.mpy(piece[0], mc);
+			sinSum.add(t, mc);
+			UNumber cosSum = new UNumber(cos);
+			cosSum.mpy(piece[1], mc);
+			t = new UNumber(sin);
+			t.mpy(piece[0], mc);
+			cosSum.sub(t, mc);
+			sin = sinSum;
+			cos = cosSum;
+			denominator.mpy(piece[2], mc);
+		}
+		UNumber inverse = new UNumber(1);
+		inverse.div(denominator, mc);
+		sin.mpy(inverse, mc);
+		cos.mpy(inverse, mc);
+		sin.s = r.s;
+		return new UNumber [] {sin, cos};
+	}
+
+	/**
+	 * sin(x) and cos(x) as fractions over a common denominator, the numerators of the sine and 
+	 * of the cosine and then the denominator, each with w significant digits, for x = p / 10^e, 
+	 * with x < 10^log10, by the series x - x^3/3! + x^5/5! - ... and 1 - x^2/2! + x^4/4! - ...
+	 */
+	private static UNumber [] sinCosSeries(int[] p, int e, double log10, int w) {
+		UNumberContext mc = new UNumberContext(w);
+		int n = terms(log10, w) / 2 + 2;
+		int [] square = UNumberLimbs.multiply(p, p);
+		UNumber [] sin = fraction(split(k -> k == 0 ? new Split(p, false, ONE_LIMB, null, e) :
+				new Split(square, true, limbs(2L * k * (2 * k + 1)), null, 2 * e), 0, n, false), w);
+		UNumber [] cos = fraction(split(k -> k == 0 ? new Split(ONE_LIMB, false, ONE_LIMB, null, 0) :
+				new Split(square, true, limbs(2L * k * (2 * k - 1)), null, 2 * e), 0, n, false), w);
+		sin[0].mpy(cos[1], mc);
+		cos[0].mpy(sin[1], mc);
+		sin[1].mpy(cos[1], mc);
+		return new UNumber [] {sin[0], cos[0], sin[1]};
+	}
+
+	/**
+	 * ln(x) with w significant digits, for x positive
+	 */
+	private static UNumber lnOf(UNumber x, int w) {
+		// x = m 10^e, with m from 0.32 up to 3.2, so ln(x) = ln(m) + e ln(10) and |ln(m)| < 1.17
+		UNumber m = new UNumber(x);
+		int e = m.dP;
+		m.dP = 0;
+		if (m.d[0] < 3 || m.d[0] == 3 && m.length() > 1 && m.d[1] < 2) {
+			m.dP = 1;
+			e--;
+		}
+		UNumber result = lnReduced(m, w);
+		if (e != 0) {
+			// e ln(10) has at most 10 digits before the decimal point
+			int p = w + 11;
+			UNumber shift = UNumberConstants.get(UNumberConstants.Constant.LN10, p);
+			shift.mpyInt(e, new UNumberContext(p));
+			result.add(shift, new UNumberContext(w));
+		}
+		return result;
+	}
+
+	/**
+	 * ln(m) with w significant digits, for m from 0.32 up to 3.2, by Newton's method for
+	 * exp(y) = m, y = y + m exp(-y) - 1, which doubles the correct digits at each step.  When m
+	 * is very close to one, ln(m) is very small, and each step carries as many more digits as it
+	 * has zeros after the decimal point.
+	 */
+	private static UNumber lnReduced(UNumber m, int w) {
+		UNumber z = new UNumber(m);
+		z.sub(ONE, UNumberContext.UNLIMITED);		// m - 1, exactly
+		if (isZero(z)) return zero();
+		int extra = Math.max(-z.dP, 0);
+		double start = Math.log1p(toDouble(z));
+		UNumber y = start == 0 ? new UNumber(z) : new UNumber(start);
+		for (int p : steps(w)) {
+			UNumberContext mc = new UNumberContext(p + extra);
+			UNumber correction = new UNumber(y);
+			correction.s = !y.s;
+			correction = isZero(y) ? new UNumber(1) : expReduced(correction, p + extra);
+			correction.mpy(m, mc);
+			correction.sub(ONE, mc);
+			y.add(correction, mc);
+		}
+		return y;
+	}
+
+	/**
+	 * atan(x) with w significant digits, for x not zero
+	 */
+	private static UNumber atanOf(UNumber x, int w) {
+		UNumber magnitude = new UNumber(x);
+		magnitude.s = true;
+		if (magnitude.compareTo(ONE) <= 0) return atanReduced(x, w);
+
+		// Beyond one, atan(x) = ±π/2 - atan(1/x)
+		UNumber inverse = new UNumber(1);
+		inverse.div(x, new UNumberContext(w));
+		UNumber result = halfPi(w + 2);
+		result.s = x.s;
+		result.sub(atanReduced(inverse, w), new UNumberContext(w));
+		return result;
+	}
+
+	/**
+	 * atan(x) with w significant digits, for |x| no more than one, by Newton's method for
+	 * tan(y) = x, y = y - cos(y) (sin(y) - x cos(y)), which doubles the correct digits at each step
+	 */
+	private static UNumber atanReduced(UNumber x, int w) {
+		double start = Math.atan(toDouble(x));
+		UNumber y = start == 0 ? new UNumber(x) : new UNumber(start);
+		for (int p : steps(w)) {
+			UNumberContext mc = new UNumberContext(p);
+			UNumber [] sc = sinCosReduced(y, p);
+			UNumber correction = new UNumber(sc[1]);
+			correction.mpy(x, mc);
+			correction.s = !correction.s;
+			correction.add(sc[0], mc);				// sin(y) - x cos(y)
+			correction.mpy(sc[1], mc);
+			y.sub(correction, mc);
+		}
+		return y;
+	}
+
+	/**
+	 * The precisions of the steps of Newton's method that ends with w digits, starting from the
+	 * 16 or so digits of a double, each about twice the one before
+	 */
+	private static int [] steps(int w) {
+		int n = 1;
+		for (int p = w; p > 16; p = p / 2 + 2) n++;
+		int [] steps = new int[n];
+		for (int i = n - 1, p = w; i >= 0; i--, p = p / 2 + 2) steps[i] = p;
+		return steps;
+	}
+
+	/*********************************************************************************************/
+
+	/**
+	 * A series, term by term, for binary splitting (see split).  Term k of the series is
+	 *
+	 * 		a(k) (p(0) p(1) ... p(k)) / (q(0) q(1) ... q(k)) / b(k)
+	 *
+	 * so each term is the one before it times p(k)/q(k), with two more factors, a(k) and 1/b(k),
+	 * that are not carried on to the next.  a(k) is one for all but Chudnovsky's series for π.
+	 */
+	interface Series {
+		Split term(int k);
+	}
+
+	/**
+	 * The sum of terms "from" through "to-1" of a series as one exact fraction, along with the
+	 * products that the sum of the terms that follow them needs.  For the run of terms,
+	 *
+	 * 		P = p(from) ... p(to-1), Q = q(from) ... q(to-1), B = b(from) ... b(to-1), and
+	 * 		T = B Q times the sum of the terms, each with only the factors p and q from "from" on
+	 *
+	 * For a single term these are p(k), q(k), b(k), and a(k) p(k).  P and T carry signs.  B is null
+	 * when every b(k) is one.  The series here have a power of ten in each q(k), which is kept
+	 * apart as a count of zeros, so Q is only the product of the rest of the q(k), and the zeros
+	 * are put in as a shift of the limbs where T needs them.
+	 */
+	static final class Split {
+		int [] p;
+		boolean pNegative;
+		int [] q;
+		int zeros;				// Q is q times 10^zeros
+		int [] b;
+		int [] t;
+		boolean tNegative;
+
+		Split() {
+		}
+
+		Split(int[] p, boolean pNegative, int[] q, int[] b, int zeros) {
+			this.p = p;
+			this.pNegative = pNegative;
+			this.q = q;
+			this.zeros = zeros;
+			this.b = b;
+			this.t = p;
+			this.tNegative = pNegative;
+		}
+
+		Split(int[] p, boolean pNegative, int[] q, int[] b, int zeros, int[] t) {
+			this(p, pNegative, q, b, zeros);
+			this.t = t;
+		}
+	}
+
+	/**
+	 * Binary splitting: the terms are split in two, each half is summed, and the halves are put
+	 * together with
+	 *
+	 * 		P = Pl Pr, Q = Ql Qr, B = Bl Br, and T = Br Qr Tl + Bl Pl Tr
+	 *
+	 * so the sum of n terms of a series takes about log n rounds of multiplications of integers
+	 * that double in length from one round to the next, and no divisions at all.  The sum of the
+	 * whole series is then T / (B Q).  P of the run is only formed when a later run needs it.
+	 */
+	static Split split(Series series, int from, int to, boolean needP) {
+		if (to - from == 1) return series.term(from);
+		int mid = (from + to) >>> 1;
+		Split left = split(series, from, mid, true);
+		Split right = split(series, mid, to, needP);
+		Split result = new Split();
+		if (needP) {
+			result.p = trim(UNumberLimbs.multiply(left.p, right.p));
+			result.pNegative = left.pNegative != right.pNegative;
+		}
+		result.q = trim(UNumberLimbs.multiply(left.q, right.q));
+		result.zeros = left.zeros + right.zeros;
+		int [] x = UNumberLimbs.multiply(right.q, left.t);
+		if (right.zeros > 0) x = UNumberLimbs.scaleByPowerOfTen(x, right.zeros);
+		int [] y = UNumberLimbs.multiply(left.p, right.t);
+		if (left.b != null) {
+			result.b = trim(UNumberLimbs.multiply(left.b, right.b));
+			x = UNumberLimbs.multiply(right.b, x);
+			y = UNumberLimbs.multiply(left.b, y);
+		}
+
+		// T = x + y, with the signs of left.t and of left.p right.t
+		boolean xNegative = left.tNegative;
+		boolean yNegative = left.pNegative != right.tNegative;
+		if (xNegative == yNegative) {
+			result.t = trim(UNumberLimbs.add(x, y));
+			result.tNegative = xNegative;
+		}
+		else {
+			// The signs differ, so subtract the smaller magnitude from the larger
+			if (UNumberLimbs.compare(x, y) < 0) {
+				int [] swap = x; x = y; y = swap;
+				xNegative = yNegative;
+			}
+			UNumberLimbs.subtractFrom(x, y);
+			result.t = trim(x);
+			result.tNegative = xNegative && result.t.length > 0;
+		}
+		return result;
+	}
+
+	/**
+	 * The sum of a series, T / (B Q), with w significant digits
+	 */
+	static UNumber quotient(Split s, int w) {
+		UNumber [] f = fraction(s, w);
+		f[0].div(f[1], new UNumberContext(w));
+		return f[0];
+	}
+
+	/**
+	 * The sum of a series as a fraction, T and then B Q, each with w significant digits.  Only 
+	 * the leading digits of T and of B Q are used, and the zeros of Q only go into the 
+	 * characteristic of T.
+	 */
+	static UNumber [] fraction(Split s, int w) {
+		UNumberContext mc = new UNumberContext(w);
+		UNumber denominator = toUNumber(s.q, false, w);
+		if (s.b != null) denominator.mpy(toUNumber(s.b, false, w), mc);
+		UNumber numerator = toUNumber(s.t, s.tNegative, w);
+		numerator.round(mc);
+		numerator.scaleByPowerOfTen(-s.zeros);
+		denominator.round(mc);
+		return new UNumber [] {numerator, denominator};
+	}
+
+	/**
+	 * The number of terms of the exponential series, x^k/k!, before they fall below 10^-w, for
+	 * |x| < 10^log10
+	 */
+	static int terms(double log10, int w) {
+		double term = 0;
+		int k = 0;
+		while (term > -w - 1 || k < 2) {
+			k++;
+			term += log10 - Math.log10(k);
+		}
+		return k + 1;
+	}
+
+	/*********************************************************************************************/
+
+	/**
+	 * The digits of |r|, which must be less than ten, in fixed point: the units digit and then the
+	 * "fraction" digits after the decimal point.  The digits past those are dropped.
+	 */
+	private static byte [] fixed(UNumber r, int fraction) {
+		byte [] fixed = new byte[fraction + 1];
+		for (int j = 0; j < r.d.length; j++) {
+			int i = j + 1 - r.dP;					// The place of digit j of the mantissa
+			if (i > fraction) break;
+			if (i >= 0) fixed[i] = r.d[j];
+		}
+		return fixed;
+	}
+
+	/**
+	 * The index of the first digit from "from" through "end" that is not zero, or end + 1
+	 */
+	private static int firstDigit(byte[] digits, int from, int end) {
+		while (from <= end && digits[from] == 0) from++;
+		return from;
+	}
+
+	/**
+	 * The exact value of an integer held in limbs, or of its leading digits only, when it has
+	 * more than the specified number of them
+	 */
+	private static UNumber toUNumber(int[] limbs, boolean negative, int digits) {
+		int n = UNumberLimbs.significantLength(limbs);
+		if (n == 0) return zero();
+		int top = Math.min(n, digits / UNumberLimbs.DIGITS + 2);
+		byte [] d = new byte[top * UNumberLimbs.DIGITS];
+		UNumberLimbs.unpack(java.util.Arrays.copyOfRange(limbs, n - top, n), d, 0, d.length);
+		int first = 0;
+		while (d[first] == 0) first++;
+		return new UNumber(java.util.Arrays.copyOfRange(d, first, d.length),
+				d.length - first + (n - top) * UNumberLimbs.DIGITS, !negative);
+	}
+
+	/**
+	 * A long that is not negative, as limbs
+	 */
+	static int [] limbs(long v) {
+		return trim(new int [] {(int)(v % UNumberLimbs.BASE),
+				(int)(v / UNumberLimbs.BASE % UNumberLimbs.BASE),
+				(int)(v / UNumberLimbs.BASE / UNumberLimbs.BASE)});
+	}
+
+	/**
+	 * The limbs without their leading zero limbs
+	 */
+	static int [] trim(int[] x) {
+		int n = UNumberLimbs.significantLength(x);
+		return n == x.length ? x : java.util.Arrays.copyOf(x, n);
+	}
+
+	/**
+	 * The nearest integer to q, half away from zero
+	 */
+	private static UNumber nearestInteger(UNumber q) {
+		if (isZero(q) || q.dP < 0 || q.dP == 0 && q.d[0] < 5) return zero();
+		if (q.dP == 0) return new UNumber(q.s ? 1 : -1);
+		UNumber k = new UNumber(q);
+		k.round(new UNumberContext(q.dP));
+		return k;
+	}
+
+	/**
+	 * k mod 4, for an integer k, from its last two digits
+	 */
+	private static int quadrant(UNumber k) {
+		int units = k.dP - 1 < k.length() ? k.d[k.dP - 1] : 0;
+		int tens = k.dP >= 2 && k.dP - 2 < k.length() ? k.d[k.dP - 2] : 0;
+		int mod = (10 * tens + units) % 4;
+		return k.s ? mod : (4 - mod) % 4;
+	}
+
+	/**
+	 * x - k π/2 with p significant digits
+	 */
+	private static UNumber reduce(UNumber x, UNumber k, UNumber halfPi, int p) {
+		UNumberContext mc = new UNumberContext(p);
+		UNumber multiple = new UNumber(halfPi);
+		multiple.mpy(k, mc);
+		UNumber r = new UNumber(x);
+		r.sub(multiple, mc);
+		return r;
+	}
+
+	/**
+	 * π/2 with p significant digits
+	 */
+	private static UNumber halfPi(int p) {
+		UNumber result = UNumberConstants.get(UNumberConstants.Constant.PI, p + 1);
+		result.divInt(2, new UNumberContext(p));
+		return result;
+	}
+
+	/**
+	 * The value of x as a double, with its sign (getDouble gives the magnitude)
+	 */
+	private static double toDouble(UNumber x) {
+		return x.s ? x.getDouble() : -x.getDouble();
+	}
+
+	/**
+	 * ln(x) to within a few units in the sixteenth digit, for a positive x of any size
+	 */
+	private static double lnEstimate(UNumber x) {
+		return Math.log(new UNumber(x.d, 0, true).getDouble()) + x.dP * Math.log(10);
+	}
+
+	/**
+	 * Is y an integer?
+	 */
+	private static boolean isInteger(UNumber y) {
+		return isZero(y) || y.dP >= y.significantLength();
+	}
+
+	/**
+	 * Is the integer y odd?
+	 */
+	private static boolean isOdd(UNumber y) {
+		return !isZero(y) && y.dP - 1 < y.length() && y.d[y.dP - 1] % 2 != 0;
+	}
+
+	/**
+	 * The value of an integer y of no more than nine digits
+	 */
+	private static int intValue(UNumber y) {
+		int v = 0;
+		for (int i = 0; i < y.dP; i++) v = v * 10 + (i < y.length() ? y.d[i] : 0);
+		return y.s ? v : -v;
+	}
+
+	private static boolean isZero(UNumber x) {
+		return x.d.length == 0 || x.d[0] == 0;
+	}
+
+	private static UNumber zero() {
+		return new UNumber(new byte[1], 0, true);
+	}
+
+	/**
+	 * The number of digits in a result, with at least one
+	 */
+	private static int size(UNumberContext mc, UNumber x) {
+		return Math.max(mc.size(x.length()), 1);
+	}
+
+	/**
+	 * A copy of v rounded half up to the specified number of significant digits
+	 */
+	static UNumber rounded(UNumber v, int digits) {
+		UNumber result = new UNumber(v);
+		result.round(new UNumberContext(digits));
+		return result;
+	}
+
+	/**
+	 * The result, rounded to its digits by the rounding mode of the context, with its
+	 * characteristic checked against the range of the context
+	 */
+	private static UNumber finish(UNumber result, int digits, UNumberContext mc) {
+		result.round(new UNumberContext(digits, mc.getRoundingMode(), mc.getMaxExponent()));
+		return result;
+	}
+}
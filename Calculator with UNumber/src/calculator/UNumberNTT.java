@@ -0,0 +1,273 @@
+package calculator;
+
+/**
+ * <p> Title: UNumberNTT Class, a component of the Unlimited Precision Math Package. </p>
+ *
+ * <p> Description: Multiplication of very long limb integers by means of the number theoretic
+ * 		transform (NTT).  The limbs of each operand are read as the coefficients of a polynomial,
+ * 		and the product of the polynomials (the convolution of the limbs) is computed with a fast
+ * 		Fourier transform over the integers modulo a prime, where every step is exact.  Three
+ * 		primes are used and the results are recombined with the Chinese Remainder Theorem, so
+ * 		each coefficient of the convolution is recovered exactly before the carries are
+ * 		resolved. </p>
+ *
+ * <p> Copyright: Lynn Robert Carter © 2017 </p>
+ *
+ * @author Lynn Robert Carter
+ * @author K V MURALI KRISHNA
+ *
+ * @version 1.02	Blocked transforms, split across the cores of the machine for long operands
+ * 
+ * @version 1.01	A square transforms its one operand once
+ * 
+ * @version 1.00	Three prime NTT multiplication with CRT recombination
+ *
+ */
+final class UNumberNTT {
+
+	/**
+	 * The three primes are all of the form c*2^k + 1, so each supports transforms of length up to
+	 * 2^k, and 3 is a primitive root of each.  A coefficient of the convolution is at most
+	 * n * (BASE-1)^2, where n is the length of the shorter operand, and this must be less than
+	 * the product of the primes (about 7.8E+25) for the recombination to be exact.  With n at
+	 * most MAX_LENGTH / 2 limbs, the bound is about 4.2E+24.
+	 */
+	private static final long P1 = 998244353L;		// 119 * 2^23 + 1
+	private static final long P2 = 167772161L;		//   5 * 2^25 + 1
+	private static final long P3 = 469762049L;		//   7 * 2^26 + 1
+	private static final long G = 3;				// A primitive root of all three primes
+
+	/**
+	 * The longest transform all three primes support.  The product must fit in this many limbs.
+	 */
+	static final int MAX_LENGTH = 1 << 23;
+
+	/**
+	 * The number of values a transform works on at a time: small enough that they stay in the 
+	 * cache, and large enough that each piece of work is worth handing to another core
+	 */
+	private static final int BLOCK = 1 << 12;
+
+	// Constants for the Chinese Remainder recombination (Garner's algorithm)
+	private static final long P1_INV_P2 = power(P1 % P2, P2 - 2, P2);		// 1/P1 modulo P2
+	private static final long P12 = P1 * P2;								// About 1.67E+17
+	private static final long P12_INV_P3 = power(P12 % P3, P3 - 2, P3);	// 1/(P1*P2) modulo P3
+	private static final long P12_HIGH = P12 / UNumberLimbs.BASE;			// P12 split in two
+	private static final long P12_LOW = P12 % UNumberLimbs.BASE;			// base 10^9 limbs
+
+	/**
+	 * There are no instances of this class
+	 */
+	private UNumberNTT() {
+	}
+
+	/**********
+	 * The exact product of a[0..na-1] and b[0..nb-1], which must fit in MAX_LENGTH limbs.  When a 
+	 * and b are the same array, the product is a square, and its one operand is transformed once 
+	 * for each prime instead of twice, which saves a third of the transforms.
+	 * 
+	 * When parallel is true, the work is split across the common ForkJoinPool: the three primes, 
+	 * the two operands of each, the blocks and butterflies of each transform, and the chunks of 
+	 * the recombination are all done at the same time.  Every step is exact, so the product is 
+	 * the same either way.
+	 *
+	 * @param a			The multiplicand limbs
+	 * @param na		The number of significant limbs in a
+	 * @param b			The multiplier limbs
+	 * @param nb		The number of significant limbs in b
+	 * @param product	The array that receives the product, at least na + nb limbs long and zero
+	 * @param parallel	True to use more than one core
+	 */
+	static void multiply(int[] a, int na, int[] b, int nb, int[] product, boolean parallel) {
+		// The transform length is the first power of two that can hold every coefficient
+		int n = 1;
+		while (n < na + nb - 1) n <<= 1;
+		int length = n;
+
+		// Compute the convolution modulo each of the three primes
+		long [] primes = {P1, P2, P3};
+		long [][] r = new long[3][];
+		UNumberLimbs.forEach(3, parallel, 
+				k -> r[k] = convolution(a, na, b, nb, length, primes[k], parallel));
+
+		// Recombine each coefficient and resolve the carries into base 10^9 limbs.  In parallel, 
+		// each chunk of limbs resolves its own carries as if nothing came in from the right, and 
+		// the carry out of each chunk is then added into the chunk to its left.
+		int limit = na + nb;
+		int chunk = parallel ? BLOCK : limit;
+		int chunks = (limit + chunk - 1) / chunk;
+		long [] carries = new long[chunks];
+		UNumberLimbs.forEach(chunks, parallel, k -> carries[k] = 
+				recombine(r[0], r[1], r[2], k * chunk, Math.min((k + 1) * chunk, limit), 
+						na + nb - 1, product));
+		long carry = 0;
+		for (int k = 0; k < chunks; k++) {
+			for (int i = k * chunk; carry != 0 && i < Math.min((k + 1) * chunk, limit); i++) {
+				long t = product[i] + carry;
+				product[i] = (int)(t % UNumberLimbs.BASE);
+				carry = t / UNumberLimbs.BASE;
+			}
+			carry += carries[k];
+		}
+	}
+
+	/**
+	 * Recombine coefficients "from" through "to"-1 (those from "last" on are zero) into the 
+	 * limbs of the product, resolving the carries from "from" on, and return the carry out
+	 */
+	private static long recombine(long[] r1, long[] r2, long[] r3, int from, int to, int last, 
+			int[] product) {
+		long carry = 0;
+		for (int i = from; i < to; i++) {
+			long low = carry;
+			long high = 0;
+			if (i < last) {
+				// x12 is the coefficient modulo P1*P2 and t3 the next digit in Garner's mixed
+				// radix, so the coefficient is x12 + t3*P12, which may not fit in a long
+				long t2 = (r2[i] - r1[i] % P2 + P2) % P2 * P1_INV_P2 % P2;
+				long x12 = r1[i] + P1 * t2;
+				long t3 = (r3[i] - x12 % P3 + P3) % P3 * P12_INV_P3 % P3;
+				low += x12 + t3 * P12_LOW;
+				high = t3 * P12_HIGH;
+			}
+			product[i] = (int)(low % UNumberLimbs.BASE);
+			carry = low / UNumberLimbs.BASE + high;
+		}
+		return carry;
+	}
+
+	/**
+	 * The cyclic convolution of length n of the two operands modulo the prime p
+	 */
+	private static long[] convolution(int[] a, int na, int[] b, int nb, int n, long p, 
+			boolean parallel) {
+		long [][] f = new long[a == b ? 1 : 2][];
+		UNumberLimbs.forEach(f.length, parallel, k -> {
+			int [] x = k == 0 ? a : b;
+			f[k] = new long[n];
+			for (int i = 0; i < (k == 0 ? na : nb); i++) f[k][i] = x[i] % p;
+			transform(f[k], false, p, parallel);
+		});
+		long [] fa = f[0];
+		long [] fb = f[f.length - 1];
+		int size = Math.min(n, BLOCK);
+		UNumberLimbs.forEach(n / size, parallel, k -> {
+			for (int i = k * size; i < (k + 1) * size; i++) fa[i] = fa[i] * fb[i] % p;
+		});
+		transform(fa, true, p, parallel);
+		return fa;
+	}
+
+	/**********
+	 * The in-place iterative radix-2 transform modulo p.  The inverse transform includes the
+	 * division by the length.
+	 * 
+	 * Once the values are in bit reversed order, the stages up to a length of BLOCK combine 
+	 * values within a block of that many values only, so each block is done start to finish on 
+	 * its own while it is in the cache, with a table of the roots of unity for those stages.  
+	 * Each later stage is split into runs of BLOCK/2 butterflies, with a second table, that of 
+	 * the roots of the last stage.  The blocks, and the runs of a stage, can all be done at the 
+	 * same time.
+	 *
+	 * @param x			The values, whose length is a power of two
+	 * @param inverse	True for the inverse transform
+	 * @param p			The prime modulus
+	 * @param parallel	True to use more than one core
+	 */
+	private static void transform(long[] x, boolean inverse, long p, boolean parallel) {
+		int n = x.length;
+
+		// Put the values into bit reversed order
+		for (int i = 1, j = 0; i < n; i++) {
+			int bit = n >> 1;
+			for (; (j & bit) != 0; bit >>= 1) j ^= bit;
+			j ^= bit;
+			if (i < j) {long t = x[i]; x[i] = x[j]; x[j] = t;}
+		}
+
+		// The roots for the stages within a block, those of the stage of length len from len/2 on
+		int size = Math.min(n, BLOCK);
+		long [] roots = new long[size];
+		for (int len = 2; len <= size; len <<= 1) {
+			long w = root(len, inverse, p);
+			int half = len >> 1;
+			roots[half] = 1;
+			for (int k = 1; k < half; k++) roots[half + k] = roots[half + k - 1] * w % p;
+		}
+
+		// Combine pairs of transforms of length len/2 into transforms of length len, a block at a 
+		// time up to the block size
+		UNumberLimbs.forEach(n / size, parallel, block -> {
+			int start = block * size;
+			for (int len = 2; len <= size; len <<= 1) {
+				int half = len >> 1;
+				for (int i = start; i < start + size; i += len)
+					for (int k = 0; k < half; k++) butterfly(x, i + k, half, roots[half + k], p);
+			}
+		});
+
+		// and then a stage at a time, each in runs of size/2 butterflies.  The roots of these 
+		// stages all come from those of the last stage, which are found once, in runs as well.
+		int run = size >> 1;
+		if (n > size) {
+			long [] last = new long[n >> 1];
+			long w = root(n, inverse, p);
+			UNumberLimbs.forEach(n / size, parallel, t -> {
+				long root = power(w, t * run, p);
+				for (int k = t * run; k < (t + 1) * run; k++) {
+					last[k] = root;
+					root = root * w % p;
+				}
+			});
+			for (int len = 2 * size; len <= n; len <<= 1) {
+				int half = len >> 1;
+				int stride = n / len;				// The roots of this stage are every stride-th
+				UNumberLimbs.forEach(n / size, parallel, t -> {
+					int i = t * run / half * 2 * half;	// The transform the run is in
+					int first = t * run % half;			// and its first butterfly there
+					for (int k = first; k < first + run; k++) 
+						butterfly(x, i + k, half, last[k * stride], p);
+				});
+			}
+		}
+
+		if (inverse) {
+			long nInverse = power(n, p - 2, p);
+			UNumberLimbs.forEach(n / size, parallel, k -> {
+				for (int i = k * size; i < (k + 1) * size; i++) x[i] = x[i] * nInverse % p;
+			});
+		}
+	}
+
+	/**
+	 * Combine x[j] and x[j+half], with the root of unity for the pair
+	 */
+	private static void butterfly(long[] x, int j, int half, long root, long p) {
+		long u = x[j];
+		long v = x[j + half] * root % p;
+		x[j] = u + v < p ? u + v : u + v - p;
+		x[j + half] = u - v >= 0 ? u - v : u - v + p;
+	}
+
+	/**
+	 * A primitive len-th root of unity modulo p, or its inverse
+	 */
+	private static long root(int len, boolean inverse, long p) {
+		long w = power(G, (p - 1) / len, p);
+		return inverse ? power(w, p - 2, p) : w;
+	}
+
+	/**
+	 * base^exponent modulo p, by repeated squaring
+	 */
+	private static long power(long base, long exponent, long p) {
+		long result = 1;
+		base %= p;
+		while (exponent > 0) {
+			if ((exponent & 1) != 0) result = result * base % p;
+			base = base * base % p;
+			exponent >>= 1;
+		}
+		return result;
+	}
+}